@@ -30,6 +30,7 @@ public enum Label {
     PROJECTION_ACTOR("projectionActor"),
     SOURCE("source"),
     DATABASE("database"),
+    DATA_FORMAT("data.format"),
     REST_RESOURCES("resources"),
     MAIN_CLASS("main.class"),
     DEPLOYMENT("deployment"),
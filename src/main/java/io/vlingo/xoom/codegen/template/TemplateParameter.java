@@ -40,6 +40,7 @@ public enum TemplateParameter {
     DEFAULT_ID("defaultId"),
     STATE_QUALIFIED_CLASS_NAME("stateQualifiedClassName"),
     STORAGE_TYPE("storageType"),
+    BINARY_FORMAT("binaryFormat"),
     EVENT_SOURCED("eventSourced"),
     REQUIRE_ADAPTERS("requireAdapters"),
     RESOURCE_FILE("resourceFile"),
@@ -82,6 +83,7 @@ public enum TemplateParameter {
     METHOD_SCOPE("methodScope"),
     METHOD_PARAMETERS("methodParameters"),
     METHOD_INVOCATION_PARAMETERS("methodInvocationParameters"),
+    DEFAULT_INVOCATION_PARAMETERS("defaultInvocationParameters"),
     MODEL_ACTOR("modelActor"),
     MODEL_PROTOCOL("modelProtocol"),
     MODEL_ATTRIBUTE("modelAttribute"),
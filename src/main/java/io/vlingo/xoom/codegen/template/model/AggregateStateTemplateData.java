@@ -7,7 +7,9 @@
 package io.vlingo.xoom.codegen.template.model;
 
 import static io.vlingo.xoom.codegen.parameter.Label.STATE_FIELD;
+import static io.vlingo.xoom.codegen.template.TemplateParameter.BINARY_FORMAT;
 import static io.vlingo.xoom.codegen.template.TemplateParameter.CONSTRUCTOR_PARAMETERS;
+import static io.vlingo.xoom.codegen.template.TemplateParameter.DEFAULT_INVOCATION_PARAMETERS;
 import static io.vlingo.xoom.codegen.template.TemplateParameter.EVENT_SOURCED;
 import static io.vlingo.xoom.codegen.template.TemplateParameter.ID_TYPE;
 import static io.vlingo.xoom.codegen.template.TemplateParameter.MEMBERS;
@@ -30,6 +32,7 @@ import io.vlingo.xoom.codegen.parameter.CodeGenerationParameter;
 import io.vlingo.xoom.codegen.template.TemplateData;
 import io.vlingo.xoom.codegen.template.TemplateParameters;
 import io.vlingo.xoom.codegen.template.TemplateStandard;
+import io.vlingo.xoom.codegen.template.storage.DataFormat;
 import io.vlingo.xoom.codegen.template.storage.StorageType;
 
 public class AggregateStateTemplateData extends TemplateData {
@@ -40,17 +43,20 @@ public class AggregateStateTemplateData extends TemplateData {
     @SuppressWarnings("unchecked")
     public AggregateStateTemplateData(final String packageName,
                                       final CodeGenerationParameter aggregate,
-                                      final StorageType storageType) {
+                                      final StorageType storageType,
+                                      final DataFormat dataFormat) {
         this.protocolName = aggregate.value;
         this.parameters =
                 TemplateParameters.with(PACKAGE_NAME, packageName)
                         .and(EVENT_SOURCED, storageType.isSourced())
+                        .and(BINARY_FORMAT, storageType.isStateful() && dataFormat.isBinary())
                         .and(MEMBERS, MEMBER_DECLARATION.format(aggregate))
                         .and(MEMBERS_ASSIGNMENT, ASSIGNMENT.format(aggregate))
                         .and(ID_TYPE, StateFieldDetail.typeOf(aggregate, "id"))
                         .and(STATE_NAME, AGGREGATE_STATE.resolveClassname(protocolName))
                         .and(CONSTRUCTOR_PARAMETERS, SIGNATURE_DECLARATION.format(aggregate))
                         .and(METHOD_INVOCATION_PARAMETERS, resolveIdBasedConstructorParameters(aggregate))
+                        .and(DEFAULT_INVOCATION_PARAMETERS, DEFAULT_VALUE.format(aggregate, Stream.empty()))
                         .and(METHODS, new ArrayList<String>());
 
         this.dependOn(AggregateStateMethodTemplateData.from(aggregate));
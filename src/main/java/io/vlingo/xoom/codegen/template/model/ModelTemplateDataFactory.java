@@ -10,6 +10,7 @@ package io.vlingo.xoom.codegen.template.model;
 import io.vlingo.xoom.codegen.parameter.CodeGenerationParameter;
 import io.vlingo.xoom.codegen.parameter.CodeGenerationParameters;
 import io.vlingo.xoom.codegen.template.TemplateData;
+import io.vlingo.xoom.codegen.template.storage.DataFormat;
 import io.vlingo.xoom.codegen.template.storage.StorageType;
 
 import java.util.ArrayList;
@@ -27,19 +28,21 @@ public class ModelTemplateDataFactory {
     public static List<TemplateData> from(final CodeGenerationParameters parameters) {
         final String basePackage = parameters.retrieveValue(PACKAGE);
         final StorageType storageType = StorageType.of(parameters.retrieveValue(STORAGE_TYPE));
+        final DataFormat dataFormat = DataFormat.of(parameters.retrieveValue(DATA_FORMAT));
         return parameters.retrieveAll(AGGREGATE).flatMap(aggregate -> {
             final String packageName = resolvePackage(basePackage, aggregate.value);
-            return loadTemplates(packageName, aggregate, storageType);
+            return loadTemplates(packageName, aggregate, storageType, dataFormat);
         }).collect(Collectors.toList());
     }
 
     private static Stream<TemplateData> loadTemplates(final String packageName,
                                                       final CodeGenerationParameter aggregateParameter,
-                                                      final StorageType storageType) {
+                                                      final StorageType storageType,
+                                                      final DataFormat dataFormat) {
         final List<TemplateData> templatesData = new ArrayList<>();
         templatesData.add(new AggregateProtocolTemplateData(packageName, aggregateParameter));
         templatesData.add(new AggregateTemplateData(packageName, aggregateParameter, storageType));
-        templatesData.add(new AggregateStateTemplateData(packageName, aggregateParameter, storageType));
+        templatesData.add(new AggregateStateTemplateData(packageName, aggregateParameter, storageType, dataFormat));
         templatesData.addAll(DomainEventTemplateData.from(packageName, aggregateParameter));
         return templatesData.stream();
     }
@@ -28,12 +28,13 @@ public class AdapterTemplateData extends TemplateData {
 
     public static List<TemplateData> from(final String persistencePackage,
                                           final StorageType storageType,
+                                          final DataFormat dataFormat,
                                           final List<Content> contents) {
         return ContentQuery.findClassNames(storageType.adapterSourceClassStandard, contents)
                     .stream().map(sourceClassName ->
                         new AdapterTemplateData(sourceClassName,
                                 storageType.adapterSourceClassStandard,
-                                persistencePackage, storageType, contents)
+                                persistencePackage, storageType, dataFormat, contents)
                     ).collect(Collectors.toList());
     }
 
@@ -41,14 +42,16 @@ public class AdapterTemplateData extends TemplateData {
                                final TemplateStandard sourceClassStandard,
                                final String persistencePackage,
                                final StorageType storageType,
+                               final DataFormat dataFormat,
                                final List<Content> contents) {
         this.sourceClassName = sourceClassName;
         this.sourceClassStandard = sourceClassStandard;
-        this.parameters = loadParameters(persistencePackage, storageType, contents);
+        this.parameters = loadParameters(persistencePackage, storageType, dataFormat, contents);
     }
 
     private TemplateParameters loadParameters(final String packageName,
                                               final StorageType storageType,
+                                              final DataFormat dataFormat,
                                               final List<Content> contents) {
         final String sourceQualifiedClassName =
                 ContentQuery.findFullyQualifiedClassName(sourceClassStandard, sourceClassName, contents);
@@ -57,7 +60,8 @@ public class AdapterTemplateData extends TemplateData {
                 .and(IMPORTS, ImportParameter.of(sourceQualifiedClassName))
                 .and(SOURCE_NAME, sourceClassName)
                 .and(ADAPTER_NAME, ADAPTER.resolveClassname(sourceClassName))
-                .and(STORAGE_TYPE, storageType);
+                .and(STORAGE_TYPE, storageType)
+                .and(BINARY_FORMAT, dataFormat.isBinary());
     }
 
     @Override
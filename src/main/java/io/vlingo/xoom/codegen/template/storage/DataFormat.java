@@ -0,0 +1,25 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.codegen.template.storage;
+
+public enum DataFormat {
+
+    TEXT,
+    BINARY;
+
+    public static DataFormat of(final String format) {
+        if(format == null || format.trim().isEmpty()) {
+            return TEXT;
+        }
+        return valueOf(format.trim().toUpperCase());
+    }
+
+    public boolean isBinary() {
+        return equals(BINARY);
+    }
+}
@@ -14,6 +14,7 @@ import io.vlingo.xoom.codegen.template.TemplateStandard;
 
 import java.util.Map;
 
+import static io.vlingo.xoom.codegen.template.TemplateParameter.BINARY_FORMAT;
 import static io.vlingo.xoom.codegen.template.TemplateParameter.RESOURCE_FILE;
 
 public class DatabasePropertiesTemplateData extends TemplateData {
@@ -21,13 +22,20 @@ public class DatabasePropertiesTemplateData extends TemplateData {
     private final TemplateParameters templateParameters;
 
     public DatabasePropertiesTemplateData(final Map<Model, DatabaseType> databases) {
+        this(databases, DataFormat.TEXT);
+    }
+
+    public DatabasePropertiesTemplateData(final Map<Model, DatabaseType> databases,
+                                          final DataFormat dataFormat) {
         this.templateParameters =
-                loadParameters(databases);
+                loadParameters(databases, dataFormat);
     }
 
-    private TemplateParameters loadParameters(final Map<Model, DatabaseType> databases) {
+    private TemplateParameters loadParameters(final Map<Model, DatabaseType> databases,
+                                              final DataFormat dataFormat) {
         final TemplateParameters parameters =
-                TemplateParameters.with(RESOURCE_FILE, true);
+                TemplateParameters.with(RESOURCE_FILE, true)
+                        .and(BINARY_FORMAT, dataFormat.isBinary());
 
         databases.entrySet().forEach(entry -> {
             final TemplateParameter parameter =
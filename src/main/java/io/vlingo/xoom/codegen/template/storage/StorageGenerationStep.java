@@ -27,10 +27,11 @@ public class StorageGenerationStep extends TemplateProcessingStep {
         final ProjectionType projectionType = context.parameterOf(PROJECTION_TYPE, ProjectionType::valueOf);
         final Boolean useAnnotations = context.parameterOf(USE_ANNOTATIONS, Boolean::valueOf);
         final Boolean useCQRS  = context.parameterOf(CQRS, Boolean::valueOf);
+        final DataFormat dataFormat = context.parameterOf(DATA_FORMAT, DataFormat::of);
         final List<TemplateData> templatesData =
                 StorageTemplateDataFactory.build(basePackage, context.contents(), storageType,
                         context.databases(), projectionType, context.isInternalGeneration(),
-                        useAnnotations, useCQRS);
+                        useAnnotations, useCQRS, dataFormat);
 
         return filterConditionally(useAnnotations, templatesData);
     }
@@ -29,15 +29,33 @@ public class StorageTemplateDataFactory {
                                            final Boolean internalGeneration,
                                            final Boolean useAnnotations,
                                            final Boolean useCQRS) {
+        return build(basePackage, contents, storageType, databases, projectionType,
+                internalGeneration, useAnnotations, useCQRS, DataFormat.TEXT);
+    }
+
+    public static List<TemplateData> build(final String basePackage,
+                                           final List<Content> contents,
+                                           final StorageType storageType,
+                                           final Map<Model, DatabaseType> databases,
+                                           final ProjectionType projectionType,
+                                           final Boolean internalGeneration,
+                                           final Boolean useAnnotations,
+                                           final Boolean useCQRS,
+                                           final DataFormat dataFormat) {
+        if(dataFormat.isBinary() && !storageType.isStateful()) {
+            // the journals are typed to text entries, so only state stores can store binary
+            throw new IllegalArgumentException("The binary data format is only supported by state stores");
+        }
+
         final String persistencePackage = resolvePackage(basePackage);
 
         final List<TemplateData> templatesData = new ArrayList<>();
 
-        templatesData.addAll(AdapterTemplateData.from(persistencePackage, storageType, contents));
+        templatesData.addAll(AdapterTemplateData.from(persistencePackage, storageType, dataFormat, contents));
 
         if(!internalGeneration) {
             templatesData.addAll(QueriesTemplateDataFactory.from(persistencePackage, useCQRS, contents));
-            templatesData.add(new DatabasePropertiesTemplateData(databases));
+            templatesData.add(new DatabasePropertiesTemplateData(databases, dataFormat));
         }
 
         templatesData.addAll(buildStoreProvidersTemplateData(basePackage, persistencePackage,
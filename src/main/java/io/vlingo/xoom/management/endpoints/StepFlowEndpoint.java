@@ -7,83 +7,232 @@
 
 package io.vlingo.xoom.management.endpoints;
 
+import io.vlingo.http.Header;
+import io.vlingo.http.Response;
+import io.vlingo.http.ResponseHeader;
+import io.vlingo.xoom.stepflow.FlowGraph;
+import io.vlingo.xoom.stepflow.FlowGraphSubscriber;
 import io.vlingo.xoom.stepflow.Kernel;
-import io.vlingo.xoom.stepflow.State;
+import io.vlingo.xoom.stepflow.KernelMetrics;
+import io.vlingo.xoom.stepflow.LatencyHistogram;
 import io.vlingo.xoom.stepflow.StepFlow;
-import io.vlingo.xoom.stepflow.TransitionHandler;
 
 import java.util.*;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static io.vlingo.common.serialization.JsonSerialization.serialized;
+import static io.vlingo.http.Response.Status.*;
+import static io.vlingo.http.ResponseHeader.ContentType;
+
+/**
+ * Serves the graph of each registered {@link StepFlow}. The graph is computed by the {@link io.vlingo.xoom.stepflow.Kernel}
+ * once per {@code registerStates()} and pushed to this endpoint, which caches its serialized JSON body and ETag, such
+ * that a request never messages a kernel.
+ */
 //@Endpoint(id = "flows", prefix = "custom", defaultEnabled = true, defaultSensitive = false)
-@SuppressWarnings("rawtypes")
 public class StepFlowEndpoint {
 //    implements ApplicationEventListener<FlowCreatedEvent> {
-    private Map<String, StepFlow> stepFlow = new HashMap<>();
+    private final Map<String, CachedGraph> graphs = new ConcurrentHashMap<>();
+    private final Map<String, KernelMetrics> metrics = new ConcurrentHashMap<>();
+    private final Map<String, Registration> stepFlow = new ConcurrentHashMap<>();
+
+    /**
+     * Register the {@code flow} by {@code flowName}, subscribing to each version of its {@link FlowGraph} and
+     * retaining the live view of its {@link KernelMetrics}. A flow already registered by {@code flowName} is replaced,
+     * such that its graph and metrics are no longer served and it is unsubscribed from.
+     *
+     * @param flowName the name by which the graph is requested
+     * @param flow     the {@link StepFlow} to register
+     */
+    public void register(String flowName, StepFlow flow) {
+        final Registration registration = new Registration(flowName);
+
+        final Registration replaced = stepFlow.put(flowName, registration);
+        if (replaced != null) {
+            replaced.unsubscribe();
+            graphs.computeIfPresent(flowName, (name, cached) -> cached.registration == replaced ? null : cached);
+            metrics.remove(flowName);
+        }
+
+        flow.getName().andThenConsume(name -> flow.getKernel()
+                .andThenConsume(kernel -> {
+                    registration.subscribeTo(name, kernel);
+                    kernel.getMetrics().andThenConsume(kernelMetrics -> {
+                        if (isCurrent(registration)) {
+                            metrics.put(flowName, kernelMetrics);
+                        }
+                    });
+                }));
+    }
+
+    /**
+     * Unregister the flow of {@code flowName}, unsubscribing from the graphs of its kernel.
+     *
+     * @param flowName the name by which the flow was registered
+     */
+    public void unregister(String flowName) {
+        final Registration registration = stepFlow.remove(flowName);
+        if (registration != null) {
+            registration.unsubscribe();
+        }
+        graphs.remove(flowName);
+        metrics.remove(flowName);
+    }
 
 //    @Read
     public Map<String, Object> map(String flowName) {
-        Set<String> nodes = new HashSet<>();
-        Map<String, Integer> portCount = new HashMap<>();
-        Set<Map<String, Object>> links = new HashSet<>();
-        Map<String, Object> results = new HashMap<>();
+        CachedGraph cached = graphs.get(flowName);
+        return cached == null ? Collections.emptyMap() : cached.map;
+    }
 
-        Kernel kernel = stepFlow.get(flowName).getKernel().await();
-        List<State> states = kernel.getStates().await();
+    /**
+     * Answer the cached JSON body of the graph of {@code flowName}, or {@code NotModified} if {@code ifNoneMatch}
+     * equals its current ETag.
+     *
+     * @param flowName    the name of the registered flow
+     * @param ifNoneMatch the value of the If-None-Match request header, or {@code null}
+     * @return Response
+     */
+    public Response graph(String flowName, String ifNoneMatch) {
+        CachedGraph cached = graphs.get(flowName);
+
+        if (cached == null) {
+            return Response.of(NotFound);
+        }
+
+        if (cached.etag.equals(ifNoneMatch)) {
+            return Response.of(NotModified, Header.Headers.of(ResponseHeader.of("ETag", cached.etag)));
+        }
+
+        return Response.of(Ok, Header.Headers.of(ResponseHeader.of(ContentType, "application/json"),
+                ResponseHeader.of("ETag", cached.etag)), cached.json);
+    }
 
-        states.forEach(state -> {
-            nodes.add(state.getName().split("::")[0]);
+    /**
+     * Answer the applied and rejected counts and the action and aggregate consumer latencies of each transition
+     * address of {@code flowName}, along with the counts of routed events that were rejected and of events of an
+     * unknown type.
+     *
+     * @param flowName the name of the registered flow
+     * @return the metrics, which are empty if the flow is not registered
+     */
+//    @Read
+    public Map<String, Object> metrics(String flowName) {
+        KernelMetrics kernelMetrics = metrics.get(flowName);
+        if (kernelMetrics == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Object> transitions = new TreeMap<>();
+        kernelMetrics.getTransitions().forEach((address, transition) -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("applied", transition.getApplied());
+            result.put("rejected", transition.getRejected());
+            result.put("action", latencies(transition.getActionLatency()));
+            result.put("aggregateConsumer", latencies(transition.getAggregateConsumerLatency()));
+            transitions.put(address, result);
         });
 
-        states.stream().map(state -> Stream.of(state.getTransitionHandlers()))
-                .flatMap(handler -> handler)
-                .forEach(handler -> defineGraph(portCount, links, handler));
-
-        results.put("nodes", nodes);
-        results.put("edges", links);
-        results.put("flow", stepFlow.get(flowName).getName().await());
-
+        Map<String, Object> results = new HashMap<>();
+        results.put("transitions", transitions);
+        results.put("rejected", kernelMetrics.getRejected());
+        results.put("unknown", kernelMetrics.getUnknown());
         return results;
     }
 
-    private void defineGraph(Map<String, Integer> portCount, Set<Map<String, Object>> links, TransitionHandler handler) {
-        Map<String, Object> link = new HashMap<>();
-
-        // Split the handler address into parts
-        String[] address = handler.getAddress().split("::");
-
-        link.put("source", handler.getStateTransition().getSourceName());
-        link.put("target", handler.getStateTransition().getTargetName());
-
-        // If the state transition is logical then return TO otherwise return the sub-state transition's name
-        link.put("label", address.length == 3 ? address[2] : "TO");
-
-        // (i=0)-[i++]->(port=[j+i])<-[j++]-(j=0)
-
-        // Algorithmically determines whether or not to place a label left or right of an arrow
+    private Map<String, Object> latencies(LatencyHistogram histogram) {
+        Map<String, Object> latencies = new LinkedHashMap<>();
+        latencies.put("count", histogram.getCount());
+        latencies.put("mean", histogram.getMean());
+        latencies.put("p50", histogram.getValueAtPercentile(50));
+        latencies.put("p99", histogram.getValueAtPercentile(99));
+        latencies.put("p999", histogram.getValueAtPercentile(99.9));
+        latencies.put("max", histogram.getMax());
+        return latencies;
+    }
 
-        // Calculates a port based on the number of incoming connections spanning from the source node
-        Integer sourcePort = address.length != 3 ?
-                portCount.compute(handler.getStateTransition().getSourceName(),
-                        (s, integer) -> Optional.ofNullable(integer)
-                                .map(i -> i + 1)
-                                .orElse(0)) : 1;
+    private boolean isCurrent(Registration registration) {
+        return stepFlow.get(registration.flowName) == registration;
+    }
 
-        // Calculates a port based on the number of outgoing connections spanning into the target node
-        Integer targetPort = address.length != 3 ?
-                portCount.compute("TO" + "::" + handler.getStateTransition().getTargetName(),
-                        (s, integer) -> Optional.ofNullable(integer)
-                                .map(i -> i + 1)
-                                .orElse(1)) : 0;
+    private void cache(Registration registration, FlowGraph graph) {
+        // a registration that was removed, or superseded, no longer receives the graphs of its kernel
+        if (!isCurrent(registration)) {
+            registration.unsubscribe();
+            return;
+        }
+
+        // versions are only comparable between graphs of the same kernel
+        final CachedGraph cached = graphs.merge(registration.flowName, new CachedGraph(registration, graph),
+                (current, next) -> current.registration != next.registration || next.version > current.version
+                        ? next : current);
+
+        if (!isCurrent(registration)) {
+            graphs.remove(registration.flowName, cached);
+        }
+    }
 
-        // Calculate and set the port on the response by summing the results of the sourcePort and targetPort
-        link.put("port", sourcePort + targetPort);
+    /**
+     * The subscription of a single registration of a flow to the graphs of its {@link Kernel}, which is also the
+     * identity by which its graphs are merged.
+     */
+    private final class Registration implements FlowGraphSubscriber {
+        final String flowName;
+        volatile Kernel kernel;
+        volatile String name;
+        volatile boolean unsubscribed;
+
+        Registration(String flowName) {
+            this.flowName = flowName;
+        }
+
+        @Override
+        public void graphOf(FlowGraph graph) {
+            cache(this, graph);
+        }
+
+        void subscribeTo(String name, Kernel kernel) {
+            this.name = name;
+            this.kernel = kernel;
+            kernel.subscribeToGraph(this);
+            if (unsubscribed) {
+                kernel.unsubscribeFromGraph(this);
+            }
+        }
+
+        void unsubscribe() {
+            unsubscribed = true;
+            final Kernel subscribed = kernel;
+            if (subscribed != null) {
+                subscribed.unsubscribeFromGraph(this);
+            }
+        }
+    }
 
-        links.add(link);
+    private static final class CachedGraph {
+        final String etag;
+        final String json;
+        final Map<String, Object> map;
+        final Registration registration;
+        final int version;
+
+        CachedGraph(Registration registration, FlowGraph graph) {
+            Map<String, Object> results = new HashMap<>();
+
+            results.put("nodes", graph.getNodes());
+            results.put("edges", graph.getEdges());
+            results.put("flow", registration.name);
+
+            this.map = Collections.unmodifiableMap(results);
+            this.json = serialized(results);
+            this.etag = "\"" + graph.getVersion() + "-" + Integer.toHexString(json.hashCode()) + "\"";
+            this.registration = registration;
+            this.version = graph.getVersion();
+        }
     }
 
 //    @Override
 //    public void onApplicationEvent(FlowCreatedEvent event) {
-//        stepFlow.put(event.getFlowName(), event.getSource());
+//        register(event.getFlowName(), event.getSource());
 //    }
 }
@@ -131,4 +131,50 @@ public class Applied<S,C> {
   public String stateTypeSimpleName() {
     return state.getClass().getSimpleName();
   }
+
+  /**
+   * An append-only accumulation of {@code Applied} state and sources that is
+   * reused across each {@code apply()} of an {@code Entity}, avoiding a copy
+   * of all previous sources upon every application. The accumulated sources
+   * are frozen into an {@code Applied} only when answered, and copied at most
+   * once following each freeze.
+   *
+   * @param <S> the type of state
+   * @param <C> the type of Source
+   */
+  static final class Builder<S,C> {
+    private boolean frozen;
+    private Metadata metadata;
+    private List<Source<C>> sources;
+    private S state;
+    private final int stateVersion;
+
+    Builder(final Applied<S,C> applied) {
+      this.metadata = applied.metadata;
+      this.sources = new ArrayList<>(applied.sources);
+      this.state = applied.state;
+      this.stateVersion = applied.stateVersion;
+      this.frozen = false;
+    }
+
+    Builder<S,C> append(final S state, final List<Source<C>> sources, final Metadata metadata) {
+      if (frozen) {
+        this.sources = new ArrayList<>(this.sources);
+        this.frozen = false;
+      }
+      this.sources.addAll(sources);
+      this.state = state;
+      this.metadata = metadata;
+      return this;
+    }
+
+    Metadata metadata() {
+      return metadata;
+    }
+
+    Applied<S,C> freeze() {
+      this.frozen = true;
+      return new Applied<>(state, stateVersion, sources, metadata);
+    }
+  }
 }
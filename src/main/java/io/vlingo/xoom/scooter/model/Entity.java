@@ -7,6 +7,8 @@
 
 package io.vlingo.xoom.scooter.model;
 
+import io.vlingo.symbio.Metadata;
+
 /**
  * Base of all entities.
  * @param <S> the State type
@@ -14,12 +16,17 @@ package io.vlingo.xoom.scooter.model;
  */
 public abstract class Entity<S,C> {
   private Applied<S,C> applied;
+  private Applied.Builder<S,C> accumulated;
 
   /**
-   * Answer my {@code applied}.
+   * Answer my {@code applied}, which is frozen from all of the
+   * {@code Applied} accumulated since my construction.
    * @return {@code Applied<S,C>}
    */
   public Applied<S,C> applied() {
+    if (applied == null && accumulated != null) {
+      applied = accumulated.freeze();
+    }
     return applied;
   }
 
@@ -50,20 +57,18 @@ public abstract class Entity<S,C> {
   protected Entity() { }
 
   protected void applied(final Applied<S,C> applied) {
-    if (this.applied == null) {
-      this.applied = applied;
-    } else if (applied.state != null) {
-      if (applied.metadata.isEmpty()) {
-        this.applied = this.applied.alongWith(applied.state, applied.sources(), this.applied.metadata);
-      } else {
-        this.applied = this.applied.alongWith(applied.state, applied.sources(), applied.metadata);
-      }
-    } else if (applied.state == null) {
-      if (applied.metadata.isEmpty()) {
-        this.applied = this.applied.alongWith(applied.state, applied.sources(), this.applied.metadata);
-      } else {
-        this.applied = this.applied.alongWith(applied.state, applied.sources(), applied.metadata);
+    if (accumulated == null) {
+      if (this.applied == null) {
+        this.applied = applied;
+        return;
       }
+      accumulated = new Applied.Builder<>(this.applied);
     }
+
+    final Metadata metadata = applied.metadata.isEmpty() ? accumulated.metadata() : applied.metadata;
+
+    accumulated.append(applied.state, applied.sources(), metadata);
+
+    this.applied = null;
   }
 }
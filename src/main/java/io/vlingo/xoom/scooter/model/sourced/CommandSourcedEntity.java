@@ -20,4 +20,8 @@ public abstract class CommandSourcedEntity extends SourcedEntity<Command> {
   public CommandSourcedEntity(final List<Source<Command>> stream, final int currentVersion) {
     super(stream, currentVersion);
   }
+
+  public <SNAPSHOT> CommandSourcedEntity(final SNAPSHOT snapshot, final List<Source<Command>> tail, final int currentVersion) {
+    super(snapshot, tail, currentVersion);
+  }
 }
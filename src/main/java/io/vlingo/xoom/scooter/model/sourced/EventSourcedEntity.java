@@ -20,4 +20,8 @@ public abstract class EventSourcedEntity extends SourcedEntity<DomainEvent> {
   public EventSourcedEntity(final List<Source<DomainEvent>> stream, final int currentVersion) {
     super(stream, currentVersion);
   }
+
+  public <SNAPSHOT> EventSourcedEntity(final SNAPSHOT snapshot, final List<Source<DomainEvent>> tail, final int currentVersion) {
+    super(snapshot, tail, currentVersion);
+  }
 }
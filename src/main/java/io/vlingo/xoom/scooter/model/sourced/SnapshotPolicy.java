@@ -0,0 +1,92 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.scooter.model.sourced;
+
+import io.vlingo.symbio.Source;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Decides when a {@code SourcedEntity} must answer its {@code snapshot()}
+ * to be persisted along with the {@code Source<T>} instances being applied.
+ */
+public interface SnapshotPolicy {
+
+  /**
+   * Answer the policy that consults {@code snapshot()} upon every {@code apply()}.
+   * @return SnapshotPolicy
+   */
+  static SnapshotPolicy always() {
+    return (streamVersion, snapshotVersion, bytesSinceSnapshot) -> true;
+  }
+
+  /**
+   * Answer the policy that never consults {@code snapshot()}.
+   * @return SnapshotPolicy
+   */
+  static SnapshotPolicy never() {
+    return (streamVersion, snapshotVersion, bytesSinceSnapshot) -> false;
+  }
+
+  /**
+   * Answer the policy that consults {@code snapshot()} once {@code interval}
+   * or more versions have been applied since the previous snapshot.
+   * @param interval the int number of versions between snapshots
+   * @return SnapshotPolicy
+   */
+  static SnapshotPolicy everyVersions(final int interval) {
+    if (interval <= 0) {
+      throw new IllegalArgumentException("The snapshot interval must be greater than zero.");
+    }
+    return (streamVersion, snapshotVersion, bytesSinceSnapshot) -> streamVersion - snapshotVersion >= interval;
+  }
+
+  /**
+   * Answer the policy that consults {@code snapshot()} once {@code threshold}
+   * or more bytes of sources, as measured by {@code sizer}, have been applied
+   * since the previous snapshot.
+   * @param threshold the long number of bytes between snapshots
+   * @param sizer the {@code ToLongFunction<Source<?>>} answering the byte size of a source
+   * @return SnapshotPolicy
+   */
+  static SnapshotPolicy everyBytes(final long threshold, final ToLongFunction<Source<?>> sizer) {
+    if (threshold <= 0) {
+      throw new IllegalArgumentException("The snapshot threshold must be greater than zero.");
+    }
+    return new SnapshotPolicy() {
+      @Override
+      public boolean isSnapshotDue(final int streamVersion, final int snapshotVersion, final long bytesSinceSnapshot) {
+        return bytesSinceSnapshot >= threshold;
+      }
+
+      @Override
+      public long sizeOf(final Source<?> source) {
+        return sizer.applyAsLong(source);
+      }
+    };
+  }
+
+  /**
+   * Answer whether or not a snapshot is due.
+   * @param streamVersion the int stream version following the sources being applied
+   * @param snapshotVersion the int stream version of the previous snapshot, or zero if none
+   * @param bytesSinceSnapshot the long number of bytes applied since the previous snapshot
+   * @return boolean
+   */
+  boolean isSnapshotDue(final int streamVersion, final int snapshotVersion, final long bytesSinceSnapshot);
+
+  /**
+   * Answer the byte size of the {@code source}, which is only
+   * required by policies that are based on bytes applied.
+   * @param source the {@code Source<?>} to measure
+   * @return long
+   */
+  default long sizeOf(final Source<?> source) {
+    return 0;
+  }
+}
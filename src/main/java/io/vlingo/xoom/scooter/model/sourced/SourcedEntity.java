@@ -13,16 +13,37 @@ import io.vlingo.xoom.scooter.model.Applied;
 import io.vlingo.xoom.scooter.model.Entity;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 
 public abstract class SourcedEntity<T> extends Entity<Object,T> {
-  private static final Map<Class<SourcedEntity<Source<?>>>,Map<Class<Source<?>>, BiConsumer<SourcedEntity<?>, Source<?>>>> registeredConsumers =
-          new ConcurrentHashMap<>();
+  private static final ClassValue<AtomicReference<Map<Class<?>, BiConsumer<SourcedEntity<?>, Source<?>>>>> registeredConsumers =
+          new ClassValue<AtomicReference<Map<Class<?>, BiConsumer<SourcedEntity<?>, Source<?>>>>>() {
+    @Override
+    protected AtomicReference<Map<Class<?>, BiConsumer<SourcedEntity<?>, Source<?>>>> computeValue(final Class<?> sourcedType) {
+      return new AtomicReference<>(Collections.emptyMap());
+    }
+  };
+
+  private static final AtomicInteger registrations = new AtomicInteger(0);
+
+  private static final ClassValue<DispatchTable> dispatchTables = new ClassValue<DispatchTable>() {
+    @Override
+    protected DispatchTable computeValue(final Class<?> sourcedType) {
+      return new DispatchTable(sourcedType);
+    }
+  };
 
   private final int currentVersion;
+  private long bytesSinceSnapshot;
+  private int snapshotVersion;
+  private boolean snapshotTaken;
+  private int sourcesApplied;
 
   /**
    * Register the means to apply {@code sourceType} instances for state transition
@@ -39,15 +60,17 @@ public abstract class SourcedEntity<T> extends Entity<Object,T> {
           final Class<SOURCE> sourceType,
           final BiConsumer<SOURCED, SOURCE> consumer) {
 
-    Map<Class<Source<?>>, BiConsumer<SourcedEntity<?>, Source<?>>> sourcedTypeMap =
-            registeredConsumers.get(sourcedType);
+    final BiConsumer<SourcedEntity<?>, Source<?>> registered = (BiConsumer<SourcedEntity<?>, Source<?>>) consumer;
 
-    if (sourcedTypeMap == null) {
-      sourcedTypeMap = new ConcurrentHashMap<>();
-      registeredConsumers.put((Class<SourcedEntity<Source<?>>>) sourcedType, sourcedTypeMap);
-    }
+    // copy-on-write, so that readers never observe a map being modified
+    registeredConsumers.get(sourcedType).updateAndGet(current -> {
+      final Map<Class<?>, BiConsumer<SourcedEntity<?>, Source<?>>> registry = new HashMap<>(current);
+      registry.put(sourceType, registered);
+      return Collections.unmodifiableMap(registry);
+    });
 
-    sourcedTypeMap.put((Class<Source<?>>) sourceType, (BiConsumer<SourcedEntity<?>, Source<?>>) consumer);
+    // published after the registry, so that a stale resolution is never cached under the new generation
+    registrations.incrementAndGet();
   }
 
   @Override
@@ -81,6 +104,25 @@ public abstract class SourcedEntity<T> extends Entity<Object,T> {
     transitionWith(stream);
   }
 
+  /**
+   * Construct my state from a {@code snapshot} and only the {@code tail} of my
+   * stream that was applied following the snapshot.
+   * @param snapshot the {@code SNAPSHOT} to restore, or null to replay only the tail
+   * @param tail the {@code List<Source<T>>} applied following the snapshot
+   * @param currentVersion the int to set as my currentVersion
+   * @param <SNAPSHOT> the type of the snapshot
+   */
+  protected <SNAPSHOT> SourcedEntity(final SNAPSHOT snapshot, final List<Source<T>> tail, final int currentVersion) {
+    this.currentVersion = currentVersion;
+
+    if (snapshot != null) {
+      restore(snapshot);
+      this.snapshotVersion = currentVersion - tail.size();
+    }
+
+    transitionWith(tail);
+  }
+
   /**
    * Apply all of the given {@code sources} to myself, which includes appending
    * them to my journal and reflecting the representative changes to my state.
@@ -96,7 +138,7 @@ public abstract class SourcedEntity<T> extends Entity<Object,T> {
    * @param metadata the Metadata to apply along with source
    */
   final protected void apply(final List<Source<T>> sources, final Metadata metadata) {
-    applyWithTransition(new Applied<>(snapshot(), nextVersion(), sources, metadata));
+    applyWithTransition(sources, metadata);
   }
 
   /**
@@ -113,7 +155,7 @@ public abstract class SourcedEntity<T> extends Entity<Object,T> {
    * @param metadata the Metadata to apply along with source
    */
   final protected void apply(final Source<T> source, final Metadata metadata) {
-    applyWithTransition(new Applied<>(snapshot(), nextVersion(), wrap(source), metadata));
+    applyWithTransition(wrap(source), metadata);
   }
 
   /**
@@ -146,6 +188,25 @@ public abstract class SourcedEntity<T> extends Entity<Object,T> {
     return null;
   }
 
+  /**
+   * Restore my state from the {@code snapshot} previously answered by {@code snapshot()}.
+   * Must override if snapshots are to be supported.
+   * @param snapshot the {@code SNAPSHOT} from which my state is restored
+   * @param <SNAPSHOT> the type of the snapshot
+   */
+  protected <SNAPSHOT> void restore(final SNAPSHOT snapshot) {
+  }
+
+  /**
+   * Answer the {@code SnapshotPolicy} that decides when {@code snapshot()} is
+   * consulted by {@code apply()}. Must override if snapshots are to be taken
+   * less frequently than upon every {@code apply()}.
+   * @return SnapshotPolicy
+   */
+  protected SnapshotPolicy snapshotPolicy() {
+    return SnapshotPolicy.always();
+  }
+
   /**
    * Answer my stream name. Must override.
    * @return String
@@ -169,37 +230,48 @@ public abstract class SourcedEntity<T> extends Entity<Object,T> {
     return builder.toString();
   }
 
-  private void applyWithTransition(final Applied<Object,T> applied) {
-    applied(applied);
+  private void applyWithTransition(final List<Source<T>> sources, final Metadata metadata) {
+    final int nextVersion = nextVersion();
 
-    transitionWith(applied.sources());
+    transitionWith(sources);
+
+    applied(new Applied<>(snapshotIfDue(sources), nextVersion, sources, metadata));
   }
 
-  private void transitionWith(final List<Source<T>> stream) {
+  private Object snapshotIfDue(final List<Source<T>> sources) {
+    final SnapshotPolicy policy = snapshotPolicy();
 
-    for (final Source<?> source : stream) {
-      Class<?> type = getClass();
+    for (final Source<T> source : sources) {
+      bytesSinceSnapshot += policy.sizeOf(source);
+    }
 
-      BiConsumer<SourcedEntity<?>, Source<?>> consumer = null;
+    sourcesApplied += sources.size();
 
-      while (type != SourcedEntity.class) {
-        final Map<Class<Source<?>>, BiConsumer<SourcedEntity<?>, Source<?>>> sourcedTypeMap =
-                registeredConsumers.get(type);
-
-        if (sourcedTypeMap != null) {
-          consumer = sourcedTypeMap.get(source.getClass());
-          if (consumer != null) {
-            consumer.accept(this, source);
-            break;
-          }
-        }
+    final int streamVersion = currentVersion + sourcesApplied;
 
-        type = type.getSuperclass();
-      }
+    // all applies since construction accumulate into a single Applied whose state
+    // is that of the latest apply, so once a snapshot is due it is retaken by every
+    // later apply to keep the persisted snapshot current with the persisted version
+    if (!snapshotTaken && !policy.isSnapshotDue(streamVersion, snapshotVersion, bytesSinceSnapshot)) {
+      return null;
+    }
 
-      if (consumer == null) {
-        throw new IllegalStateException("No such Sourced type.");
-      }
+    final Object snapshot = snapshot();
+
+    if (snapshot != null) {
+      snapshotTaken = true;
+      snapshotVersion = streamVersion;
+      bytesSinceSnapshot = 0;
+    }
+
+    return snapshot;
+  }
+
+  private void transitionWith(final List<Source<T>> stream) {
+    final DispatchTable dispatchTable = dispatchTables.get(getClass());
+
+    for (final Source<?> source : stream) {
+      dispatchTable.consumerOf(source.getClass()).accept(this, source);
     }
   }
 
@@ -221,4 +293,93 @@ public abstract class SourcedEntity<T> extends Entity<Object,T> {
   private List<Source<T>> wrap(final Source<T>[] sources) {
     return Arrays.asList(sources);
   }
+
+  /**
+   * The consumers resolved for a single concrete sourced type, keyed by
+   * source type. A resolution walks the sourced type hierarchy only once
+   * per source type, and all resolutions are discarded whenever a new
+   * consumer is registered.
+   */
+  private static final class DispatchTable {
+    private final Class<?> sourcedType;
+    private final AtomicReference<Resolved> resolved;
+
+    DispatchTable(final Class<?> sourcedType) {
+      this.sourcedType = sourcedType;
+      this.resolved = new AtomicReference<>(new Resolved(registrations.get(), Collections.emptyMap()));
+    }
+
+    BiConsumer<SourcedEntity<?>, Source<?>> consumerOf(final Class<?> sourceType) {
+      final int generation = registrations.get();
+
+      final Resolved current = resolved.get();
+
+      if (current.generation == generation) {
+        final BiConsumer<SourcedEntity<?>, Source<?>> consumer = current.consumers.get(sourceType);
+        if (consumer != null) {
+          return consumer;
+        }
+      }
+
+      final BiConsumer<SourcedEntity<?>, Source<?>> consumer = resolve(sourceType);
+
+      publish(current, generation, sourceType, consumer);
+
+      return consumer;
+    }
+
+    /**
+     * Publish {@code consumer} without losing the resolutions of concurrent
+     * dispatchers, and without replacing the resolutions of a later generation.
+     */
+    private void publish(
+            Resolved current,
+            final int generation,
+            final Class<?> sourceType,
+            final BiConsumer<SourcedEntity<?>, Source<?>> consumer) {
+
+      while (current.generation <= generation) {
+        final Resolved base = current.generation == generation ? current : new Resolved(generation, Collections.emptyMap());
+        if (resolved.compareAndSet(current, base.with(sourceType, consumer))) {
+          return;
+        }
+        current = resolved.get();
+      }
+    }
+
+    private BiConsumer<SourcedEntity<?>, Source<?>> resolve(final Class<?> sourceType) {
+      Class<?> type = sourcedType;
+
+      while (type != SourcedEntity.class) {
+        final BiConsumer<SourcedEntity<?>, Source<?>> consumer = registeredConsumers.get(type).get().get(sourceType);
+        if (consumer != null) {
+          return consumer;
+        }
+
+        type = type.getSuperclass();
+      }
+
+      throw new IllegalStateException("No such Sourced type.");
+    }
+  }
+
+  /**
+   * The immutable consumers resolved by a {@code DispatchTable} during a single
+   * generation of registrations, which are replaced rather than modified.
+   */
+  private static final class Resolved {
+    final int generation;
+    final Map<Class<?>, BiConsumer<SourcedEntity<?>, Source<?>>> consumers;
+
+    Resolved(final int generation, final Map<Class<?>, BiConsumer<SourcedEntity<?>, Source<?>>> consumers) {
+      this.generation = generation;
+      this.consumers = consumers;
+    }
+
+    Resolved with(final Class<?> sourceType, final BiConsumer<SourcedEntity<?>, Source<?>> consumer) {
+      final Map<Class<?>, BiConsumer<SourcedEntity<?>, Source<?>>> consumers = new HashMap<>(this.consumers);
+      consumers.put(sourceType, consumer);
+      return new Resolved(generation, Collections.unmodifiableMap(consumers));
+    }
+  }
 }
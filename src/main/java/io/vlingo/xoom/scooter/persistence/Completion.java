@@ -0,0 +1,120 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.scooter.persistence;
+
+import io.vlingo.common.Outcome;
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.StorageException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The completion of a single store operation on which a repository awaits.
+ * Awaiting threads are parked until the store actor delivers the outcome,
+ * rather than spinning on it.
+ * @param <T> the type of the completed outcome
+ */
+abstract class Completion<T> {
+  private final String operation;
+  private final CompletableFuture<T> future;
+
+  /**
+   * Answer the {@code CompletableFuture<T>} that is completed once the store
+   * delivers my outcome, which may be composed upon without blocking.
+   * @return {@code CompletableFuture<T>}
+   */
+  public CompletableFuture<T> completion() {
+    return future;
+  }
+
+  /**
+   * Answer whether or not my outcome has been delivered.
+   * @return boolean
+   */
+  public boolean isCompleted() {
+    return future.isDone();
+  }
+
+  protected Completion(final String operation) {
+    this.operation = operation;
+    this.future = new CompletableFuture<>();
+  }
+
+  /**
+   * Complete with {@code value} if the {@code outcome} is a success,
+   * or otherwise with the {@code StorageException} that caused the failure.
+   * @param outcome the {@code Outcome<StorageException, Result>} delivered by the store
+   * @param value the T value to complete with upon success
+   */
+  protected void completeConsidering(final Outcome<StorageException, Result> outcome, final T value) {
+    outcome
+    .andThen(result -> {
+      if (result.isSuccess()) {
+        future.complete(value);
+      } else {
+        future.completeExceptionally(new StorageException(result, operation + " resulted in: " + result));
+      }
+      return result;
+    })
+    .otherwise(ex -> { future.completeExceptionally(ex); return outcome.getOrNull(); });
+  }
+
+  /**
+   * Complete once all of the {@code completions} have completed, or otherwise
+   * with the failure of any of them.
+   * @param completions the {@code List<Completion<?>>} on which to complete
+   */
+  protected void completeAfter(final List<Completion<?>> completions) {
+    final CompletableFuture<?>[] futures = completions.stream().map(Completion::completion).toArray(CompletableFuture[]::new);
+
+    CompletableFuture.allOf(futures).whenComplete((none, t) -> {
+      if (t == null) {
+        future.complete(null);
+      } else {
+        future.completeExceptionally(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+      }
+    });
+  }
+
+  T await() {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(operation + " interrupted while awaiting.", e);
+    } catch (ExecutionException e) {
+      throw failed(e.getCause());
+    }
+  }
+
+  T await(final Duration timeout) {
+    try {
+      return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(operation + " interrupted while awaiting.", e);
+    } catch (ExecutionException e) {
+      throw failed(e.getCause());
+    } catch (TimeoutException e) {
+      throw new IllegalStateException(operation + " timed out after: " + timeout, e);
+    }
+  }
+
+  private IllegalStateException failed(final Throwable t) {
+    if (t instanceof StorageException && ((StorageException) t).result == Result.ConcurrencyViolation) {
+      return new ConcurrencyViolation(operation + " failed because of concurrent modification: " + t.getMessage(), t);
+    }
+    return new IllegalStateException(operation + " failed because: " + t.getMessage(), t);
+  }
+}
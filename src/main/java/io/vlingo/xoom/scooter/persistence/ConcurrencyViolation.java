@@ -0,0 +1,23 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.scooter.persistence;
+
+/**
+ * The failure of a write or append because the store already holds a
+ * version of the state or stream at or beyond the one being written,
+ * meaning that it was modified since it was read. It is an
+ * {@code IllegalStateException} so that existing handling of failed
+ * awaits continues to apply.
+ */
+public class ConcurrencyViolation extends IllegalStateException {
+  private static final long serialVersionUID = 1L;
+
+  public ConcurrencyViolation(final String message, final Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,76 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.scooter.persistence;
+
+/**
+ * A count-min sketch of the approximate access frequency of ids, used by
+ * the {@code StateCache} to admit only ids that are accessed more often
+ * than those they would evict. Counts are halved periodically so that
+ * formerly popular ids age out. It is not thread-safe.
+ */
+final class FrequencySketch {
+  private static final int Depth = 4;
+  private static final int MaximumCount = 15;
+  private static final int[] Seeds = { 0x97cb3127, 0xb1a7e3c5, 0x6f3a9d17, 0xd2c1b4e9 };
+
+  private final int[][] counts;
+  private final int mask;
+  private final int sampleSize;
+  private int additions;
+
+  FrequencySketch(final int maximumSize) {
+    final int width = Math.max(16, Integer.highestOneBit(Math.max(maximumSize, 1) - 1) << 1);
+    this.counts = new int[Depth][width];
+    this.mask = width - 1;
+    this.sampleSize = 10 * Math.max(maximumSize, 1);
+  }
+
+  void increment(final Object id) {
+    final int hash = spread(id.hashCode());
+    boolean incremented = false;
+    for (int row = 0; row < Depth; row++) {
+      final int index = indexOf(hash, row);
+      if (counts[row][index] < MaximumCount) {
+        ++counts[row][index];
+        incremented = true;
+      }
+    }
+    if (incremented && ++additions >= sampleSize) {
+      age();
+    }
+  }
+
+  int frequencyOf(final Object id) {
+    final int hash = spread(id.hashCode());
+    int frequency = MaximumCount;
+    for (int row = 0; row < Depth; row++) {
+      frequency = Math.min(frequency, counts[row][indexOf(hash, row)]);
+    }
+    return frequency;
+  }
+
+  private void age() {
+    for (final int[] row : counts) {
+      for (int index = 0; index < row.length; index++) {
+        row[index] >>>= 1;
+      }
+    }
+    additions /= 2;
+  }
+
+  private int indexOf(final int hash, final int row) {
+    int h = hash * Seeds[row];
+    h ^= h >>> 17;
+    return h & mask;
+  }
+
+  private static int spread(final int hash) {
+    final int h = hash * 0x9e3779b9;
+    return h ^ (h >>> 16);
+  }
+}
@@ -14,10 +14,10 @@ import io.vlingo.symbio.store.Result;
 import io.vlingo.symbio.store.StorageException;
 import io.vlingo.symbio.store.journal.Journal.AppendResultInterest;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A base class for all concrete {@code Journal} repositories. This implementation
@@ -35,79 +35,68 @@ public abstract class JournalRepository {
     return new AppendInterest();
   }
 
+  /**
+   * Answer a new {@code UnitOfWork} through which the appends of several
+   * entities are issued together and then awaited once.
+   * @return UnitOfWork
+   */
+  protected UnitOfWork unitOfWork() {
+    return new UnitOfWork();
+  }
+
   /**
    * Await on the append to be completed. The {@code interest} must be
    * requested upon each new {@code append()} and {@code appendAll()}.
    * @param interest the AppendInterest on which the await is based.
    */
   protected void await(final AppendInterest interest) {
-    while (!interest.isAppended()) {
-      interest.throwIfException();
-    }
+    interest.await();
   }
 
-  public class AppendInterest implements AppendResultInterest {
-    private AtomicBoolean appended;
-    private AtomicReference<StorageException> exception;
+  /**
+   * Await on the append to be completed, but for no longer than {@code timeout}.
+   * The {@code interest} must be requested upon each new {@code append()} and {@code appendAll()}.
+   * @param interest the AppendInterest on which the await is based.
+   * @param timeout the Duration to await before failing with an IllegalStateException
+   */
+  protected void await(final AppendInterest interest, final Duration timeout) {
+    interest.await(timeout);
+  }
+
+  /**
+   * Answer the {@code CompletableFuture<Void>} completed by the append of the
+   * {@code interest}, which does not block. The {@code interest} must be
+   * requested upon each new {@code append()} and {@code appendAll()}.
+   * @param interest the AppendInterest on which the completion is based.
+   * @return {@code CompletableFuture<Void>}
+   */
+  protected CompletableFuture<Void> completionOf(final AppendInterest interest) {
+    return interest.completion();
+  }
 
+  public static class AppendInterest extends Completion<Void> implements AppendResultInterest {
     @Override
     public <S, ST> void appendResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion, Source<S> source, final Optional<ST> snapshot, final Object object) {
-      appendConsidering(outcome);
+      completeConsidering(outcome, null);
     }
 
     @Override
     public <S, ST> void appendResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion, final Source<S> source, final Metadata metadata, final Optional<ST> snapshot, final Object object) {
-      appendConsidering(outcome);
+      completeConsidering(outcome, null);
     }
 
     @Override
     public <S, ST> void appendAllResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion, final List<Source<S>> sources, final Optional<ST> snapshot, final Object object) {
-      appendConsidering(outcome);
+      completeConsidering(outcome, null);
     }
 
     @Override
     public <S, ST> void appendAllResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion, final List<Source<S>> sources, final Metadata metadata, final Optional<ST> snapshot, final Object object) {
-      appendConsidering(outcome);
-    }
-
-    private void appended() {
-      synchronized (appended) {
-        this.appended.set(true);
-      }
-    }
-
-    private boolean isAppended() {
-      synchronized (appended) {
-        return this.appended.get();
-      }
-    }
-
-    private AppendInterest() {
-      this.appended = new AtomicBoolean();
-      this.exception = new AtomicReference<>();
-    }
-
-    private <S, ST> void appendConsidering(final Outcome<StorageException, Result> outcome) {
-      outcome
-      .andThen(result -> {
-        if (result.isSuccess()) {
-          appended();
-        }
-        return result;
-      })
-      .otherwise(ex -> {
-        exception.set(ex);
-        return outcome.getOrNull();
-      });
+      completeConsidering(outcome, null);
     }
 
-    private void throwIfException() {
-      synchronized (exception) {
-        final Throwable t = exception.get();
-        if (t != null) {
-          throw new IllegalStateException("Append failed because: " + t.getMessage(), t);
-        }
-      }
+    AppendInterest() {
+      super("Append");
     }
   }
 }
@@ -0,0 +1,314 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.scooter.persistence;
+
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.Source;
+import io.vlingo.symbio.store.state.StateStore;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded cache of states by id in front of a {@code StateStore}, used by
+ * a {@code StatefulRepository} to read through and write through or behind.
+ * Entries expire a fixed time after they were cached, and once full, an id
+ * is only admitted by evicting the least recently used entry if the id has
+ * been accessed more frequently, in the manner of TinyLFU. A state is never
+ * replaced by one of a lower version.
+ * <p>
+ * When write-behind is enabled, writes are cached immediately and the latest
+ * state of each id is written to its store after the write-behind delay, such
+ * that successive writes of the same id are coalesced. A failed write-behind
+ * invalidates the id, so that it is next read from the store. Writes that
+ * are still pending are lost if the process ends before {@code close()}.
+ */
+public class StateCache {
+  private final Map<String, Entry> entries;
+  private final long expireAfterNanos;
+  private final int maximumSize;
+  private final Map<String, PendingWrite> pendingWrites;
+  private final FrequencySketch sketch;
+  private final Duration writeBehindDelay;
+  private ScheduledExecutorService writer;
+
+  /**
+   * Construct my default state, in which writes are through to the store.
+   * @param maximumSize the int maximum number of cached states
+   * @param expireAfter the Duration after which a cached state expires
+   */
+  public StateCache(final int maximumSize, final Duration expireAfter) {
+    this(maximumSize, expireAfter, null);
+  }
+
+  /**
+   * Construct my default state, in which writes are behind by {@code writeBehindDelay}.
+   * @param maximumSize the int maximum number of cached states
+   * @param expireAfter the Duration after which a cached state expires
+   * @param writeBehindDelay the Duration after which pending writes are written, or null to write through
+   */
+  public StateCache(final int maximumSize, final Duration expireAfter, final Duration writeBehindDelay) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("The cache maximum size must be greater than zero.");
+    }
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    this.expireAfterNanos = expireAfter.toNanos();
+    this.maximumSize = maximumSize;
+    this.pendingWrites = new LinkedHashMap<>();
+    this.sketch = new FrequencySketch(maximumSize);
+    this.writeBehindDelay = writeBehindDelay;
+  }
+
+  /**
+   * Answer whether or not my writes are behind rather than through.
+   * @return boolean
+   */
+  public boolean isWriteBehind() {
+    return writeBehindDelay != null;
+  }
+
+  /**
+   * Answer the cached state of {@code id}, or null if none or expired.
+   * @param id the String id of the state
+   * @param <S> the type of the state
+   * @return S
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized <S> S get(final String id) {
+    sketch.increment(id);
+    final Entry entry = live(id);
+    return entry == null ? null : (S) entry.state;
+  }
+
+  /**
+   * Answer the cached state of {@code id} along with its version, or null if none or expired.
+   * @param id the String id of the state
+   * @param <S> the type of the state
+   * @return {@code VersionedState<S>}
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized <S> VersionedState<S> getVersioned(final String id) {
+    sketch.increment(id);
+    final Entry entry = live(id);
+    return entry == null ? null : new VersionedState<>((S) entry.state, entry.stateVersion);
+  }
+
+  /**
+   * Answer the version of the cached state of {@code id}, or -1 if none or expired.
+   * @param id the String id of the state
+   * @return int
+   */
+  public synchronized int versionOf(final String id) {
+    final Entry entry = live(id);
+    return entry == null ? -1 : entry.stateVersion;
+  }
+
+  /**
+   * Cache the {@code state} of {@code id} unless a higher version is already cached.
+   * @param id the String id of the state
+   * @param state the S state to cache
+   * @param stateVersion the int version of the state
+   * @param <S> the type of the state
+   */
+  public synchronized <S> void put(final String id, final S state, final int stateVersion) {
+    final Entry existing = entries.get(id);
+
+    if (existing != null) {
+      if (existing.stateVersion > stateVersion) return;
+    } else if (entries.size() >= maximumSize && !admit(id)) {
+      return;
+    }
+
+    entries.put(id, new Entry(state, stateVersion, System.nanoTime() + expireAfterNanos));
+  }
+
+  /**
+   * Invalidate the cached state of {@code id}.
+   * @param id the String id of the state
+   */
+  public synchronized void invalidate(final String id) {
+    entries.remove(id);
+  }
+
+  /**
+   * Invalidate the cached state of {@code id} if it precedes {@code currentVersion},
+   * such as when an entity of that version is known to have been persisted elsewhere.
+   * @param id the String id of the state
+   * @param currentVersion the int current version of the entity
+   */
+  public synchronized void invalidate(final String id, final int currentVersion) {
+    final Entry existing = entries.get(id);
+    if (existing != null && existing.stateVersion < currentVersion) {
+      entries.remove(id);
+    }
+  }
+
+  /**
+   * Answer the number of cached states, which may include expired states.
+   * @return int
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Write all pending writes and stop writing behind.
+   */
+  public void close() {
+    final ScheduledExecutorService writer;
+    synchronized (this) {
+      writer = this.writer;
+      this.writer = null;
+    }
+    if (writer != null) {
+      writer.shutdown();
+    }
+    flush();
+  }
+
+  /**
+   * Write the latest pending state of each id, without awaiting the writes.
+   */
+  public void flush() {
+    final List<PendingWrite> writes;
+    synchronized (this) {
+      writes = new ArrayList<>(pendingWrites.values());
+      pendingWrites.clear();
+    }
+    writes.forEach(this::write);
+  }
+
+  /**
+   * Cache the {@code state} of {@code id} and write it behind to the {@code store},
+   * replacing any pending write of {@code id}.
+   */
+  <S> void writeBehind(final StateStore store, final String id, final S state, final int stateVersion) {
+    writeBehind(store, id, state, stateVersion, Collections.emptyList(), null);
+  }
+
+  /**
+   * Cache the {@code state} of {@code id} and write it behind to the {@code store} along
+   * with its {@code sources} and {@code metadata}, replacing any pending write of {@code id}
+   * but not its sources, which are written before mine.
+   */
+  synchronized <S,C> void writeBehind(final StateStore store, final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Metadata metadata) {
+    put(id, state, stateVersion);
+
+    final PendingWrite pending = pendingWrites.get(id);
+    if (pending == null || pending.stateVersion <= stateVersion) {
+      pendingWrites.put(id, new PendingWrite(store, id, state, stateVersion, following(pending, sources), metadata));
+    }
+
+    if (writer == null) {
+      writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "StateCache-writeBehind");
+        thread.setDaemon(true);
+        return thread;
+      });
+      final long delay = writeBehindDelay.toMillis();
+      writer.scheduleWithFixedDelay(this::flush, delay, delay, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Discard the pending write of {@code id} if it precedes {@code stateVersion},
+   * because a write of that version is being made without writing behind, and
+   * answer the {@code sources} of that write preceded by those of the discarded one.
+   */
+  synchronized <C> List<Source<C>> supersedeWriteBehind(final String id, final int stateVersion, final List<Source<C>> sources) {
+    final PendingWrite pending = pendingWrites.get(id);
+    if (pending != null && pending.stateVersion < stateVersion) {
+      pendingWrites.remove(id);
+      return following(pending, sources);
+    }
+    return sources;
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static <C> List<Source<C>> following(final PendingWrite pending, final List<Source<C>> sources) {
+    if (pending == null || pending.sources.isEmpty()) {
+      return sources;
+    }
+    final List<Source<C>> all = new ArrayList<>(pending.sources.size() + sources.size());
+    all.addAll((List) pending.sources);
+    all.addAll(sources);
+    return all;
+  }
+
+  private boolean admit(final String id) {
+    final Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+    final Map.Entry<String, Entry> victim = eldest.next();
+
+    if (victim.getValue().isExpired(System.nanoTime()) || sketch.frequencyOf(id) > sketch.frequencyOf(victim.getKey())) {
+      eldest.remove();
+      return true;
+    }
+    return false;
+  }
+
+  private Entry live(final String id) {
+    final Entry entry = entries.get(id);
+    if (entry != null && entry.isExpired(System.nanoTime())) {
+      entries.remove(id);
+      return null;
+    }
+    return entry;
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private void write(final PendingWrite pending) {
+    final StatefulRepository.WriteInterest interest = new StatefulRepository.WriteInterest();
+    final Metadata metadata = pending.metadata == null ? Metadata.nullMetadata() : pending.metadata;
+    pending.store.write(pending.id, pending.state, pending.stateVersion, (List) pending.sources, metadata, interest);
+    interest.completion().whenComplete((none, t) -> {
+      if (t != null) invalidate(pending.id);
+    });
+  }
+
+  private static final class Entry {
+    final long expiresAt;
+    final Object state;
+    final int stateVersion;
+
+    Entry(final Object state, final int stateVersion, final long expiresAt) {
+      this.expiresAt = expiresAt;
+      this.state = state;
+      this.stateVersion = stateVersion;
+    }
+
+    boolean isExpired(final long now) {
+      return now - expiresAt >= 0;
+    }
+  }
+
+  private static final class PendingWrite {
+    final String id;
+    final Object state;
+    final int stateVersion;
+    final List<? extends Source<?>> sources;
+    final Metadata metadata;
+    final StateStore store;
+
+    PendingWrite(final StateStore store, final String id, final Object state, final int stateVersion, final List<? extends Source<?>> sources, final Metadata metadata) {
+      this.id = id;
+      this.state = state;
+      this.stateVersion = stateVersion;
+      this.sources = sources;
+      this.metadata = metadata;
+      this.store = store;
+    }
+  }
+}
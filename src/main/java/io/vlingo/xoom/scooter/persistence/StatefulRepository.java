@@ -12,15 +12,45 @@ import io.vlingo.symbio.Metadata;
 import io.vlingo.symbio.Source;
 import io.vlingo.symbio.store.Result;
 import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.state.StateStore;
 import io.vlingo.symbio.store.state.StateStore.ReadResultInterest;
 import io.vlingo.symbio.store.state.StateStore.WriteResultInterest;
+import io.vlingo.xoom.scooter.model.Applied;
+import io.vlingo.xoom.scooter.model.stateful.StatefulEntity;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
-public abstract class StatefulRepository {
-  protected StatefulRepository() { }
+public abstract class StatefulRepository implements AutoCloseable {
+  private final StateCache cache;
+
+  protected StatefulRepository() {
+    this(null);
+  }
+
+  /**
+   * Construct my default state with the {@code cache} through which
+   * {@code readThrough()} and {@code writeThrough()} are served.
+   * @param cache the StateCache of my states, or null for none
+   */
+  protected StatefulRepository(final StateCache cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Close my cache, if any, which writes its pending writes and stops
+   * writing behind. Must be called when I am no longer used if my cache
+   * writes behind.
+   */
+  @Override
+  public void close() {
+    if (cache != null) {
+      cache.close();
+    }
+  }
 
   /**
    * Answer the T afer awaiting the read to be completed. The {@code interest}
@@ -31,11 +61,20 @@ public abstract class StatefulRepository {
    */
   @SuppressWarnings("unchecked")
   protected <T> T await(final ReadInterest interest) {
-    while (!interest.isRead()) {
-      interest.throwIfException();
-    }
+    return (T) interest.await();
+  }
 
-    return (T) interest.state.get();
+  /**
+   * Answer the T afer awaiting the read to be completed, but for no longer
+   * than {@code timeout}. The {@code interest} must be requested upon each new {@code read()}.
+   * @param interest the ReadInterest on which the await is based
+   * @param timeout the Duration to await before failing with an IllegalStateException
+   * @param <T> the type of object to answer
+   * @return T
+   */
+  @SuppressWarnings("unchecked")
+  protected <T> T await(final ReadInterest interest, final Duration timeout) {
+    return (T) interest.await(timeout);
   }
 
   /**
@@ -44,116 +83,271 @@ public abstract class StatefulRepository {
    * @param interest the WriteInterest on which the await is based
    */
   protected void await(final WriteInterest interest) {
-    while (!interest.isWritten()) {
-      interest.throwIfException();
-    }
+    interest.await();
   }
 
   /**
-   * Answer a {@code StatefulRepository.ReadInterest} for each new {@code read()}.
-   * @return ReadInterest
+   * Await on the write to be completed, but for no longer than {@code timeout}.
+   * The {@code interest} must be requested upon each new {@code write()}.
+   * @param interest the WriteInterest on which the await is based
+   * @param timeout the Duration to await before failing with an IllegalStateException
    */
-  protected ReadInterest readInterest() {
-    return new ReadInterest();
+  protected void await(final WriteInterest interest, final Duration timeout) {
+    interest.await(timeout);
   }
 
   /**
-   * Answer a {@code StatefulRepository.WriteInterest} for each new {@code write()}.
-   * @return WriteInterest
+   * Answer the {@code CompletableFuture<T>} completed by the read of the
+   * {@code interest}, which does not block. The {@code interest} must be
+   * requested upon each new {@code read()}.
+   * @param interest the ReadInterest on which the completion is based
+   * @param <T> the type of object to answer
+   * @return {@code CompletableFuture<T>}
    */
-  protected WriteInterest writeInterest() {
-    return new WriteInterest();
+  @SuppressWarnings("unchecked")
+  protected <T> CompletableFuture<T> completionOf(final ReadInterest interest) {
+    return (CompletableFuture<T>) interest.completion();
+  }
+
+  /**
+   * Answer the {@code CompletableFuture<Void>} completed by the write of the
+   * {@code interest}, which does not block. The {@code interest} must be
+   * requested upon each new {@code write()}.
+   * @param interest the WriteInterest on which the completion is based
+   * @return {@code CompletableFuture<Void>}
+   */
+  protected CompletableFuture<Void> completionOf(final WriteInterest interest) {
+    return interest.completion();
   }
 
-  public static class ReadInterest extends Exceptional implements ReadResultInterest {
-    private final AtomicBoolean read;
-    private AtomicReference<Object> state = new AtomicReference<>();
+  /**
+   * Answer the state of {@code id} from my cache if present, or otherwise
+   * after awaiting its read from the {@code store}, which is then cached.
+   * @param store the StateStore from which to read upon a miss
+   * @param id the String id of the state
+   * @param type the {@code Class<S>} of the state
+   * @param <S> the type of the state
+   * @return S
+   */
+  protected <S> S readThrough(final StateStore store, final String id, final Class<S> type) {
+    return readVersionedThrough(store, id, type).state;
+  }
 
-    @Override
-    public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state, final int stateVersion, final Metadata metadata, final Object object) {
-      readConsidering(outcome, state);
+  /**
+   * Answer the state of {@code id} along with its version, from my cache if
+   * present, or otherwise after awaiting its read from the {@code store}, which
+   * is then cached. The version is the one to pass to {@code writeExpecting()}.
+   * @param store the StateStore from which to read upon a miss
+   * @param id the String id of the state
+   * @param type the {@code Class<S>} of the state
+   * @param <S> the type of the state
+   * @return {@code VersionedState<S>}
+   */
+  protected <S> VersionedState<S> readVersionedThrough(final StateStore store, final String id, final Class<S> type) {
+    if (cache != null) {
+      final VersionedState<S> cached = cache.getVersioned(id);
+      if (cached != null) return cached;
     }
 
-    private void read(final Object state) {
-      synchronized (read) {
-        this.state.set(state);
-        this.read.set(true);
-      }
+    final ReadInterest interest = readInterest();
+    store.read(id, type, interest);
+    final S state = await(interest);
+
+    if (cache != null) {
+      cache.put(id, state, interest.stateVersion());
     }
 
-    private boolean isRead() {
-      synchronized (read) {
-        return this.read.get();
-      }
+    return new VersionedState<>(state, interest.stateVersion());
+  }
+
+  /**
+   * Write the {@code state} of {@code id} and cache it. If my cache writes
+   * behind, the write is coalesced with other writes of {@code id} and is
+   * not awaited, or otherwise it is awaited before the state is cached.
+   * @param store the StateStore to write to
+   * @param id the String id of the state
+   * @param state the S state to write
+   * @param stateVersion the int version of the state
+   * @param <S> the type of the state
+   */
+  protected <S> void writeThrough(final StateStore store, final String id, final S state, final int stateVersion) {
+    writeThrough(store, id, state, stateVersion, Collections.emptyList(), null);
+  }
+
+  /**
+   * Write the {@code state} of {@code id} along with its {@code sources} and cache it.
+   * If my cache writes behind, the write is coalesced with other writes of {@code id},
+   * whose sources are all written, and is not awaited, or otherwise it is awaited
+   * before the state is cached.
+   * @param store the StateStore to write to
+   * @param id the String id of the state
+   * @param state the S state to write
+   * @param stateVersion the int version of the state
+   * @param sources the {@code List<Source<C>>} to write along with the state
+   * @param metadata the Metadata to write along with the state, or null
+   * @param <S> the type of the state
+   * @param <C> the type of the sources
+   */
+  protected <S,C> void writeThrough(final StateStore store, final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Metadata metadata) {
+    if (cache != null && cache.isWriteBehind()) {
+      cache.writeBehind(store, id, state, stateVersion, sources, metadata);
+      return;
     }
 
-    private <S> void readConsidering(final Outcome<StorageException, Result> outcome, final S state) {
-      outcome
-      .andThen(result -> {
-        if (result.isSuccess()) {
-          read(state);
-        }
-        return result;
-      })
-      .otherwise(ex -> { exception.set(ex); return outcome.getOrNull(); });
+    writeAwaiting(store, id, state, stateVersion, sources, metadata);
+  }
+
+  /**
+   * Write the {@code state} of {@code id} and await it before caching it, even
+   * if my cache writes behind, in which case a pending write of a preceding
+   * version of {@code id} is superseded by this one, which then also writes
+   * the sources of the pending one.
+   */
+  private <S,C> void writeAwaiting(final StateStore store, final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Metadata metadata) {
+    final List<Source<C>> written = cache != null && cache.isWriteBehind()
+        ? cache.supersedeWriteBehind(id, stateVersion, sources)
+        : sources;
+
+    final WriteInterest interest = writeInterest();
+    store.write(id, state, stateVersion, written, metadata == null ? Metadata.nullMetadata() : metadata, interest);
+    try {
+      await(interest);
+    } catch (ConcurrencyViolation e) {
+      if (cache != null) {
+        cache.invalidate(id);
+      }
+      throw e;
     }
 
-    private ReadInterest() {
-      this.read = new AtomicBoolean();
-      this.state = new AtomicReference<>();
+    if (cache != null) {
+      cache.put(id, state, stateVersion);
     }
   }
 
-  public static class WriteInterest extends Exceptional implements WriteResultInterest {
-    private final AtomicBoolean written;
+  /**
+   * Write the {@code state} of {@code id} only if the store holds no version
+   * beyond {@code expectedVersion}, which is the version that was read, and
+   * otherwise fail with a {@code ConcurrencyViolation}. The write is always
+   * awaited, even if my cache writes behind, because only the store can
+   * detect a concurrent modification.
+   * @param store the StateStore to write to
+   * @param id the String id of the state
+   * @param state the S state to write
+   * @param expectedVersion the int version of the state as read, or zero if new
+   * @param <S> the type of the state
+   * @return int the version written
+   */
+  protected <S> int writeExpecting(final StateStore store, final String id, final S state, final int expectedVersion) {
+    final int stateVersion = expectedVersion + 1;
+    writeAwaiting(store, id, state, stateVersion, Collections.emptyList(), null);
+    return stateVersion;
+  }
 
-    @Override
-    public <S, C> void writeResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Object object) {
-      writtenConsidering(outcome);
+  /**
+   * Answer the result of {@code reloadAndWrite}, retrying it up to {@code maxAttempts}
+   * times in total if it fails with a {@code ConcurrencyViolation}. The cached state
+   * of {@code id}, if any, is invalidated before each retry, so {@code reloadAndWrite}
+   * must read the state anew, reapply its change, and write it expecting the version read.
+   * @param id the String id of the state
+   * @param maxAttempts the int maximum number of attempts, which must be at least one
+   * @param reloadAndWrite the {@code Supplier<T>} that reads, changes, and writes the state
+   * @param <T> the type of the result
+   * @return T
+   */
+  protected <T> T retryOnConcurrencyViolation(final String id, final int maxAttempts, final Supplier<T> reloadAndWrite) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("The maximum attempts must be at least one.");
     }
-
-    private void written() {
-      synchronized (written) {
-        this.written.set(true);
+    for (int attempt = 1; ; ++attempt) {
+      try {
+        return reloadAndWrite.get();
+      } catch (ConcurrencyViolation e) {
+        if (attempt >= maxAttempts) throw e;
+        if (cache != null) {
+          cache.invalidate(id);
+        }
       }
     }
+  }
 
-    private boolean isWritten() {
-      synchronized (written) {
-        return this.written.get();
-      }
+  /**
+   * Write the state applied to the {@code entity} at its current version, along with its
+   * applied sources and metadata, and cache it, which fails with a {@code ConcurrencyViolation}
+   * if the store holds that version or beyond, because the version preceding it is the one
+   * that the entity was read at.
+   * @param store the StateStore to write to
+   * @param entity the {@code StatefulEntity<S,C>} of which the applied state is written
+   * @param <S> the type of the state
+   * @param <C> the type of the sources
+   */
+  protected <S,C> void writeThrough(final StateStore store, final StatefulEntity<S,C> entity) {
+    final Applied<S,C> applied = entity.applied();
+    writeThrough(store, entity.id(), applied.state, entity.currentVersion(), applied.sources(), applied.metadata);
+  }
+
+  /**
+   * Answer my StateCache, or null if I have none.
+   * @return StateCache
+   */
+  protected StateCache cache() {
+    return cache;
+  }
+
+  /**
+   * Answer a new {@code UnitOfWork} through which the writes of several
+   * entities are issued together and then awaited once.
+   * @return UnitOfWork
+   */
+  protected UnitOfWork unitOfWork() {
+    return new UnitOfWork();
+  }
+
+  /**
+   * Answer a {@code StatefulRepository.ReadInterest} for each new {@code read()}.
+   * @return ReadInterest
+   */
+  protected ReadInterest readInterest() {
+    return new ReadInterest();
+  }
+
+  /**
+   * Answer a {@code StatefulRepository.WriteInterest} for each new {@code write()}.
+   * @return WriteInterest
+   */
+  protected WriteInterest writeInterest() {
+    return new WriteInterest();
+  }
+
+  public static class ReadInterest extends Completion<Object> implements ReadResultInterest {
+    private volatile int stateVersion = -1;
+
+    @Override
+    public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state, final int stateVersion, final Metadata metadata, final Object object) {
+      this.stateVersion = stateVersion;
+      completeConsidering(outcome, state);
     }
 
-    private WriteInterest() {
-      this.written = new AtomicBoolean();
+    /**
+     * Answer the version of the state that was read, or -1 if not yet read.
+     * @return int
+     */
+    public int stateVersion() {
+      return stateVersion;
     }
 
-    private <S> void writtenConsidering(final Outcome<StorageException, Result> outcome) {
-      outcome
-      .andThen(result -> {
-        if (result.isSuccess()) {
-          written();
-        }
-        return result;
-      })
-      .otherwise(ex -> { exception.set(ex); return outcome.getOrNull(); });
+    private ReadInterest() {
+      super("Read");
     }
   }
 
-  private static class Exceptional {
-    protected final AtomicReference<StorageException> exception;
-
-    protected Exceptional() {
-      this.exception = new AtomicReference<>();
+  public static class WriteInterest extends Completion<Void> implements WriteResultInterest {
+    @Override
+    public <S, C> void writeResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Object object) {
+      completeConsidering(outcome, null);
     }
 
-    void throwIfException() {
-      synchronized (exception) {
-        final Throwable t = exception.get();
-        if (t != null) {
-          throw new IllegalStateException("Append failed because: " + t.getMessage(), t);
-        }
-      }
+    WriteInterest() {
+      super("Write");
     }
   }
 }
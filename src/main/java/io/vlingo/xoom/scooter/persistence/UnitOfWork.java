@@ -0,0 +1,160 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.scooter.persistence;
+
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.Source;
+import io.vlingo.symbio.store.journal.Journal;
+import io.vlingo.symbio.store.state.StateStore;
+import io.vlingo.xoom.scooter.model.Applied;
+import io.vlingo.xoom.scooter.model.sourced.SourcedEntity;
+import io.vlingo.xoom.scooter.model.stateful.StatefulEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A unit of work that issues the writes and appends of several entities
+ * without awaiting any of them, such that the store actors receive them
+ * back to back, and then awaits all of their outcomes at once. The unit
+ * fails with the first write or append that fails, but is not atomic
+ * across entities, because each store persists each entity independently.
+ */
+public class UnitOfWork {
+  private final List<Completion<?>> completions;
+
+  UnitOfWork() {
+    this.completions = new ArrayList<>();
+  }
+
+  /**
+   * Append all of the {@code sources} of the {@code streamName} starting at
+   * {@code fromStreamVersion} as a single {@code appendAll()}.
+   * @param journal the {@code Journal<?>} to append to
+   * @param streamName the String name of the stream
+   * @param fromStreamVersion the int version of the first source
+   * @param sources the {@code List<Source<C>>} to append
+   * @param metadata the Metadata to append along with the sources, or null
+   * @param <C> the type of the sources
+   * @return UnitOfWork
+   */
+  public <C> UnitOfWork appendAll(final Journal<?> journal, final String streamName, final int fromStreamVersion, final List<Source<C>> sources, final Metadata metadata) {
+    final JournalRepository.AppendInterest interest = new JournalRepository.AppendInterest();
+    if (metadata == null) {
+      journal.appendAll(streamName, fromStreamVersion, sources, interest, null);
+    } else {
+      journal.appendAll(streamName, fromStreamVersion, sources, metadata, interest, null);
+    }
+    completions.add(interest);
+    return this;
+  }
+
+  /**
+   * Append all of the sources applied to the {@code entity} as a single {@code appendAll()}.
+   * @param journal the {@code Journal<?>} to append to
+   * @param entity the {@code SourcedEntity<C>} of which the applied sources are appended
+   * @param <C> the type of the sources
+   * @return UnitOfWork
+   */
+  public <C> UnitOfWork appendAll(final Journal<?> journal, final SourcedEntity<C> entity) {
+    final Applied<Object,C> applied = entity.applied();
+    return appendAll(journal, entity.id(), entity.nextVersion(), applied.sources(), applied.metadata);
+  }
+
+  /**
+   * Write the {@code state} of {@code id} at {@code stateVersion}.
+   * @param store the StateStore to write to
+   * @param id the String id of the state
+   * @param state the S state to write
+   * @param stateVersion the int version of the state
+   * @param <S> the type of the state
+   * @return UnitOfWork
+   */
+  public <S> UnitOfWork write(final StateStore store, final String id, final S state, final int stateVersion) {
+    return write(store, id, state, stateVersion, Collections.emptyList(), null);
+  }
+
+  /**
+   * Write the {@code state} of {@code id} at {@code stateVersion} along with its {@code sources}.
+   * @param store the StateStore to write to
+   * @param id the String id of the state
+   * @param state the S state to write
+   * @param stateVersion the int version of the state
+   * @param sources the {@code List<Source<C>>} to write along with the state
+   * @param metadata the Metadata to write along with the state, or null
+   * @param <S> the type of the state
+   * @param <C> the type of the sources
+   * @return UnitOfWork
+   */
+  public <S,C> UnitOfWork write(final StateStore store, final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Metadata metadata) {
+    final StatefulRepository.WriteInterest interest = new StatefulRepository.WriteInterest();
+    store.write(id, state, stateVersion, sources, metadata == null ? Metadata.nullMetadata() : metadata, interest);
+    completions.add(interest);
+    return this;
+  }
+
+  /**
+   * Write the state applied to the {@code entity} along with its applied sources.
+   * @param store the StateStore to write to
+   * @param entity the {@code StatefulEntity<S,C>} of which the applied state is written
+   * @param <S> the type of the state
+   * @param <C> the type of the sources
+   * @return UnitOfWork
+   */
+  public <S,C> UnitOfWork write(final StateStore store, final StatefulEntity<S,C> entity) {
+    final Applied<S,C> applied = entity.applied();
+    return write(store, entity.id(), applied.state, applied.stateVersion, applied.sources(), applied.metadata);
+  }
+
+  /**
+   * Answer the number of writes and appends issued by me.
+   * @return int
+   */
+  public int size() {
+    return completions.size();
+  }
+
+  /**
+   * Answer the {@code CompletableFuture<Void>} completed once all of my
+   * writes and appends have completed, which does not block.
+   * @return {@code CompletableFuture<Void>}
+   */
+  public CompletableFuture<Void> completion() {
+    return committed().completion();
+  }
+
+  /**
+   * Await all of my writes and appends to be completed.
+   */
+  public void commit() {
+    committed().await();
+  }
+
+  /**
+   * Await all of my writes and appends to be completed, but for no longer than {@code timeout}.
+   * @param timeout the Duration to await before failing with an IllegalStateException
+   */
+  public void commit(final Duration timeout) {
+    committed().await(timeout);
+  }
+
+  private Committed committed() {
+    final Committed committed = new Committed();
+    committed.completeAfter(completions);
+    return committed;
+  }
+
+  private static class Committed extends Completion<Void> {
+    Committed() {
+      super("Unit of work");
+    }
+  }
+}
@@ -0,0 +1,28 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.scooter.persistence;
+
+/**
+ * A state along with the version at which it was read or cached, which
+ * are answered together so that the version is the one of the state.
+ * @param <S> the type of the state
+ */
+public final class VersionedState<S> {
+  public final S state;
+  public final int stateVersion;
+
+  public VersionedState(final S state, final int stateVersion) {
+    this.state = state;
+    this.stateVersion = stateVersion;
+  }
+
+  @Override
+  public String toString() {
+    return "VersionedState[state=" + state + " stateVersion=" + stateVersion + "]";
+  }
+}
@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Queue;
 import java.util.Stack;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -23,13 +24,35 @@ public class BlockingMailbox implements Mailbox {
   public static final String Name = "blockingMailbox";
 
   private final AtomicBoolean closed;
+  private final int deliveryBudget;
   private final AtomicBoolean delivering;
+  private final AtomicBoolean handedOff;
+  private final Executor helper;
   private final Queue<Message> queue;
   private final AtomicReference<Stack<List<Class<?>>>> suspendedOverrides;
 
+  /**
+   * Construct my default state, such that each sending thread delivers all pending messages.
+   */
   public BlockingMailbox() {
+    this(0, null);
+  }
+
+  /**
+   * Construct my state, such that each sending thread delivers at most {@code deliveryBudget}
+   * messages, following which any still pending are handed off to {@code helper}.
+   * @param deliveryBudget the int maximum number of messages delivered per send, or zero for no maximum
+   * @param helper the Executor that delivers messages pending once a budget is spent
+   */
+  public BlockingMailbox(final int deliveryBudget, final Executor helper) {
+    if (deliveryBudget > 0 && helper == null) {
+      throw new IllegalArgumentException("A helper is required when delivery is budgeted.");
+    }
     this.closed = new AtomicBoolean(false);
+    this.deliveryBudget = deliveryBudget <= 0 ? Integer.MAX_VALUE : deliveryBudget;
     this.delivering = new AtomicBoolean(false);
+    this.handedOff = new AtomicBoolean(false);
+    this.helper = helper;
     this.queue = new ConcurrentLinkedQueue<>();
     this.suspendedOverrides = new AtomicReference<>(new Stack<>());
   }
@@ -64,7 +87,7 @@ public class BlockingMailbox implements Mailbox {
     if (!suspendedOverrides.get().empty()) {
       suspendedOverrides.get().pop();
     }
-    deliverAll();
+    deliver();
   }
 
   @Override
@@ -77,26 +100,7 @@ public class BlockingMailbox implements Mailbox {
       return;
     }
 
-    try {
-      boolean deliver = true;
-
-      while (deliver) {
-        if (delivering.compareAndSet(false, true)) {
-          while (deliverAll())
-            ;
-          delivering.set(false);
-        }
-        deliver = false;
-      }
-    } catch (Throwable t) {
-      // should never happen because message
-      // delivery is protected by supervision,
-      // although it could be a mailbox problem
-      if (delivering.get()) {
-        delivering.set(false);
-      }
-      throw new RuntimeException(t.getMessage(), t);
-    }
+    deliver();
   }
 
   @Override
@@ -119,21 +123,62 @@ public class BlockingMailbox implements Mailbox {
     return queue.size();
   }
 
-  private boolean deliverAll() {
-    boolean any = false;
+  /**
+   * Delivers pending messages on the current thread until none remain or
+   * the budget is spent. The queue is checked again after each release of
+   * delivery so that messages sent by another thread during that time are
+   * not stranded.
+   */
+  private void deliver() {
+    int remaining = deliveryBudget;
+
+    while (!queue.isEmpty() && !isSuspended() && delivering.compareAndSet(false, true)) {
+      try {
+        remaining = deliverUpTo(remaining);
+      } catch (Throwable t) {
+        // should never happen because message
+        // delivery is protected by supervision,
+        // although it could be a mailbox problem
+        throw new RuntimeException(t.getMessage(), t);
+      } finally {
+        delivering.set(false);
+      }
+
+      if (remaining == 0) {
+        if (helper != null) {
+          handOff();
+          return;
+        }
+        remaining = deliveryBudget;
+      }
+    }
+  }
+
+  private int deliverUpTo(final int budget) {
+    int remaining = budget;
 
-    while (!queue.isEmpty()) {
+    while (remaining > 0 && !isSuspended()) {
       final Message queued = queue.poll();
-      if (queued != null) {
-        final Actor actor = queued.actor();
-        if (actor != null) {
-          any = true;
-          actor.viewTestStateInitialization(null);
-          queued.deliver();
-        }
+      if (queued == null) {
+        break;
+      }
+      final Actor actor = queued.actor();
+      if (actor != null) {
+        --remaining;
+        actor.viewTestStateInitialization(null);
+        queued.deliver();
       }
     }
 
-    return any;
+    return remaining;
+  }
+
+  private void handOff() {
+    if (!queue.isEmpty() && handedOff.compareAndSet(false, true)) {
+      helper.execute(() -> {
+        handedOff.set(false);
+        deliver();
+      });
+    }
   }
-}
\ No newline at end of file
+}
@@ -16,18 +16,46 @@ import io.vlingo.actors.plugin.AbstractPlugin;
 import io.vlingo.actors.plugin.Plugin;
 import io.vlingo.actors.plugin.PluginConfiguration;
 import io.vlingo.actors.plugin.PluginProperties;
+import io.vlingo.xoom.actors.PropertiesLoadingException;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class BlockingMailboxPlugin extends AbstractPlugin implements Plugin, MailboxProvider {
+  private static final String PropertiesFilename = "/vlingo-actors.properties";
+
   private final BlockingMailboxPluginConfiguration configuration;
+  private ExecutorService helper;
 
+  /**
+   * Construct my default state, reading my plugin properties from {@code vlingo-actors.properties},
+   * such that they also apply when I am started without the plugin loader, as by
+   * {@code new BlockingMailboxPlugin().start(world)}.
+   */
   public BlockingMailboxPlugin() {
+    this(actorsProperties());
+  }
+
+  /**
+   * Construct my state, reading my plugin properties from {@code properties}.
+   * @param properties the Properties with keys such as {@code plugin.blockingMailbox.deliveryBudget}
+   */
+  public BlockingMailboxPlugin(final Properties properties) {
     this.configuration = new BlockingMailboxPluginConfiguration();
+    this.configuration.buildWith(null, new PluginProperties(BlockingMailbox.Name, properties));
   }
 
   @Override
-  public void close() { }
+  public void close() {
+    if (helper != null) {
+      helper.shutdown();
+    }
+  }
 
   @Override
   public PluginConfiguration configuration() {
@@ -61,22 +89,85 @@ public class BlockingMailboxPlugin extends AbstractPlugin implements Plugin, Mai
 
   @Override
   public Mailbox provideMailboxFor(final int hashCode) {
-    return new BlockingMailbox();
+    if (configuration.deliveryBudget <= 0) {
+      return new BlockingMailbox();
+    }
+    return new BlockingMailbox(configuration.deliveryBudget, helper());
   }
 
   @Override
   public Mailbox provideMailboxFor(final int hashCode, final Dispatcher dispatcher) {
-    return new BlockingMailbox();
+    return provideMailboxFor(hashCode);
+  }
+
+  /**
+   * Answer the helper shared by my mailboxes, which is a work-stealing pool, so that the
+   * hand-offs of many mailboxes are delivered in parallel, and a mailbox that hands off
+   * again does not queue behind all others.
+   */
+  private synchronized ExecutorService helper() {
+    if (helper == null) {
+      final AtomicInteger threads = new AtomicInteger(0);
+      helper = new ForkJoinPool(configuration.helperThreads, pool -> {
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName(name() + "-helper-" + threads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }, null, true);
+    }
+    return helper;
+  }
+
+  private static Properties actorsProperties() {
+    final Properties properties = new Properties();
+    try (final InputStream stream = BlockingMailboxPlugin.class.getResourceAsStream(PropertiesFilename)) {
+      if (stream != null) {
+        properties.load(stream);
+      }
+    } catch (final IOException e) {
+      throw new PropertiesLoadingException(e.getMessage(), e);
+    }
+    return properties;
   }
 
+  /**
+   * Reads {@code plugin.blockingMailbox.deliveryBudget}, the maximum number of
+   * messages a sending thread delivers before handing off to a helper thread,
+   * where zero means no maximum, and {@code plugin.blockingMailbox.helperThreads},
+   * which defaults to the number of available processors.
+   */
   public static class BlockingMailboxPluginConfiguration implements PluginConfiguration {
+    private int deliveryBudget = 0;
+    private int helperThreads = Runtime.getRuntime().availableProcessors();
+
     public BlockingMailboxPluginConfiguration() { }
 
+    public BlockingMailboxPluginConfiguration deliveryBudget(final int deliveryBudget) {
+      this.deliveryBudget = deliveryBudget;
+      return this;
+    }
+
+    public int deliveryBudget() {
+      return deliveryBudget;
+    }
+
+    public BlockingMailboxPluginConfiguration helperThreads(final int helperThreads) {
+      this.helperThreads = helperThreads;
+      return this;
+    }
+
+    public int helperThreads() {
+      return helperThreads;
+    }
+
     @Override
     public void build(final Configuration configuration) { }
 
     @Override
-    public void buildWith(final Configuration configuration, final PluginProperties properties) { }
+    public void buildWith(final Configuration configuration, final PluginProperties properties) {
+      this.deliveryBudget = properties.getInteger("deliveryBudget", deliveryBudget);
+      this.helperThreads = Math.max(1, properties.getInteger("helperThreads", helperThreads));
+    }
 
     @Override
     public String name() {
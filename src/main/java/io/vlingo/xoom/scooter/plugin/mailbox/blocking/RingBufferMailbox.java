@@ -0,0 +1,254 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.scooter.plugin.mailbox.blocking;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import io.vlingo.actors.Actor;
+import io.vlingo.actors.Mailbox;
+import io.vlingo.actors.Message;
+
+/**
+ * A {@code BlockingMailbox} variant that enqueues into a bounded, preallocated
+ * ring of slots rather than allocating a queue node per message. Any number of
+ * threads may send, and the single thread that wins delivery drains the ring.
+ */
+public class RingBufferMailbox implements Mailbox {
+  public static final String Name = "ringBufferMailbox";
+  public static final int DefaultCapacity = 1024;
+
+  private static final long MinimumParkNanos = 1_000;
+  private static final long MaximumParkNanos = 1_000_000;
+
+  public enum BackPressure {
+    /** The sender waits until a slot is available. */
+    Block,
+    /** The message is discarded and counted as dropped. */
+    Drop,
+    /** The sender receives an {@code IllegalStateException}. */
+    Fail;
+
+    public static BackPressure named(final String name) {
+      for (final BackPressure backPressure : values()) {
+        if (backPressure.name().equalsIgnoreCase(name)) {
+          return backPressure;
+        }
+      }
+      throw new IllegalArgumentException("Unknown mailbox back pressure: " + name);
+    }
+  }
+
+  private final BackPressure backPressure;
+  private final AtomicBoolean closed;
+  private final AtomicBoolean delivering;
+  private volatile Thread deliveringThread;
+  private final AtomicLong dropped;
+  private final int mask;
+  private final AtomicLong receiveIndex;
+  private final AtomicLong sendIndex;
+  private final AtomicReferenceArray<Message> slots;
+  private final AtomicInteger suspensions;
+
+  public RingBufferMailbox(final int capacity, final BackPressure backPressure) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("The mailbox capacity must be greater than zero.");
+    }
+    final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+
+    this.backPressure = backPressure;
+    this.closed = new AtomicBoolean(false);
+    this.delivering = new AtomicBoolean(false);
+    this.dropped = new AtomicLong(0);
+    this.mask = size - 1;
+    this.receiveIndex = new AtomicLong(0);
+    this.sendIndex = new AtomicLong(0);
+    this.slots = new AtomicReferenceArray<>(size);
+    this.suspensions = new AtomicInteger(0);
+  }
+
+  @Override
+  public void run() {
+    throw new UnsupportedOperationException("RingBufferMailbox does not support this operation.");
+  }
+
+  @Override
+  public void close() {
+    closed.set(true);
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed.get();
+  }
+
+  @Override
+  public boolean isDelivering() {
+    return delivering.get();
+  }
+
+  @Override
+  public int concurrencyCapacity() {
+    return 1;
+  }
+
+  @Override
+  public void resume(final String name) {
+    suspensions.getAndUpdate(count -> count > 0 ? count - 1 : 0);
+    deliverWhilePending();
+  }
+
+  @Override
+  public void send(final Message message) {
+    if (isClosed()) return;
+
+    if (!enqueue(message)) {
+      return;
+    }
+
+    if (isSuspended()) {
+      return;
+    }
+
+    deliverWhilePending();
+  }
+
+  @Override
+  public void suspendExceptFor(final String name, final Class<?>... overrides) {
+    suspensions.incrementAndGet();
+  }
+
+  @Override
+  public boolean isSuspended() {
+    return suspensions.get() > 0;
+  }
+
+  @Override
+  public Message receive() {
+    throw new UnsupportedOperationException("RingBufferMailbox does not support this operation.");
+  }
+
+  @Override
+  public int pendingMessages() {
+    return (int) (sendIndex.get() - receiveIndex.get());
+  }
+
+  /**
+   * Answer the number of messages discarded because the ring was full
+   * while using {@code BackPressure.Drop}.
+   * @return long
+   */
+  public long droppedMessages() {
+    return dropped.get();
+  }
+
+  private boolean enqueue(final Message message) {
+    int waits = 0;
+
+    while (true) {
+      final long index = sendIndex.get();
+
+      if (index - receiveIndex.get() > mask) {
+        if (!awaitCapacity(waits++)) {
+          return false;
+        }
+      } else if (sendIndex.compareAndSet(index, index + 1)) {
+        slots.lazySet((int) index & mask, message);
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Answer whether the sender may retry after the ring was found full for the
+   * {@code waits} time. A blocked sender that cannot deliver itself parks for
+   * an exponentially increasing, bounded time, so a long stall costs at most
+   * one wakeup per {@code MaximumParkNanos}.
+   * @param waits the int number of times the sender already waited
+   * @return boolean
+   */
+  private boolean awaitCapacity(final int waits) {
+    switch (backPressure) {
+    case Drop:
+      dropped.incrementAndGet();
+      return false;
+    case Fail:
+      throw new IllegalStateException("RingBufferMailbox is full.");
+    default:
+      if (deliveringThread == Thread.currentThread()) {
+        throw new IllegalStateException("RingBufferMailbox is full and cannot block its delivering thread.");
+      }
+      if (isSuspended() || !deliverWhilePending()) {
+        LockSupport.parkNanos(parkNanosFor(waits));
+      }
+      return true;
+    }
+  }
+
+  private long parkNanosFor(final int waits) {
+    return Math.min(MaximumParkNanos, MinimumParkNanos << Math.min(waits, 10));
+  }
+
+  private boolean deliverWhilePending() {
+    boolean any = false;
+
+    try {
+      while (pendingMessages() > 0 && !isSuspended() && delivering.compareAndSet(false, true)) {
+        deliveringThread = Thread.currentThread();
+        any |= deliverAll();
+        deliveringThread = null;
+        delivering.set(false);
+      }
+    } catch (Throwable t) {
+      // should never happen because message
+      // delivery is protected by supervision,
+      // although it could be a mailbox problem
+      if (deliveringThread == Thread.currentThread()) {
+        deliveringThread = null;
+        delivering.set(false);
+      }
+      throw new RuntimeException(t.getMessage(), t);
+    }
+
+    return any;
+  }
+
+  private boolean deliverAll() {
+    boolean any = false;
+
+    while (!isSuspended()) {
+      final long index = receiveIndex.get();
+      final int slot = (int) index & mask;
+      final Message queued = slots.get(slot);
+
+      if (queued == null) {
+        // either empty or claimed by a sender that has yet to publish
+        if (index == sendIndex.get()) {
+          break;
+        }
+        Thread.yield();
+        continue;
+      }
+
+      slots.lazySet(slot, null);
+      receiveIndex.lazySet(index + 1);
+
+      final Actor actor = queued.actor();
+      if (actor != null) {
+        any = true;
+        actor.viewTestStateInitialization(null);
+        queued.deliver();
+      }
+    }
+
+    return any;
+  }
+}
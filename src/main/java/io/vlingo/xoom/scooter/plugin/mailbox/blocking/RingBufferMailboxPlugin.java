@@ -0,0 +1,117 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.scooter.plugin.mailbox.blocking;
+
+import io.vlingo.actors.Configuration;
+import io.vlingo.actors.Dispatcher;
+import io.vlingo.actors.Mailbox;
+import io.vlingo.actors.MailboxProvider;
+import io.vlingo.actors.Registrar;
+import io.vlingo.actors.plugin.AbstractPlugin;
+import io.vlingo.actors.plugin.Plugin;
+import io.vlingo.actors.plugin.PluginConfiguration;
+import io.vlingo.actors.plugin.PluginProperties;
+import io.vlingo.xoom.scooter.plugin.mailbox.blocking.RingBufferMailbox.BackPressure;
+
+import java.util.Properties;
+
+public class RingBufferMailboxPlugin extends AbstractPlugin implements Plugin, MailboxProvider {
+  private final RingBufferMailboxPluginConfiguration configuration;
+
+  public RingBufferMailboxPlugin() {
+    this.configuration = new RingBufferMailboxPluginConfiguration();
+  }
+
+  @Override
+  public void close() { }
+
+  @Override
+  public PluginConfiguration configuration() {
+    return configuration;
+  }
+
+  @Override
+  public String name() {
+    return configuration.name();
+  }
+
+  @Override
+  public int pass() {
+    return 1;
+  }
+
+  @Override
+  public void start(final Registrar registrar) {
+    registrar.register(name(), false, this);
+  }
+
+  @Override
+  public Plugin with(final PluginConfiguration overrideConfiguration) {
+    return this;
+  }
+
+  @Override
+  public void __internal_Only_Init(String s, Configuration configuration, Properties properties) {
+
+  }
+
+  @Override
+  public Mailbox provideMailboxFor(final int hashCode) {
+    return new RingBufferMailbox(configuration.capacity, configuration.backPressure);
+  }
+
+  @Override
+  public Mailbox provideMailboxFor(final int hashCode, final Dispatcher dispatcher) {
+    return new RingBufferMailbox(configuration.capacity, configuration.backPressure);
+  }
+
+  /**
+   * Reads {@code plugin.ringBufferMailbox.size}, the number of preallocated
+   * slots per mailbox and defaults to {@code RingBufferMailbox.DefaultCapacity},
+   * and {@code plugin.ringBufferMailbox.backPressure}, one of {@code block},
+   * {@code drop}, or {@code fail}.
+   */
+  public static class RingBufferMailboxPluginConfiguration implements PluginConfiguration {
+    private BackPressure backPressure = BackPressure.Block;
+    private int capacity = RingBufferMailbox.DefaultCapacity;
+
+    public RingBufferMailboxPluginConfiguration() { }
+
+    public RingBufferMailboxPluginConfiguration backPressure(final BackPressure backPressure) {
+      this.backPressure = backPressure;
+      return this;
+    }
+
+    public BackPressure backPressure() {
+      return backPressure;
+    }
+
+    public RingBufferMailboxPluginConfiguration capacity(final int capacity) {
+      this.capacity = capacity;
+      return this;
+    }
+
+    public int capacity() {
+      return capacity;
+    }
+
+    @Override
+    public void build(final Configuration configuration) { }
+
+    @Override
+    public void buildWith(final Configuration configuration, final PluginProperties properties) {
+      this.capacity = properties.getInteger("size", capacity);
+      this.backPressure = BackPressure.named(properties.getString("backPressure", backPressure.name()));
+    }
+
+    @Override
+    public String name() {
+      return RingBufferMailbox.Name;
+    }
+  }
+}
@@ -0,0 +1,76 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@link AppliedEvents} are the per-event results of applying a batch of {@link Event}s in a single turn of a
+ * {@link Kernel}. Each {@link Event} that does not match a valid transition is rejected without failing the others.
+ */
+@SuppressWarnings("rawtypes")
+public class AppliedEvents {
+
+    private final List<Event> events;
+    private final List<Event> rejectedEvents;
+    private final List<StateTransition> transitions;
+
+    AppliedEvents(int size) {
+        this.events = new ArrayList<>(size);
+        this.rejectedEvents = new ArrayList<>(0);
+        this.transitions = new ArrayList<>(size);
+    }
+
+    void applied(Event event, StateTransition transition) {
+        events.add(event);
+        transitions.add(transition);
+        if (transition == null) {
+            rejectedEvents.add(event);
+        }
+    }
+
+    public List<Event> getEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    /**
+     * Answer the {@link StateTransition} of each applied {@link Event} in the order applied, which is {@code null}
+     * for each rejected {@link Event}.
+     *
+     * @return the list of state transitions
+     */
+    public List<StateTransition> getTransitions() {
+        return Collections.unmodifiableList(transitions);
+    }
+
+    public StateTransition getTransition(int index) {
+        return transitions.get(index);
+    }
+
+    public List<Event> getRejectedEvents() {
+        return Collections.unmodifiableList(rejectedEvents);
+    }
+
+    public boolean hasRejections() {
+        return !rejectedEvents.isEmpty();
+    }
+
+    public int size() {
+        return events.size();
+    }
+
+    @Override
+    public String toString() {
+        return "AppliedEvents{" +
+                "size=" + events.size() +
+                ", rejected=" + rejectedEvents.size() +
+                '}';
+    }
+}
@@ -9,14 +9,27 @@ package io.vlingo.xoom.stepflow;
 
 import io.vlingo.symbio.Source;
 
-public abstract class Event extends Source<Event> implements Transition {
+public abstract class Event extends Source<Event> implements Transition, Cloneable {
 
     private String sourceName = "";
     private String targetName = "";
 
+    private transient String eventType;
+    private transient volatile Resolution resolution;
+
     public Event() {
     }
 
+    /**
+     * Construct a routed {@link Event}, which names only its source state, such that its target is decided by the
+     * guards of the transitions from that state.
+     *
+     * @param source the name of the source state
+     */
+    public Event(String source) {
+        this.sourceName = source;
+    }
+
     public Event(String source, String target) {
         this.sourceName = source;
         this.targetName = target;
@@ -29,6 +42,7 @@ public abstract class Event extends Source<Event> implements Transition {
 
     public void setSourceName(String sourceName) {
         this.sourceName = sourceName;
+        unresolve();
     }
 
     @Override
@@ -38,9 +52,78 @@ public abstract class Event extends Source<Event> implements Transition {
 
     public void setTargetName(String targetName) {
         this.targetName = targetName;
+        unresolve();
+    }
+
+    /**
+     * Answer whether or not my target is decided by the guards of the transitions from my source state.
+     *
+     * @return boolean
+     */
+    public boolean isRouted() {
+        return targetName == null || targetName.isEmpty();
+    }
+
+    /**
+     * Answer a copy of me that names the {@code target} decided for me by a guard, leaving me unmodified, such that a
+     * routed {@link Event} may be journaled with the decision while the caller continues to own the original.
+     *
+     * @param target the name of the target state
+     * @return Event
+     */
+    Event routedTo(String target) {
+        try {
+            final Event routed = (Event) clone();
+            routed.setTargetName(target);
+            return routed;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("The event " + getClass().getName() + " cannot be routed: "
+                    + e.getMessage(), e);
+        }
     }
 
     public String getEventType() {
-        return getSourceName() + "::" + getTargetName();
+        if (eventType == null) {
+            eventType = getSourceName() + "::" + getTargetName();
+        }
+        return eventType;
+    }
+
+    /**
+     * Answer the id of the transition that I resolve to in the {@code table}, which is cached for as long as my
+     * source and target names remain unchanged.
+     *
+     * @param table the {@link TransitionTable} in which to resolve my transition
+     * @return int
+     */
+    int transitionIdIn(TransitionTable table) {
+        final Resolution resolved = resolution;
+        if (resolved != null && resolved.table == table) {
+            return resolved.transitionId;
+        }
+        final int id = table.idOf(getSourceName(), getTargetName());
+        if (id != TransitionTable.Unknown) {
+            resolution = new Resolution(table, id);
+        }
+        return id;
+    }
+
+    private void unresolve() {
+        eventType = null;
+        resolution = null;
+    }
+
+    /**
+     * The transition id resolved in a single {@link TransitionTable}, published as one immutable reference so that
+     * an {@link Event} read by several kernels never pairs the id of one table with another.
+     */
+    private static final class Resolution {
+        final TransitionTable table;
+        final int transitionId;
+
+        Resolution(TransitionTable table, int transitionId) {
+            this.table = table;
+            this.transitionId = transitionId;
+        }
     }
 }
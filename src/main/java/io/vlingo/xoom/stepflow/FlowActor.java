@@ -8,10 +8,15 @@
 package io.vlingo.xoom.stepflow;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import io.vlingo.actors.Actor;
+import io.vlingo.actors.CompletesEventually;
+import io.vlingo.actors.Definition;
 import io.vlingo.actors.Message;
+import io.vlingo.common.Cancellable;
 import io.vlingo.common.Completes;
 import io.vlingo.common.Scheduled;
 
@@ -19,16 +24,25 @@ import io.vlingo.common.Scheduled;
  * The {@link FlowActor} is the default {@link Actor} implementation for a {@link StepFlow}.
  */
 @SuppressWarnings("rawtypes")
-public abstract class FlowActor extends Actor implements StepFlow, Scheduled<Message> {
+public abstract class FlowActor extends Actor implements StepFlow, FlowAdvancement, Scheduled<Message> {
 
+    private static final int TimingWheelSize = 512;
+
+    private final FlowAdvancement advancement;
+    private final KernelMetrics metrics;
     private final List<State> states;
     private Kernel kernel;
+    private Cancellable timeoutTicker;
+    private FlowTimeouts timeouts;
+    private MeteredTransitionTable transitionTable;
 
     public FlowActor() {
-        states = new ArrayList<>();
+        this(new ArrayList<>());
     }
 
     protected FlowActor(List<State> states) {
+        this.advancement = selfAs(FlowAdvancement.class);
+        this.metrics = new KernelMetrics();
         this.states = states;
     }
 
@@ -38,14 +52,27 @@ public abstract class FlowActor extends Actor implements StepFlow, Scheduled<Mes
         return completes().with(true);
     }
 
+    @Override
+    protected void afterStop() {
+        if (timeoutTicker != null) {
+            timeoutTicker.cancel();
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public Completes<Boolean> startUp() {
         logger().info("Starting " + this.definition().actorName() + "...");
-        //stage().scheduler().schedule(selfAs(Scheduled.class), null, 0L, 10);
-        this.kernel = stage().actorFor(Kernel.class, KernelActor.class);
+        // a child, so that my kernel is stopped along with me, which records into the same metrics as I do
+        this.kernel = childActorFor(Kernel.class,
+                Definition.has(KernelActor.class, Definition.parameters(metrics)));
         this.kernel.setName(this.definition().actorName() + "/Kernel");
         this.kernel.registerStates(states.toArray(new State[]{}));
+        if (isKernelColocated()) {
+            this.transitionTable = new MeteredTransitionTable(metrics);
+            states.forEach(state -> Stream.of(state.getTransitionHandlers()).forEach(transitionTable::register));
+        }
+        startTimeouts();
         return completes().with(true);
     }
 
@@ -60,8 +87,68 @@ public abstract class FlowActor extends Actor implements StepFlow, Scheduled<Mes
 
     @Override
     public Completes<StateTransition> applyEvent(Event event) {
-        return Completes.withSuccess((StateTransition) completes()
-                .with(this.kernel.applyEvent(event).await()).outcome());
+        if (transitionTable != null) {
+            return completes().with(transitionOf(event));
+        }
+
+        final CompletesEventually completes = completesEventually();
+        this.kernel.applyEvent(event).andThenConsume(completes::with);
+        return completes();
+    }
+
+    @Override
+    public Completes<StateTransition> applyEvent(String instanceId, Event event) {
+        if (transitionTable != null) {
+            final StateTransition transition = transitionOf(event);
+            advanced(instanceId, transition, null);
+            return completes().with(transition);
+        }
+
+        if (timeouts == null) {
+            return applyEvent(event);
+        }
+
+        final CompletesEventually completes = completesEventually();
+        this.kernel.applyEvent(event).andThenConsume(transition -> {
+            // the reply arrives on the kernel's thread, so the timer is rearmed by a message to me
+            advancement.advanced(instanceId, transition, null);
+            completes.with(transition);
+        });
+        return completes();
+    }
+
+    @Override
+    public <A> Completes<A> applyEventTo(Event event, A aggregate) {
+        if (transitionTable == null) {
+            final CompletesEventually completes = completesEventually();
+            this.kernel.applyEventTo(event, aggregate).andThenConsume(completes::with);
+            return completes();
+        }
+
+        final int id = idFor(event);
+        if (id < 0) {
+            return completes().with(null);
+        }
+        try {
+            return completes().with(transitionTable.apply(id, aggregate));
+        } catch (RuntimeException e) {
+            logger().error("The transition of the event with type [" + event.getEventType() + "] failed to apply " +
+                    "because: " + e.getMessage(), e);
+            return completes().with(null);
+        }
+    }
+
+    @Override
+    public Completes<AppliedEvents> applyEvents(List<Event> events) {
+        if (transitionTable != null) {
+            final AppliedEvents applied = new AppliedEvents(events.size());
+            events.forEach(event -> applied.applied(event, transitionOf(event)));
+            return completes().with(applied);
+        }
+
+        final CompletesEventually completes = completesEventually();
+        this.kernel.applyEvents(events).andThenConsume(completes::with);
+        return completes();
     }
 
     @Override
@@ -69,7 +156,103 @@ public abstract class FlowActor extends Actor implements StepFlow, Scheduled<Mes
         return completes().with("Default Processor");
     }
 
+    /**
+     * Answer whether or not my transitions are resolved within this actor rather than by a round trip to my
+     * {@link Kernel}, which nonetheless remains registered with all of my states. Must override to co-locate.
+     *
+     * @return boolean
+     */
+    protected boolean isKernelColocated() {
+        return false;
+    }
+
+    /**
+     * Answer the {@link StateTimeout}s of my states, of which there may be at most one per source state. Must override
+     * to time out flow instances that are applied with {@link #applyEvent(String, Event)}.
+     *
+     * @return the list of state timeouts
+     */
+    protected List<StateTimeout> timeouts() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Answer the resolution in milliseconds at which timeouts fire, which is also the interval of my scheduled tick.
+     *
+     * @return long
+     */
+    protected long timeoutResolutionMillis() {
+        return 100;
+    }
+
+    /**
+     * Receive the {@code transition} of the flow instance with {@code instanceId} by a {@link TimedOut} event. Must
+     * override to act upon timeouts, such as to apply the transition to the aggregate of the instance.
+     *
+     * @param instanceId the id of the flow instance
+     * @param timedOut   the {@link TimedOut} event that was applied
+     * @param transition the {@link StateTransition} resolved for the event
+     */
+    protected void timedOut(String instanceId, TimedOut timedOut, StateTransition transition) {
+    }
+
     @Override
     public void intervalSignal(Scheduled scheduled, Message data) {
+        timeouts.tick(System.currentTimeMillis(), this::fire);
+    }
+
+    /**
+     * Cancel the timer of the advanced instance, if any, and arm the timeout of the state it advanced to, if any,
+     * then act upon the {@code timedOut}, if any, unless the instance has advanced since its timer fired.
+     *
+     * @param instanceId the id of the flow instance
+     * @param transition the {@link StateTransition} resolved for the event, or {@code null} if none
+     * @param timedOut   the {@link TimedOut} that resolved to the {@code transition}, or {@code null} for any other
+     */
+    @Override
+    public void advanced(String instanceId, StateTransition transition, TimedOut timedOut) {
+        if (timeouts == null) {
+            return;
+        }
+        if (timeouts.advance(instanceId, transition, timedOut, System.currentTimeMillis())) {
+            timedOut(instanceId, timedOut, transition);
+        } else if (timedOut != null && transition != null) {
+            logger().debug("The " + timedOut + " is discarded because the flow instance has advanced.");
+        }
+    }
+
+    private void startTimeouts() {
+        final List<StateTimeout> declared = timeouts();
+        if (declared.isEmpty()) {
+            return;
+        }
+
+        final long resolution = timeoutResolutionMillis();
+        this.timeouts = new FlowTimeouts(declared, TimingWheelSize, resolution, System.currentTimeMillis());
+        this.timeoutTicker = stage().scheduler().schedule(selfAs(Scheduled.class), null, resolution, resolution);
+    }
+
+    private void fire(TimedOut event) {
+        if (transitionTable != null) {
+            advanced(event.getInstanceId(), transitionOf(event), event);
+            return;
+        }
+
+        this.kernel.applyEvent(event).andThenConsume(transition ->
+                advancement.advanced(event.getInstanceId(), transition, event));
+    }
+
+    private StateTransition transitionOf(Event event) {
+        final int id = idFor(event);
+        return id < 0 ? null : transitionTable.transitionAt(id);
+    }
+
+    private int idFor(Event event) {
+        final int id = transitionTable.idFor(event);
+        if (id < 0) {
+            logger().debug("The event with type [" + event.getEventType() + "] does not match a" +
+                    " valid transition handler in the processor.");
+        }
+        return id;
     }
 }
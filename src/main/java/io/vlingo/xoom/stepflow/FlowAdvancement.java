@@ -0,0 +1,19 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+/**
+ * The {@link StateTransition} resolved by a {@link Kernel} for an {@link Event} of a flow instance, which a
+ * {@link FlowActor} sends to itself so that the timer of the instance is rearmed on its own thread as soon as the
+ * reply of the {@link Kernel} arrives, rather than upon its next tick.
+ */
+@SuppressWarnings("rawtypes")
+public interface FlowAdvancement {
+
+    void advanced(String instanceId, StateTransition transition, TimedOut timedOut);
+}
@@ -0,0 +1,115 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A {@link FlowGraph} is an immutable, versioned snapshot of the nodes and edges of the states registered with a
+ * {@link Kernel}. It is computed once each time states are registered, rather than upon each request for it.
+ */
+@SuppressWarnings("rawtypes")
+public class FlowGraph {
+
+    private final Set<Map<String, Object>> edges;
+    private final String name;
+    private final Set<String> nodes;
+    private final int version;
+
+    static FlowGraph of(String name, int version, Collection<State<? extends State>> states) {
+        final Set<String> nodes = new HashSet<>();
+        final Map<String, Integer> portCount = new HashMap<>();
+        final Set<Map<String, Object>> edges = new HashSet<>();
+
+        states.forEach(state -> nodes.add(state.getName().split("::")[0]));
+
+        states.stream().map(state -> Stream.of(state.getTransitionHandlers()))
+                .flatMap(handler -> handler)
+                .forEach(handler -> defineEdge(portCount, edges, handler));
+
+        return new FlowGraph(name, version, nodes, edges);
+    }
+
+    private FlowGraph(String name, int version, Set<String> nodes, Set<Map<String, Object>> edges) {
+        this.name = name;
+        this.version = version;
+        this.nodes = Collections.unmodifiableSet(nodes);
+        this.edges = Collections.unmodifiableSet(edges);
+    }
+
+    public Set<Map<String, Object>> getEdges() {
+        return edges;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Set<String> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Answer my version, which is incremented each time states are registered with my {@link Kernel}.
+     *
+     * @return the version
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    private static void defineEdge(Map<String, Integer> portCount, Set<Map<String, Object>> edges,
+                                   TransitionHandler handler) {
+        Map<String, Object> edge = new HashMap<>();
+
+        // Split the handler address into parts
+        String[] address = handler.getAddress().split("::");
+
+        edge.put("source", handler.getStateTransition().getSourceName());
+        edge.put("target", handler.getStateTransition().getTargetName());
+
+        // If the state transition is logical then return TO otherwise return the sub-state transition's name
+        edge.put("label", address.length == 3 ? address[2] : "TO");
+
+        // Calculates a port based on the number of incoming connections spanning from the source node
+        Integer sourcePort = address.length != 3 ?
+                portCount.compute(handler.getStateTransition().getSourceName(),
+                        (s, integer) -> Optional.ofNullable(integer)
+                                .map(i -> i + 1)
+                                .orElse(0)) : 1;
+
+        // Calculates a port based on the number of outgoing connections spanning into the target node
+        Integer targetPort = address.length != 3 ?
+                portCount.compute("TO" + "::" + handler.getStateTransition().getTargetName(),
+                        (s, integer) -> Optional.ofNullable(integer)
+                                .map(i -> i + 1)
+                                .orElse(1)) : 0;
+
+        // Calculate and set the port on the response by summing the results of the sourcePort and targetPort
+        edge.put("port", sourcePort + targetPort);
+
+        edges.add(Collections.unmodifiableMap(edge));
+    }
+
+    @Override
+    public String toString() {
+        return "FlowGraph{" +
+                "name='" + name + '\'' +
+                ", version=" + version +
+                ", nodes=" + nodes.size() +
+                ", edges=" + edges.size() +
+                '}';
+    }
+}
@@ -0,0 +1,17 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+/**
+ * A {@link FlowGraphSubscriber} receives the current {@link FlowGraph} of a {@link Kernel} upon subscribing, and each
+ * new version of it thereafter.
+ */
+@FunctionalInterface
+public interface FlowGraphSubscriber {
+    void graphOf(FlowGraph graph);
+}
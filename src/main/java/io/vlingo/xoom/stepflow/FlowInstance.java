@@ -0,0 +1,63 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+/**
+ * A {@link FlowInstance} is the durable position of a single instance of a {@link StepFlow}, which is the name of the
+ * {@link State} reached by the last applied {@link Event} and the version of the instance's event stream.
+ */
+public class FlowInstance {
+
+    private final String id;
+    private final String stateName;
+    private final int version;
+
+    public FlowInstance(String id, String stateName, int version) {
+        this.id = id;
+        this.stateName = stateName;
+        this.version = version;
+    }
+
+    static FlowInstance initial(String id) {
+        return new FlowInstance(id, null, 0);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Answer the name of my current {@link State}, which is {@code null} until an {@link Event} has been applied.
+     *
+     * @return the current state name
+     */
+    public String getStateName() {
+        return stateName;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public boolean isInitial() {
+        return version == 0;
+    }
+
+    FlowInstance transitionedTo(String stateName) {
+        return new FlowInstance(id, stateName, version + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "FlowInstance{" +
+                "id='" + id + '\'' +
+                ", stateName='" + stateName + '\'' +
+                ", version=" + version +
+                '}';
+    }
+}
@@ -0,0 +1,26 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import java.util.function.Consumer;
+
+import io.vlingo.actors.CompletesEventually;
+import io.vlingo.symbio.store.journal.EntityStream;
+import io.vlingo.symbio.store.journal.StreamReader;
+
+/**
+ * The outcome of reading the stream of a {@link FlowInstance}, which a {@link FlowInstanceStoreActor} sends to itself
+ * so that the rehydrated instance is cached on its own thread rather than on the thread of the {@link StreamReader}.
+ */
+public interface FlowInstanceRehydration {
+
+    void rehydrated(String instanceId, StreamReader<String> streamReader, EntityStream<String> stream,
+                    CompletesEventually completes, Consumer<FlowInstance> then);
+
+    void rehydrationFailed(String instanceId, Exception cause, CompletesEventually completes);
+}
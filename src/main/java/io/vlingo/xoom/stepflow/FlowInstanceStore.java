@@ -0,0 +1,64 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import java.util.List;
+import java.util.Properties;
+
+import io.vlingo.actors.Stage;
+import io.vlingo.common.Completes;
+import io.vlingo.symbio.store.dispatch.Dispatcher;
+import io.vlingo.symbio.store.journal.Journal;
+import io.vlingo.xoom.annotation.persistence.Persistence.StorageType;
+import io.vlingo.xoom.storage.Model;
+import io.vlingo.xoom.storage.StoreActorBuilder;
+
+/**
+ * <p>A {@link FlowInstanceStore} durably tracks the position of each instance of a {@link StepFlow} by appending every
+ * applied {@link Event} to the instance's stream in a {@link Journal}. The current {@link State} of an instance is
+ * periodically snapshotted along with an appended {@link Event}.</p>
+ *
+ * <p>Only recently used instances are held in memory. Any other instance is rehydrated on first access from its latest
+ * snapshot and the {@link Event}s that follow it.</p>
+ */
+@SuppressWarnings("rawtypes")
+public interface FlowInstanceStore {
+
+    int DefaultCacheCapacity = 10_000;
+    int DefaultSnapshotInterval = 100;
+
+    Completes<FlowInstance> instanceOf(String instanceId);
+
+    /**
+     * Apply the {@code event} to the instance with {@code instanceId}, answering the {@link FlowInstance} once the
+     * {@code event} has been appended, or {@code null} if the {@code event} does not transition from the instance's
+     * current {@link State}.
+     *
+     * @param instanceId the identity of the instance to which the event is applied
+     * @param event the {@link Event} to apply
+     * @return the eventual {@link FlowInstance}
+     */
+    Completes<FlowInstance> apply(String instanceId, Event event);
+
+    static FlowInstanceStore using(Stage stage, List<State> states, Journal<String> journal) {
+        return using(stage, states, journal, DefaultCacheCapacity, DefaultSnapshotInterval);
+    }
+
+    static FlowInstanceStore using(Stage stage, List<State> states, Journal<String> journal,
+                                   int cacheCapacity, int snapshotInterval) {
+        return stage.actorFor(FlowInstanceStore.class, FlowInstanceStoreActor.class,
+                states, journal, cacheCapacity, snapshotInterval);
+    }
+
+    static FlowInstanceStore using(Stage stage, List<State> states, List<Dispatcher> dispatchers,
+                                   Properties properties) {
+        final Journal<String> journal = StoreActorBuilder.from(stage, Model.DOMAIN, dispatchers,
+                StorageType.JOURNAL, properties, true);
+        return using(stage, states, journal);
+    }
+}
@@ -0,0 +1,280 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import io.vlingo.actors.Actor;
+import io.vlingo.actors.CompletesEventually;
+import io.vlingo.common.Completes;
+import io.vlingo.common.Outcome;
+import io.vlingo.symbio.EntryAdapterProvider;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.Source;
+import io.vlingo.symbio.StateAdapterProvider;
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.journal.EntityStream;
+import io.vlingo.symbio.store.journal.Journal;
+import io.vlingo.symbio.store.journal.Journal.AppendResultInterest;
+import io.vlingo.symbio.store.journal.StreamReader;
+
+/**
+ * The default {@link FlowInstanceStore} {@link Actor} implementation, which appends through a {@link Journal} built by
+ * the {@link io.vlingo.xoom.storage.StoreActorBuilder}.
+ *
+ * @see FlowInstanceStore
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class FlowInstanceStoreActor extends Actor
+        implements FlowInstanceStore, AppendResultInterest, FlowInstanceRehydration {
+    private final AppendResultInterest appendResultInterest;
+    private final Map<String, Integer> appendsInFlight;
+    private final EntryAdapterProvider entryAdapterProvider;
+    private final Map<String, FlowInstance> instances;
+    private final Journal<String> journal;
+    private final FlowInstanceRehydration rehydration;
+    private final int snapshotInterval;
+    private final StateAdapterProvider stateAdapterProvider;
+    private final TransitionTable transitionTable;
+    private StreamReader<String> reader;
+
+    public FlowInstanceStoreActor(List<State> states, Journal<String> journal, int cacheCapacity,
+                                  int snapshotInterval) {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("The snapshot interval must be greater than zero: " + snapshotInterval);
+        }
+        this.appendResultInterest = selfAs(AppendResultInterest.class);
+        this.appendsInFlight = new HashMap<>();
+        this.entryAdapterProvider = EntryAdapterProvider.instance(stage().world());
+        this.instances = new LinkedHashMap<String, FlowInstance>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FlowInstance> eldest) {
+                if (size() > cacheCapacity) {
+                    evictLeastRecentlyUsedAtRest(this);
+                }
+                return false;
+            }
+        };
+        this.journal = journal;
+        this.rehydration = selfAs(FlowInstanceRehydration.class);
+        this.snapshotInterval = snapshotInterval;
+        this.stateAdapterProvider = StateAdapterProvider.instance(stage().world());
+        this.transitionTable = new TransitionTable();
+
+        states.forEach(state -> Stream.of(state.getTransitionHandlers()).forEach(transitionTable::register));
+    }
+
+    @Override
+    public Completes<FlowInstance> instanceOf(String instanceId) {
+        final FlowInstance instance = instances.get(instanceId);
+        if (instance != null) {
+            return completes().with(instance);
+        }
+
+        final CompletesEventually completes = completesEventually();
+        rehydrate(instanceId, completes, rehydrated -> completes.with(rehydrated));
+        return completes();
+    }
+
+    @Override
+    public Completes<FlowInstance> apply(String instanceId, Event event) {
+        final CompletesEventually completes = completesEventually();
+        final FlowInstance instance = instances.get(instanceId);
+        if (instance != null) {
+            append(instance, event, completes);
+        } else {
+            rehydrate(instanceId, completes, rehydrated -> append(rehydrated, event, completes));
+        }
+        return completes();
+    }
+
+    @Override
+    public <S, ST> void appendResultedIn(Outcome<StorageException, Result> outcome, String streamName,
+                                         int streamVersion, Source<S> source, Optional<ST> snapshot, Object object) {
+        appendedConsidering(outcome, streamName, object);
+    }
+
+    @Override
+    public <S, ST> void appendResultedIn(Outcome<StorageException, Result> outcome, String streamName,
+                                         int streamVersion, Source<S> source, Metadata metadata,
+                                         Optional<ST> snapshot, Object object) {
+        appendedConsidering(outcome, streamName, object);
+    }
+
+    @Override
+    public <S, ST> void appendAllResultedIn(Outcome<StorageException, Result> outcome, String streamName,
+                                            int streamVersion, List<Source<S>> sources, Optional<ST> snapshot,
+                                            Object object) {
+        appendedConsidering(outcome, streamName, object);
+    }
+
+    @Override
+    public <S, ST> void appendAllResultedIn(Outcome<StorageException, Result> outcome, String streamName,
+                                            int streamVersion, List<Source<S>> sources, Metadata metadata,
+                                            Optional<ST> snapshot, Object object) {
+        appendedConsidering(outcome, streamName, object);
+    }
+
+    @Override
+    public void rehydrated(String instanceId, StreamReader<String> streamReader, EntityStream<String> stream,
+                           CompletesEventually completes, Consumer<FlowInstance> then) {
+        try {
+            this.reader = streamReader;
+            final FlowInstance instance = instanceFrom(instanceId, stream);
+            instances.put(instanceId, instance);
+            then.accept(instance);
+        } catch (Exception e) {
+            failedToRehydrate(instanceId, e, completes);
+        } finally {
+            disperseStowedMessages();
+        }
+    }
+
+    @Override
+    public void rehydrationFailed(String instanceId, Exception cause, CompletesEventually completes) {
+        failedToRehydrate(instanceId, cause, completes);
+        disperseStowedMessages();
+    }
+
+    private void append(FlowInstance instance, Event applied, CompletesEventually completes) {
+        final TransitionHandler handler = transitionTable.handlerFor(applied);
+        if (handler == null || !transitionsFrom(instance, applied)) {
+            logger().debug("The event with type [" + applied.getEventType() + "] does not transition the flow " +
+                    "instance " + instance);
+            completes.with(null);
+            return;
+        }
+
+        // journal the routed target so that rehydration replays the same decision
+        final String target = handler.getStateTransition().getTargetName();
+        final Event event = applied.isRouted() ? applied.routedTo(target) : applied;
+
+        final FlowInstance transitioned = instance.transitionedTo(target);
+        final Appending appending = new Appending(transitioned, completes);
+
+        instances.put(instance.getId(), transitioned);
+        appendsInFlight.merge(instance.getId(), 1, Integer::sum);
+
+        if (transitioned.getVersion() % snapshotInterval == 0) {
+            journal.appendWith(instance.getId(), transitioned.getVersion(), event, transitioned,
+                    appendResultInterest, appending);
+        } else {
+            journal.append(instance.getId(), transitioned.getVersion(), event, appendResultInterest, appending);
+        }
+    }
+
+    private void appendedConsidering(Outcome<StorageException, Result> outcome, String streamName, Object object) {
+        final Appending appending = (Appending) object;
+        appendsInFlight.computeIfPresent(streamName, (instanceId, count) -> count > 1 ? count - 1 : null);
+        outcome
+                .andThen(result -> {
+                    appending.completes.with(appending.instance);
+                    return result;
+                })
+                .otherwise(ex -> {
+                    logger().error("The flow instance " + streamName + " failed to append because: " +
+                            ex.getMessage(), ex);
+                    // the journal is the source of truth, so rehydrate upon next access
+                    instances.remove(streamName);
+                    appending.completes.with(null);
+                    return outcome.getOrNull();
+                });
+    }
+
+    private void failedToRehydrate(String instanceId, Exception cause, CompletesEventually completes) {
+        logger().error("The flow instance " + instanceId + " failed to rehydrate because: " +
+                cause.getMessage(), cause);
+        completes.with(null);
+    }
+
+    /**
+     * Evict the least recently used instance that has no append in flight, because rehydrating it before its
+     * appends are journaled would position it at a stale version.
+     */
+    private void evictLeastRecentlyUsedAtRest(Map<String, FlowInstance> instances) {
+        final Iterator<String> instanceIds = instances.keySet().iterator();
+        while (instanceIds.hasNext()) {
+            if (!appendsInFlight.containsKey(instanceIds.next())) {
+                instanceIds.remove();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Rehydrate the instance with {@code instanceId} from its latest snapshot and the {@link Event}s that follow it.
+     * The read completes on the journal's thread, so its outcome is sent back to me as a
+     * {@link FlowInstanceRehydration} message, and all other messages are stowed until then, so that my state is only
+     * ever accessed by me.
+     */
+    private void rehydrate(String instanceId, CompletesEventually completes, Consumer<FlowInstance> then) {
+        stowMessages(FlowInstanceRehydration.class);
+
+        readerOf()
+                .andThenTo(streamReader -> streamReader.streamFor(instanceId)
+                        .andThen(stream -> {
+                            rehydration.rehydrated(instanceId, streamReader, stream, completes, then);
+                            return stream;
+                        }))
+                .recoverFrom(ex -> {
+                    rehydration.rehydrationFailed(instanceId, ex, completes);
+                    return null;
+                });
+    }
+
+    /**
+     * Answer the {@link FlowInstance} positioned at the target of the last {@link Event} in the {@code stream}, or
+     * otherwise at the state of its snapshot, such that no {@link Event} preceding the snapshot is replayed.
+     */
+    private FlowInstance instanceFrom(String instanceId, EntityStream<String> stream) {
+        String stateName = null;
+
+        if (stream.hasSnapshot()) {
+            final FlowInstance snapshot = stateAdapterProvider.fromRaw(stream.snapshot);
+            stateName = snapshot.getStateName();
+        }
+
+        if (!stream.entries.isEmpty()) {
+            final List<Source<Event>> tail = entryAdapterProvider.asSources(stream.entries);
+            stateName = ((Event) tail.get(tail.size() - 1)).getTargetName();
+        }
+
+        return new FlowInstance(instanceId, stateName, stream.streamVersion);
+    }
+
+    private Completes<StreamReader<String>> readerOf() {
+        if (reader != null) {
+            return Completes.withSuccess(reader);
+        }
+        return journal.streamReader(getClass().getSimpleName());
+    }
+
+    private boolean transitionsFrom(FlowInstance instance, Event event) {
+        return instance.isInitial() || event.getSourceName().equals(instance.getStateName());
+    }
+
+    private static class Appending {
+        final CompletesEventually completes;
+        final FlowInstance instance;
+
+        Appending(FlowInstance instance, CompletesEventually completes) {
+            this.instance = instance;
+            this.completes = completes;
+        }
+    }
+}
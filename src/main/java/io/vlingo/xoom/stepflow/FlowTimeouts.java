@@ -0,0 +1,99 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The {@link FlowTimeouts} of a {@link FlowActor} arm a timer in a {@link TimingWheel} for each flow instance that
+ * advances to a state with a {@link StateTimeout}, and track the {@link TimedOut} event of each timer that has fired,
+ * until the transition it resolves to is known. It is not thread-safe, and is only ever used by the actor that owns it.
+ */
+@SuppressWarnings("rawtypes")
+final class FlowTimeouts {
+
+    private final Map<String, TimedOut> firing;
+    private final Map<String, StateTimeout> timeouts;
+    private final Map<String, TimingWheel.Timer<TimedOut>> timers;
+    private final TimingWheel<TimedOut> timingWheel;
+
+    FlowTimeouts(List<StateTimeout> declared, int wheelSize, long resolutionMillis, long nowMillis) {
+        this.firing = new HashMap<>();
+        this.timeouts = new HashMap<>(declared.size());
+        this.timers = new HashMap<>();
+        this.timingWheel = new TimingWheel<>(wheelSize, resolutionMillis, nowMillis);
+
+        declared.forEach(timeout -> {
+            if (timeouts.put(timeout.getSourceName(), timeout) != null) {
+                throw new IllegalStateException("The state " + timeout.getSourceName() + " already has a timeout.");
+            }
+        });
+    }
+
+    /**
+     * Cancel the timer of the instance with {@code instanceId}, if any, and arm the timeout of the state that the
+     * {@code transition} advanced it to, if any, answering whether or not the {@code timedOut} that resolved to the
+     * {@code transition}, if any, is to be acted upon. A {@link TimedOut} is discarded if the instance has advanced
+     * since its timer fired, which is when it is no longer the one firing for the instance.
+     *
+     * @param instanceId the id of the flow instance
+     * @param transition the {@link StateTransition} resolved for the event, or {@code null} if none
+     * @param timedOut   the {@link TimedOut} that resolved to the {@code transition}, or {@code null} for any other
+     * @param nowMillis  the current time in milliseconds
+     * @return boolean
+     */
+    boolean advance(String instanceId, StateTransition transition, TimedOut timedOut, long nowMillis) {
+        if (timedOut != null) {
+            if (firing.get(instanceId) != timedOut) {
+                return false;
+            }
+            firing.remove(instanceId);
+        } else if (transition != null) {
+            firing.remove(instanceId);
+        }
+
+        if (transition == null) {
+            return false;
+        }
+
+        final TimingWheel.Timer<TimedOut> timer = timers.remove(instanceId);
+        if (timer != null) {
+            timer.cancel();
+        }
+
+        final StateTimeout timeout = timeouts.get(transition.getTargetName());
+        if (timeout != null) {
+            timers.put(instanceId, timingWheel.schedule(nowMillis, timeout.getAfterMillis(),
+                    timeout.eventFor(instanceId)));
+        }
+
+        return timedOut != null;
+    }
+
+    /**
+     * Answer the {@link TimedOut} of each timer expired by {@code nowMillis} to {@code fire}, each of which is then
+     * firing for its instance.
+     *
+     * @param nowMillis the current time in milliseconds
+     * @param fire      the {@link Consumer} of each {@link TimedOut}
+     */
+    void tick(long nowMillis, Consumer<TimedOut> fire) {
+        timingWheel.advance(nowMillis, event -> {
+            timers.remove(event.getInstanceId());
+            firing.put(event.getInstanceId(), event);
+            fire.accept(event);
+        });
+    }
+
+    boolean isArmed(String instanceId) {
+        return timers.containsKey(instanceId);
+    }
+}
@@ -52,5 +52,27 @@ public interface Kernel {
 
     Completes<Map<String, TransitionHandler>> getTransitionMap();
 
+    Completes<FlowGraph> getGraph();
+
+    void subscribeToGraph(FlowGraphSubscriber subscriber);
+
+    void unsubscribeFromGraph(FlowGraphSubscriber subscriber);
+
+    Completes<KernelMetrics> getMetrics();
+
     <T extends Event> Completes<StateTransition> applyEvent(T event);
+
+    /**
+     * Apply the {@code event}, and then the {@link StateTransition} that it resolves to upon the {@code aggregate},
+     * within a single turn, recording the latencies of the transition in my {@link KernelMetrics}.
+     *
+     * @param event the {@link Event} to apply
+     * @param aggregate the aggregate to which the resolved transition is applied
+     * @param <A> the aggregate type
+     * @return the aggregate answered by the transition, or {@code null} if the event does not match a transition or
+     * the transition fails
+     */
+    <A> Completes<A> applyEventTo(Event event, A aggregate);
+
+    Completes<AppliedEvents> applyEvents(List<Event> events);
 }
@@ -29,11 +29,29 @@ import io.vlingo.common.Completes;
 public class KernelActor extends Actor implements Kernel {
     private final Map<String, TransitionHandler> transitionHandlerMap;
     private final Map<String, State<? extends State>> stateMap;
+    private final MeteredTransitionTable transitionTable;
+    private final List<FlowGraphSubscriber> graphSubscribers;
+    private final KernelMetrics metrics;
+    private FlowGraph graph;
     private String kernelName = "DefaultProcessorKernel";
 
     public KernelActor() {
+        this(new KernelMetrics());
+    }
+
+    /**
+     * Construct my state with the {@code metrics} into which I record, which are shared with a {@link FlowActor}
+     * that resolves its transitions without a round trip to me.
+     *
+     * @param metrics the {@link KernelMetrics} into which I record
+     */
+    public KernelActor(KernelMetrics metrics) {
         transitionHandlerMap = new HashMap<>();
         stateMap = new HashMap<>();
+        transitionTable = new MeteredTransitionTable(metrics);
+        graphSubscribers = new ArrayList<>();
+        this.metrics = metrics;
+        graph = FlowGraph.of(kernelName, 0, Collections.emptyList());
     }
 
     @Override
@@ -49,6 +67,10 @@ public class KernelActor extends Actor implements Kernel {
     @Override
     public void registerStates(State<? extends State>... states) {
         Stream.of(states).forEach(s -> {
+            if (s.getName() == null) {
+                throw new IllegalStateException("A state must answer a name from getName() for " +
+                        s.getClass().getSimpleName());
+            }
             if (stateMap.containsKey(s.getName())) {
                 throw new IllegalStateException("The state with the name " + s.getName() + " has " +
                         "already been registered");
@@ -64,9 +86,12 @@ public class KernelActor extends Actor implements Kernel {
                     }
                     return result;
                 });
+                transitionTable.register(transitionHandler);
             });
             stateMap.put(s.getName(), s);
         });
+        graph = FlowGraph.of(kernelName, graph.getVersion() + 1, stateMap.values());
+        graphSubscribers.forEach(subscriber -> subscriber.graphOf(graph));
     }
 
     @Override
@@ -83,20 +108,71 @@ public class KernelActor extends Actor implements Kernel {
 
     @Override
     public <T extends Event> Completes<StateTransition> applyEvent(T event) {
-        TransitionHandler handler = transitionHandlerMap.get(event.getEventType());
+        return completes().with(transitionOf(event));
+    }
+
+    @Override
+    public <A> Completes<A> applyEventTo(Event event, A aggregate) {
+        final int id = idFor(event);
+        if (id < 0) {
+            return completes().with(null);
+        }
         try {
-            if (handler == null)
-                throw new RuntimeException("The event with type [" + event.getEventType() + "] does not match a" +
-                        " valid transition handler in the processor kernel.");
-            return completes().with(handler.getStateTransition());
-        } catch (Exception ex) {
-            logger().debug(ex.getMessage(), ex);
+            return completes().with(transitionTable.apply(id, aggregate));
+        } catch (RuntimeException e) {
+            logger().error("The transition of the event with type [" + event.getEventType() + "] failed to apply " +
+                    "because: " + e.getMessage(), e);
             return completes().with(null);
         }
     }
 
+    @Override
+    public Completes<AppliedEvents> applyEvents(List<Event> events) {
+        final AppliedEvents applied = new AppliedEvents(events.size());
+        events.forEach(event -> applied.applied(event, transitionOf(event)));
+        return completes().with(applied);
+    }
+
     @Override
     public Completes<Map<String, TransitionHandler>> getTransitionMap() {
         return completes().with(transitionHandlerMap);
     }
+
+    @Override
+    public Completes<FlowGraph> getGraph() {
+        return completes().with(graph);
+    }
+
+    @Override
+    public void subscribeToGraph(FlowGraphSubscriber subscriber) {
+        graphSubscribers.add(subscriber);
+        subscriber.graphOf(graph);
+    }
+
+    @Override
+    public void unsubscribeFromGraph(FlowGraphSubscriber subscriber) {
+        graphSubscribers.removeIf(subscribed -> subscribed == subscriber);
+    }
+
+    @Override
+    public Completes<KernelMetrics> getMetrics() {
+        return completes().with(metrics);
+    }
+
+    private StateTransition transitionOf(Event event) {
+        final int id = idFor(event);
+        return id < 0 ? null : transitionTable.transitionAt(id);
+    }
+
+    private int idFor(Event event) {
+        final int id = transitionTable.idFor(event);
+        if (id == TransitionTable.Unknown) {
+            logger().debug("The event with type [" + event.getEventType() + "] does not match a valid transition " +
+                    "handler in the processor kernel.");
+        } else if (id == TransitionTable.Rejected) {
+            logger().debug("The event with type [" + event.getEventType() + "] was rejected by the guard of its " +
+                    "transition in the processor kernel.");
+        }
+        return id;
+    }
 }
@@ -0,0 +1,74 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link KernelMetrics} of a {@link Kernel} are a live view of the {@link TransitionMetrics} of each of its
+ * transition addresses, which may be read from any thread without messaging the {@link Kernel}.
+ */
+public class KernelMetrics {
+
+    private final LongAdder rejected;
+    private final Map<String, TransitionMetrics> transitions;
+    private final LongAdder unknown;
+
+    KernelMetrics() {
+        this.rejected = new LongAdder();
+        this.transitions = new ConcurrentHashMap<>();
+        this.unknown = new LongAdder();
+    }
+
+    /**
+     * Answer the {@link TransitionMetrics} by transition address.
+     *
+     * @return the unmodifiable map of transition metrics
+     */
+    public Map<String, TransitionMetrics> getTransitions() {
+        return Collections.unmodifiableMap(transitions);
+    }
+
+    public TransitionMetrics getTransition(String address) {
+        return transitions.get(address);
+    }
+
+    /**
+     * Answer the number of events applied with a type that does not match a transition.
+     *
+     * @return the count of unknown events
+     */
+    public long getUnknown() {
+        return unknown.sum();
+    }
+
+    /**
+     * Answer the number of routed events that the guards of every transition from their source state rejected.
+     * The rejections of an event addressed to a single transition are counted by its {@link TransitionMetrics}.
+     *
+     * @return the count of rejected routed events
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    TransitionMetrics register(String address) {
+        return transitions.computeIfAbsent(address, TransitionMetrics::new);
+    }
+
+    void rejected() {
+        rejected.increment();
+    }
+
+    void unknown() {
+        unknown.increment();
+    }
+}
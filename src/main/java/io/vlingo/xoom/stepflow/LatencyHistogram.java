@@ -0,0 +1,108 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link LatencyHistogram} records nanosecond latencies into logarithmic buckets, each of which is divided into
+ * linear sub-buckets, in the manner of an HDR histogram. Values are answered within 12.5% of the recorded value, and
+ * recording is lock-free, so that it may be done by any number of threads at once.
+ */
+public class LatencyHistogram {
+    private static final int SubBucketBits = 3;
+    private static final int SubBuckets = 1 << SubBucketBits;
+
+    private final AtomicLongArray counts;
+    private final LongAdder count;
+    private final AtomicLong max;
+    private final LongAdder total;
+
+    LatencyHistogram() {
+        this.counts = new AtomicLongArray((Long.SIZE - SubBucketBits + 1) * SubBuckets);
+        this.count = new LongAdder();
+        this.max = new AtomicLong();
+        this.total = new LongAdder();
+    }
+
+    void record(long nanos) {
+        final long value = Math.max(nanos, 0);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        total.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public long getMean() {
+        final long count = getCount();
+        return count == 0 ? 0 : total.sum() / count;
+    }
+
+    /**
+     * Answer the highest recorded latency, within the precision of its bucket, below which {@code percentile}
+     * percent of all recorded latencies fall.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the latency in nanoseconds
+     */
+    public long getValueAtPercentile(double percentile) {
+        final long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+        long seen = 0;
+        for (int index = 0; index < counts.length(); index++) {
+            seen += counts.get(index);
+            if (seen >= rank) {
+                return Math.min(highestOf(index), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    static int indexOf(long value) {
+        if (value < SubBuckets) {
+            return (int) value;
+        }
+        final int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SubBucketBits;
+        final int subBucket = (int) (value >>> shift) & (SubBuckets - 1);
+        return (shift + 1) * SubBuckets + subBucket;
+    }
+
+    static long highestOf(int index) {
+        if (index < SubBuckets) {
+            return index;
+        }
+        final int shift = index / SubBuckets - 1;
+        final long subBucket = index % SubBuckets + SubBuckets;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" +
+                "count=" + getCount() +
+                ", mean=" + getMean() +
+                ", max=" + getMax() +
+                '}';
+    }
+}
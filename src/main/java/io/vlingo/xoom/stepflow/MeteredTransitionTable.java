@@ -0,0 +1,98 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import java.util.Arrays;
+
+/**
+ * A {@link MeteredTransitionTable} resolves {@link Event}s through a {@link TransitionTable}, counting each into the
+ * {@link KernelMetrics} of one {@link Kernel}, and applies the resolved {@link StateTransition} to an aggregate while
+ * recording its latencies. The registered {@link StateTransition}s are neither wrapped nor modified, so they may be
+ * shared by the states of several kernels.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+final class MeteredTransitionTable {
+
+    private final KernelMetrics metrics;
+    private final TransitionTable table;
+    private TransitionMetrics[] transitionMetrics;
+
+    MeteredTransitionTable(KernelMetrics metrics) {
+        this.metrics = metrics;
+        this.table = new TransitionTable();
+        this.transitionMetrics = new TransitionMetrics[0];
+    }
+
+    /**
+     * Register the {@code handler}, answering its transition id, by which its {@link TransitionMetrics} are indexed.
+     *
+     * @param handler the {@link TransitionHandler} to register
+     * @return int
+     */
+    int register(TransitionHandler handler) {
+        final int id = table.register(handler);
+        if (id >= transitionMetrics.length) {
+            transitionMetrics = Arrays.copyOf(transitionMetrics, id + 1);
+        }
+        transitionMetrics[id] = metrics.register(handler.getAddress());
+        return id;
+    }
+
+    /**
+     * Answer the id of the transition that the {@code event} resolves to, which is counted as applied, or otherwise
+     * {@link TransitionTable#Unknown} or {@link TransitionTable#Rejected}, which are counted as such.
+     *
+     * @param event the {@link Event} to resolve
+     * @return int
+     */
+    int idFor(Event event) {
+        final int id = table.idFor(event);
+        if (id == TransitionTable.Unknown) {
+            metrics.unknown();
+        } else if (id == TransitionTable.Rejected) {
+            if (event.isRouted()) {
+                metrics.rejected();
+            } else {
+                transitionMetrics[event.transitionIdIn(table)].rejected();
+            }
+        } else {
+            transitionMetrics[id].applied();
+        }
+        return id;
+    }
+
+    StateTransition transitionAt(int id) {
+        return table.handlerAt(id).getStateTransition();
+    }
+
+    /**
+     * Apply the {@link StateTransition} with {@code id} to the {@code aggregate}, recording the latencies of its
+     * aggregate consumer and its action, or otherwise counting it as rejected if it fails.
+     *
+     * @param id the transition id
+     * @param aggregate the aggregate to which the transition is applied
+     * @param <A> the aggregate type
+     * @return the aggregate answered by the transition
+     */
+    <A> A apply(int id, A aggregate) {
+        final StateTransition<?, ?, A> transition = transitionAt(id);
+        final TransitionMetrics metered = transitionMetrics[id];
+        try {
+            final long start = System.nanoTime();
+            final A consumed = transition.consume(aggregate);
+            final long acted = System.nanoTime();
+            metered.getAggregateConsumerLatency().record(acted - start);
+            transition.act();
+            metered.getActionLatency().record(System.nanoTime() - acted);
+            return consumed;
+        } catch (RuntimeException e) {
+            metered.rejected();
+            throw e;
+        }
+    }
+}
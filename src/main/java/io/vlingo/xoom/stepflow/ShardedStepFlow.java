@@ -0,0 +1,104 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.vlingo.actors.Actor;
+import io.vlingo.actors.Definition;
+import io.vlingo.actors.Stage;
+import io.vlingo.common.Completes;
+
+/**
+ * A {@link ShardedStepFlow} partitions flow instances by id across a number of {@link StepFlow} shards, each of which
+ * has its own {@link Kernel} and mailbox, such that the instances of one flow are applied in parallel. All events of
+ * an instance are applied by the same shard, so that they remain ordered. The shards are actors of the given
+ * {@link Stage}, and so are all started within the same node.
+ */
+@SuppressWarnings("rawtypes")
+public class ShardedStepFlow {
+
+    private final String name;
+    private final StepFlow[] shards;
+
+    private ShardedStepFlow(String name, StepFlow[] shards) {
+        this.name = name;
+        this.shards = shards;
+    }
+
+    public static <A extends Actor> ShardedStepFlow startWith(Stage stage, Class<A> clazz, String actorName,
+                                                              int shardCount) {
+        return startWith(stage, clazz, actorName, shardCount, Definition.NoParameters);
+    }
+
+    public static <A extends Actor> ShardedStepFlow startWith(Stage stage, Class<A> clazz, String actorName,
+                                                              int shardCount, List<Object> params) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("The number of shards must be greater than zero.");
+        }
+
+        final StepFlow[] shards = new StepFlow[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            final String shardName = actorName + "/" + shard;
+            shards[shard] = stage.actorFor(StepFlow.class, Definition.has(
+                    clazz,
+                    params,
+                    "queueMailbox", shardName),
+                    stage.addressFactory().withHighId(shardName),
+                    stage.world().defaultLogger());
+            shards[shard].startUp();
+        }
+        return new ShardedStepFlow(actorName, shards);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<StepFlow> getShards() {
+        return Collections.unmodifiableList(Arrays.asList(shards));
+    }
+
+    /**
+     * Answer the {@link StepFlow} shard of the flow instance with {@code instanceId}.
+     *
+     * @param instanceId the id of the flow instance
+     * @return StepFlow
+     */
+    public StepFlow shardOf(String instanceId) {
+        final int hash = instanceId.hashCode();
+        return shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)];
+    }
+
+    public Completes<StateTransition> applyEvent(String instanceId, Event event) {
+        return shardOf(instanceId).applyEvent(instanceId, event);
+    }
+
+    /**
+     * Apply the {@code events} of the flow instance with {@code instanceId} as a single batch in one turn of the
+     * instance's shard, rather than by one message per event.
+     *
+     * @param instanceId the id of the flow instance
+     * @param events     the {@link Event}s to apply, in order
+     * @return the {@link AppliedEvents}
+     */
+    public Completes<AppliedEvents> applyEvents(String instanceId, List<Event> events) {
+        return shardOf(instanceId).applyEvents(events);
+    }
+
+    /**
+     * Stop each shard, along with the {@link Kernel} that is its child.
+     */
+    public void stop() {
+        for (final StepFlow shard : shards) {
+            shard.stop();
+        }
+    }
+}
@@ -7,14 +7,16 @@
 
 package io.vlingo.xoom.stepflow;
 
+import java.lang.reflect.Constructor;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -24,34 +26,67 @@ import java.util.stream.Stream;
 @SuppressWarnings("rawtypes")
 public abstract class State<T extends State> {
 
-    private Long createdAt;
-    private UUID version;
-    private String name;
+    private static final ClassValue<State> definitions = new ClassValue<State>() {
+        @Override
+        protected State computeValue(Class<?> type) {
+            try {
+                final Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return (State) constructor.newInstance();
+            } catch (Exception e) {
+                throw new IllegalArgumentException("The state " + type.getName() + " cannot be defined: "
+                        + e.getMessage(), e);
+            }
+        }
+    };
+
+    private static final AtomicReferenceFieldUpdater<State, UUID> versionUpdater =
+            AtomicReferenceFieldUpdater.newUpdater(State.class, UUID.class, "version");
+
+    private final long createdAt;
+    private volatile UUID version;
 
-    @SuppressWarnings("unchecked")
     public State() {
-        setName(((T) (this)).getName());
-        if (name == null) throw new RuntimeException("A state must override getName() for "
-                + this.getClass().getSimpleName());
-        this.createdAt = new Date().getTime();
-        this.version = UUID.randomUUID();
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Answer the single shared definition of the {@link State} of {@code type}, which is created upon first request.
+     *
+     * @param type the {@link State} type, which must have a no-argument constructor
+     * @param <S> the {@link State} type
+     * @return the shared definition
+     */
+    @SuppressWarnings("unchecked")
+    public static <S extends State> S definitionOf(Class<S> type) {
+        return (S) definitions.get(type);
     }
 
-    public Long getCreatedAt() {
+    public long getCreatedAt() {
         return this.createdAt;
     }
 
+    /**
+     * Answer my version, which is drawn upon first request and then remains the same for my lifetime, such that a
+     * {@link State} whose version is never read never pays for one.
+     *
+     * @return UUID
+     */
     public UUID getVersion() {
+        final UUID current = version;
+        if (current != null) {
+            return current;
+        }
+        versionUpdater.compareAndSet(this, null, randomVersion());
         return version;
     }
 
-    private void setName(String name) {
-        this.name = name;
-    }
-
-    public String getName() {
-        return this.name;
-    }
+    /**
+     * Answer my name, which must not be {@code null} and must be unique among the states of a {@link Kernel}.
+     *
+     * @return String
+     */
+    public abstract String getName();
 
     public abstract TransitionHandler[] getTransitionHandlers();
 
@@ -78,12 +113,23 @@ public abstract class State<T extends State> {
                 .collect(Collectors.joining("\n"));
     }
 
+    /**
+     * Answer a random, version 4 {@link UUID} drawn from a {@link ThreadLocalRandom} rather than the
+     * {@code SecureRandom} of {@link UUID#randomUUID()}, since a version need only be unique rather than unguessable.
+     */
+    private static UUID randomVersion() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long mostSignificantBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final long leastSignificantBits = (random.nextLong() & ~(0x3L << 62)) | (0x2L << 62);
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
     @Override
     public String toString() {
         return "State{" +
                 "createdAt=" + createdAt +
-                ", version=" + version +
-                ", name='" + name + '\'' +
+                ", version=" + getVersion() +
+                ", name='" + getName() + '\'' +
                 '}';
     }
 }
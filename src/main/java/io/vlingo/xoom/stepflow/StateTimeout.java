@@ -0,0 +1,65 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import java.time.Duration;
+
+/**
+ * A {@link StateTimeout} declares that a flow instance that remains in its source state for longer than its duration
+ * is transitioned to its target state by a {@link TimedOut} event. A transition from the source to the target state
+ * must be registered for the {@link TimedOut} event to be applied.
+ */
+@SuppressWarnings("rawtypes")
+public class StateTimeout {
+
+    private final long afterMillis;
+    private final String sourceName;
+    private final String targetName;
+
+    private StateTimeout(String sourceName, String targetName, Duration after) {
+        if (after.isNegative() || after.isZero()) {
+            throw new IllegalArgumentException("The timeout of state " + sourceName + " must be greater than zero.");
+        }
+        this.afterMillis = after.toMillis();
+        this.sourceName = sourceName;
+        this.targetName = targetName;
+    }
+
+    public static StateTimeout of(State source, Duration after, State target) {
+        return new StateTimeout(source.getName(), target.getName(), after);
+    }
+
+    public static StateTimeout of(String sourceName, Duration after, String targetName) {
+        return new StateTimeout(sourceName, targetName, after);
+    }
+
+    public long getAfterMillis() {
+        return afterMillis;
+    }
+
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    public String getTargetName() {
+        return targetName;
+    }
+
+    TimedOut eventFor(String instanceId) {
+        return new TimedOut(instanceId, sourceName, targetName);
+    }
+
+    @Override
+    public String toString() {
+        return "StateTimeout{" +
+                "sourceName='" + sourceName + '\'' +
+                ", afterMillis=" + afterMillis +
+                ", targetName='" + targetName + '\'' +
+                '}';
+    }
+}
@@ -9,6 +9,7 @@ package io.vlingo.xoom.stepflow;
 
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * A {@link StateTransition} is a resource specification that defines an input state and output state, while providing
@@ -25,6 +26,7 @@ public class StateTransition<T extends State, R extends State, A> implements Tra
     private BiConsumer<T, R> action = (a, b) -> {
     };
     private Function<A, A> aggregateConsumer = (a) -> a;
+    private Predicate<Event> guard;
 
     public StateTransition(T from, R to) {
         this.from = from;
@@ -32,14 +34,29 @@ public class StateTransition<T extends State, R extends State, A> implements Tra
     }
 
     public A apply(A aggregate) {
-        if (action == null) {
-            throw new IllegalStateException("A state transition must define a success and error result");
-        }
-        A a = this.aggregateConsumer.apply(aggregate);
-        this.action.accept(this.getFrom(), this.getTo());
+        A a = consume(aggregate);
+        act();
         return a;
     }
 
+    /**
+     * Answer whether or not my guard accepts the {@code event}, which is always the case when I am unguarded.
+     *
+     * @param event the {@link Event} to test
+     * @return boolean
+     */
+    public boolean accepts(Event event) {
+        return guard == null || guard.test(event);
+    }
+
+    public boolean isGuarded() {
+        return guard != null;
+    }
+
+    public void setGuard(Predicate<Event> guard) {
+        this.guard = guard;
+    }
+
     public void setActionHandler(BiConsumer<T, R> action) {
         this.action = action;
     }
@@ -48,6 +65,24 @@ public class StateTransition<T extends State, R extends State, A> implements Tra
         this.aggregateConsumer = consumer;
     }
 
+    /**
+     * Answer the {@code aggregate} as consumed by my aggregate consumer, which is the first step of
+     * {@link #apply(Object)}, such that a {@link Kernel} may time each step of it.
+     */
+    A consume(A aggregate) {
+        if (action == null) {
+            throw new IllegalStateException("A state transition must define a success and error result");
+        }
+        return this.aggregateConsumer.apply(aggregate);
+    }
+
+    /**
+     * Perform my action, which is the second step of {@link #apply(Object)}.
+     */
+    void act() {
+        this.action.accept(this.getFrom(), this.getTo());
+    }
+
     public T getFrom() {
         return from;
     }
@@ -91,6 +91,30 @@ public interface StepFlow extends Stoppable {
 
     Completes<StateTransition> applyEvent(Event event);
 
+    /**
+     * Apply the {@code event} to the flow instance with {@code instanceId}, which rearms the {@link StateTimeout} of
+     * the instance, if any, for the state that the event transitions it to.
+     *
+     * @param instanceId the id of the flow instance
+     * @param event      the {@link Event} to apply
+     * @return the {@link StateTransition}, or {@code null} if the event does not match a transition
+     */
+    Completes<StateTransition> applyEvent(String instanceId, Event event);
+
+    /**
+     * Apply the {@code event}, and then the {@link StateTransition} that it resolves to upon the {@code aggregate},
+     * recording the latencies of the transition in the {@link KernelMetrics} of my {@link Kernel}.
+     *
+     * @param event     the {@link Event} to apply
+     * @param aggregate the aggregate to which the resolved transition is applied
+     * @param <A>       the aggregate type
+     * @return the aggregate answered by the transition, or {@code null} if the event does not match a transition or
+     * the transition fails
+     */
+    <A> Completes<A> applyEventTo(Event event, A aggregate);
+
+    Completes<AppliedEvents> applyEvents(List<Event> events);
+
     static <A extends Actor> StepFlow startWith(Stage stage, Class<A> clazz, String actorName) {
         return startWith(stage, clazz, actorName, Definition.NoParameters);
     }
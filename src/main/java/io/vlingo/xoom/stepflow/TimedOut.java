@@ -0,0 +1,35 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+/**
+ * The {@link Event} applied by a {@link FlowActor} when a flow instance remains in a state beyond its
+ * {@link StateTimeout}.
+ */
+public class TimedOut extends Event {
+
+    private final String instanceId;
+
+    public TimedOut(String instanceId, String source, String target) {
+        super(source, target);
+        this.instanceId = instanceId;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    @Override
+    public String toString() {
+        return "TimedOut{" +
+                "instanceId='" + instanceId + '\'' +
+                ", sourceName='" + getSourceName() + '\'' +
+                ", targetName='" + getTargetName() + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,149 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A {@link TimingWheel} is a hashed timing wheel, in which each timer is linked into the slot of its deadline tick,
+ * such that scheduling and cancelling are constant time regardless of the number of timers. A timer whose deadline is
+ * more than one revolution away remains in its slot until its deadline is reached. It is not thread-safe, and is only
+ * ever used by the actor that owns it.
+ *
+ * @param <T> the type of value carried by each timer
+ */
+final class TimingWheel<T> {
+
+    private final Timer<T>[] slots;
+    private final int mask;
+    private final long startMillis;
+    private final long tickMillis;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(int size, long tickMillis, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("The timing wheel tick must be greater than zero.");
+        }
+        final int bounded = Math.max(size, 1);
+        final int slotCount = Integer.highestOneBit(bounded) == bounded ? bounded : Integer.highestOneBit(bounded) << 1;
+        this.slots = new Timer[slotCount];
+        for (int index = 0; index < slotCount; index++) {
+            slots[index] = new Timer<>(null, Long.MAX_VALUE);
+            slots[index].previous = slots[index];
+            slots[index].next = slots[index];
+        }
+        this.mask = slotCount - 1;
+        this.startMillis = nowMillis;
+        this.tickMillis = tickMillis;
+    }
+
+    /**
+     * Schedule the {@code value} to expire once {@code delayMillis} has elapsed since {@code nowMillis}, rounded up to
+     * a whole tick, such that it never expires early, however far into the current tick it is scheduled.
+     *
+     * @param nowMillis   the current time in milliseconds
+     * @param delayMillis the delay in milliseconds
+     * @param value       the value answered upon expiry
+     * @return the {@link Timer}, which may be cancelled
+     */
+    Timer<T> schedule(long nowMillis, long delayMillis, T value) {
+        final long deadlineMillis = Math.max(nowMillis - startMillis, 0) + Math.max(delayMillis, 0);
+        final long deadline = Math.max(currentTick + 1, (deadlineMillis + tickMillis - 1) / tickMillis);
+        final Timer<T> timer = new Timer<>(value, deadline);
+        timer.linkBefore(slots[(int) (timer.deadline & mask)]);
+        return timer;
+    }
+
+    /**
+     * Advance to the tick of {@code nowMillis}, answering the value of each expired timer to {@code expired}. Expired
+     * timers are unlinked before any is answered, so that {@code expired} may schedule new timers.
+     *
+     * @param nowMillis the current time in milliseconds
+     * @param expired   the {@link Consumer} of each expired value
+     */
+    void advance(long nowMillis, Consumer<T> expired) {
+        final long targetTick = (nowMillis - startMillis) / tickMillis;
+        if (targetTick <= currentTick) {
+            return;
+        }
+
+        final List<T> expiries = new ArrayList<>();
+        if (targetTick - currentTick >= slots.length) {
+            // fell behind by a full revolution or more, so every slot is visited once
+            for (final Timer<T> head : slots) {
+                expire(head, targetTick, expiries);
+            }
+            currentTick = targetTick;
+        } else {
+            while (currentTick < targetTick) {
+                ++currentTick;
+                expire(slots[(int) (currentTick & mask)], currentTick, expiries);
+            }
+        }
+
+        expiries.forEach(expired);
+    }
+
+    private void expire(Timer<T> head, long tick, List<T> expiries) {
+        Timer<T> timer = head.next;
+        while (timer != head) {
+            final Timer<T> next = timer.next;
+            if (timer.deadline <= tick) {
+                timer.unlink();
+                expiries.add(timer.value);
+            }
+            timer = next;
+        }
+    }
+
+    static final class Timer<T> {
+        private final long deadline;
+        private final T value;
+        private Timer<T> next;
+        private Timer<T> previous;
+
+        private Timer(T value, long deadline) {
+            this.value = value;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel me, such that my value is never answered as expired.
+         */
+        void cancel() {
+            if (next != null) {
+                unlink();
+            }
+        }
+
+        boolean isPending() {
+            return next != null;
+        }
+
+        T value() {
+            return value;
+        }
+
+        private void linkBefore(Timer<T> head) {
+            this.previous = head.previous;
+            this.next = head;
+            head.previous.next = this;
+            head.previous = this;
+        }
+
+        private void unlink() {
+            previous.next = next;
+            next.previous = previous;
+            next = null;
+            previous = null;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 @SuppressWarnings({ "rawtypes", "unused" })
 public class TransitionBuilder<T extends State, R extends State, A> {
@@ -39,19 +40,34 @@ public class TransitionBuilder<T extends State, R extends State, A> {
     public static class TransitionBuilder2<T2 extends State, R2 extends State, A> {
         private T2 source;
         private R2 target;
+        private Predicate<Event> guard;
 
         private TransitionBuilder2(T2 source, R2 target) {
             this.source = source;
             this.target = target;
         }
 
+        /**
+         * Guard the transition by the {@code guard}, which must accept an {@link Event} for the transition to be
+         * taken. An {@link Event} that names only its source state is routed by the {@link Kernel} to the first
+         * transition from that state whose guard accepts it, with unguarded transitions taken last.
+         *
+         * @param guard the {@link Predicate} that accepts or rejects an {@link Event}
+         * @return this builder
+         */
+        public TransitionBuilder2<T2, R2, A> when(Predicate<Event> guard) {
+            this.guard = this.guard == null ? guard : this.guard.and(guard);
+            return this;
+        }
+
         public <A2> TransitionBuilder3<T2, R2, A2> on(Class<A2> aggregateType) {
-            return new TransitionBuilder3<T2, R2, A2>(source, target, aggregateType);
+            return new TransitionBuilder3<T2, R2, A2>(source, target, guard, aggregateType);
         }
 
         public StateTransition<T2, R2, A> then(BiConsumer<T2, R2> action) {
             StateTransition<T2, R2, A> transition = new StateTransition<>(source, target);
             transition.setActionHandler(action);
+            transition.setGuard(guard);
             return transition;
         }
     }
@@ -59,12 +75,14 @@ public class TransitionBuilder<T extends State, R extends State, A> {
     public static class TransitionBuilder3<T2 extends State, R2 extends State, A> {
         private T2 source;
         private R2 target;
+        private Predicate<Event> guard;
         private Class<A> aggregateType;
         private Function<A, A> action;
 
-        private TransitionBuilder3(T2 source, R2 target, Class<A> aggregateType) {
+        private TransitionBuilder3(T2 source, R2 target, Predicate<Event> guard, Class<A> aggregateType) {
             this.source = source;
             this.target = target;
+            this.guard = guard;
             this.aggregateType = aggregateType;
         }
 
@@ -78,6 +96,7 @@ public class TransitionBuilder<T extends State, R extends State, A> {
         public StateTransition<T2, R2, ?> andThenAccept(BiConsumer<T2, R2> consumer) {
             StateTransition<T2, R2, ?> transition = new StateTransition<>(source, target);
             transition.setActionHandler(consumer);
+            transition.setGuard(guard);
             return transition;
         }
     }
@@ -94,6 +113,7 @@ public class TransitionBuilder<T extends State, R extends State, A> {
                     new StateTransition<T2, R2, A>(transitionBuilder3.source, transitionBuilder3.target);
             transition.setAggregateConsumer(transitionBuilder3.action);
             transition.setActionHandler(consumer);
+            transition.setGuard(transitionBuilder3.guard);
             return transition;
         }
     }
@@ -0,0 +1,71 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link TransitionMetrics} of a single transition address of one {@link Kernel}. Applied events, and events
+ * rejected by the guard of the transition, are counted by the {@link Kernel}, as are the latencies and failures of the
+ * transitions that it applies by {@link Kernel#applyEventTo(Event, Object)}.
+ */
+public class TransitionMetrics {
+
+    private final LatencyHistogram actionLatency;
+    private final String address;
+    private final LatencyHistogram aggregateConsumerLatency;
+    private final LongAdder applied;
+    private final LongAdder rejected;
+
+    TransitionMetrics(String address) {
+        this.actionLatency = new LatencyHistogram();
+        this.address = address;
+        this.aggregateConsumerLatency = new LatencyHistogram();
+        this.applied = new LongAdder();
+        this.rejected = new LongAdder();
+    }
+
+    public LatencyHistogram getActionLatency() {
+        return actionLatency;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public LatencyHistogram getAggregateConsumerLatency() {
+        return aggregateConsumerLatency;
+    }
+
+    public long getApplied() {
+        return applied.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    void applied() {
+        applied.increment();
+    }
+
+    void rejected() {
+        rejected.increment();
+    }
+
+    @Override
+    public String toString() {
+        return "TransitionMetrics{" +
+                "address='" + address + '\'' +
+                ", applied=" + getApplied() +
+                ", rejected=" + getRejected() +
+                ", actionLatency=" + actionLatency +
+                ", aggregateConsumerLatency=" + aggregateConsumerLatency +
+                '}';
+    }
+}
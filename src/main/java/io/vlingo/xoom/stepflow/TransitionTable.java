@@ -0,0 +1,139 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link TransitionTable} indexes the {@link TransitionHandler}s registered with a {@link Kernel} by an integer
+ * transition id, which is resolved from the source and target state names of an {@link Event} without building the
+ * event type. Ids are only ever appended, so an id resolved by an {@link Event} remains valid for its table.
+ * <p>
+ * The transitions from each source state are also compiled into a decision table, in which guarded transitions
+ * precede unguarded ones in the order registered, and through which a routed {@link Event} is resolved in one pass.
+ */
+@SuppressWarnings("rawtypes")
+final class TransitionTable {
+    static final int Unknown = -1;
+    static final int Rejected = -2;
+
+    private final List<TransitionHandler> handlers = new ArrayList<>();
+    private final Map<String, Map<String, Integer>> ids = new HashMap<>();
+    private final Map<String, int[]> decisions = new HashMap<>();
+
+    /**
+     * Register the {@code handler}, answering its transition id. Only handlers addressed by their source and target
+     * state names alone are resolvable by an {@link Event}.
+     *
+     * @param handler the {@link TransitionHandler} to register
+     * @return int
+     */
+    int register(TransitionHandler handler) {
+        final int id = handlers.size();
+        handlers.add(handler);
+
+        final String source = handler.getStateTransition().getSourceName();
+        final String target = handler.getStateTransition().getTargetName();
+
+        if (handler.getAddress().equals(source + "::" + target)) {
+            ids.computeIfAbsent(source, s -> new HashMap<>()).put(target, id);
+            decisions.put(source, decide(decisions.get(source), id));
+        }
+
+        return id;
+    }
+
+    /**
+     * Answer the {@link TransitionHandler} that the {@code event} resolves to, or {@code null} if none, including
+     * when the guard of its transition rejects it.
+     *
+     * @param event the {@link Event} to resolve
+     * @return TransitionHandler
+     */
+    TransitionHandler handlerFor(Event event) {
+        final int id = idFor(event);
+        return id < 0 ? null : handlers.get(id);
+    }
+
+    /**
+     * Answer the id of the transition that the {@code event} resolves to, or otherwise {@link #Unknown} if no
+     * transition matches it, or {@link #Rejected} if the guards of all matching transitions reject it.
+     *
+     * @param event the {@link Event} to resolve
+     * @return int
+     */
+    int idFor(Event event) {
+        if (event.isRouted()) {
+            return route(event);
+        }
+        final int id = event.transitionIdIn(this);
+        if (id == Unknown) {
+            return Unknown;
+        }
+        return handlers.get(id).getStateTransition().accepts(event) ? id : Rejected;
+    }
+
+    TransitionHandler handlerAt(int id) {
+        return handlers.get(id);
+    }
+
+    int idOf(String sourceName, String targetName) {
+        final Map<String, Integer> targets = ids.get(sourceName);
+        if (targets == null) {
+            return Unknown;
+        }
+        final Integer id = targets.get(targetName);
+        return id == null ? Unknown : id;
+    }
+
+    int size() {
+        return handlers.size();
+    }
+
+    private int route(Event event) {
+        final int[] candidates = decisions.get(event.getSourceName());
+        if (candidates == null) {
+            return Unknown;
+        }
+        for (final int candidate : candidates) {
+            if (handlers.get(candidate).getStateTransition().accepts(event)) {
+                return candidate;
+            }
+        }
+        return Rejected;
+    }
+
+    private int[] decide(int[] candidates, int id) {
+        if (candidates == null) {
+            return new int[] { id };
+        }
+
+        final int[] decided = new int[candidates.length + 1];
+        int index = 0;
+        if (isGuarded(id)) {
+            // place after the guarded candidates but before the unguarded
+            while (index < candidates.length && isGuarded(candidates[index])) {
+                decided[index] = candidates[index];
+                ++index;
+            }
+            decided[index] = id;
+            System.arraycopy(candidates, index, decided, index + 1, candidates.length - index);
+        } else {
+            System.arraycopy(candidates, 0, decided, 0, candidates.length);
+            decided[candidates.length] = id;
+        }
+        return decided;
+    }
+
+    private boolean isGuarded(int id) {
+        return handlers.get(id).getStateTransition().isGuarded();
+    }
+}
@@ -0,0 +1,698 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+package io.vlingo.xoom.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A compact binary counterpart of {@code JsonSerialization} for {@code BinaryState} adapters of state stores.
+ * The schema of each class is derived once from its non-static, non-transient fields, ordered by
+ * declaring class and then by name, so that only field values are written: integers as variable length,
+ * strings as UTF-8, enums by ordinal, and collections, maps and arrays by their declared element types.
+ * A field value of a type other than the declared one, such as of an interface, is preceded by its class name,
+ * which is read back only if it names a type of the declared one.
+ * Each such class requires a constructor without parameters, which may be private, through which it is
+ * instantiated before its fields are set.
+ * <p>
+ * Because the schema follows the fields, adding, removing or renaming a field changes the format, so such a
+ * change requires a new type version of the adapter, as does any change of a JSON based one.
+ */
+public final class BinarySerialization {
+
+    private static final int NULL = 0;
+    private static final int DECLARED = 1;
+    private static final int NAMED = 2;
+
+    private static final Map<Type, Codec> CODECS = new ConcurrentHashMap<>();
+    private static final Map<Type, Codec> BUILDING = new HashMap<>();
+
+    public static byte[] serialized(final Object value) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            codecOf(value.getClass()).write(out, value);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Cannot serialize " + value.getClass().getName() + ": " + e.getMessage(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T deserialized(final byte[] bytes, final Class<T> type) {
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return (T) codecOf(type).read(in);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Cannot deserialize " + type.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private interface Codec {
+        void write(final DataOutputStream out, final Object value) throws IOException;
+        Object read(final DataInputStream in) throws IOException;
+    }
+
+    private static Codec codecOf(final Type type) {
+        final Codec codec = CODECS.get(type);
+        return codec != null ? codec : built(type);
+    }
+
+    private static synchronized Codec built(final Type type) {
+        final Codec codec = CODECS.get(type);
+        if (codec != null) {
+            return codec;
+        }
+        final Codec building = BUILDING.get(type);
+        if (building != null) {
+            // a type that refers to itself, which is resolved before any value is written or read
+            return building;
+        }
+        final LazyCodec lazy = new LazyCodec();
+        BUILDING.put(type, lazy);
+        try {
+            lazy.resolved = build(type);
+            CODECS.put(type, lazy.resolved);
+            return lazy.resolved;
+        } finally {
+            BUILDING.remove(type);
+        }
+    }
+
+    private static Codec build(final Type type) {
+        if (type instanceof WildcardType) {
+            return codecOf(((WildcardType) type).getUpperBounds()[0]);
+        }
+        if (type instanceof GenericArrayType) {
+            final Type component = ((GenericArrayType) type).getGenericComponentType();
+            return arrayCodec(rawOf(component), component);
+        }
+        if (type instanceof ParameterizedType) {
+            final ParameterizedType parameterized = (ParameterizedType) type;
+            final Class<?> raw = rawOf(parameterized);
+            final Type[] arguments = parameterized.getActualTypeArguments();
+            if (Map.class.isAssignableFrom(raw) && arguments.length == 2) {
+                return mapCodec(raw, arguments[0], arguments[1]);
+            }
+            if (Collection.class.isAssignableFrom(raw) && arguments.length == 1) {
+                return collectionCodec(raw, arguments[0]);
+            }
+            if (raw == Optional.class) {
+                final Type element = arguments[0];
+                final Class<?> elementClass = rawOf(element);
+                return new Codec() {
+                    @Override
+                    public void write(final DataOutputStream out, final Object value) throws IOException {
+                        writeReference(out, codecOf(element), elementClass, ((Optional<?>) value).orElse(null));
+                    }
+
+                    @Override
+                    public Object read(final DataInputStream in) throws IOException {
+                        return Optional.ofNullable(readReference(in, codecOf(element), elementClass));
+                    }
+                };
+            }
+            return codecOf(raw);
+        }
+        if (!(type instanceof Class)) {
+            // a type variable, whose values are always named
+            return codecOf(Object.class);
+        }
+
+        final Class<?> clazz = (Class<?>) type;
+        final Codec scalar = scalarCodec(clazz);
+        if (scalar != null) {
+            return scalar;
+        }
+        if (clazz.isEnum()) {
+            final Object[] constants = clazz.getEnumConstants();
+            return new Codec() {
+                @Override
+                public void write(final DataOutputStream out, final Object value) throws IOException {
+                    writeVarInt(out, ((Enum<?>) value).ordinal());
+                }
+
+                @Override
+                public Object read(final DataInputStream in) throws IOException {
+                    return constants[readVarInt(in)];
+                }
+            };
+        }
+        if (clazz.isArray()) {
+            return arrayCodec(clazz.getComponentType(), clazz.getComponentType());
+        }
+        if (Map.class.isAssignableFrom(clazz)) {
+            return mapCodec(clazz, Object.class, Object.class);
+        }
+        if (Collection.class.isAssignableFrom(clazz)) {
+            return collectionCodec(clazz, Object.class);
+        }
+        if (clazz == Optional.class) {
+            return codecOf(optionalOf(Object.class));
+        }
+        if (clazz == Object.class || clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) {
+            // only ever written as named, by which the concrete codec is chosen
+            return new Codec() {
+                @Override
+                public void write(final DataOutputStream out, final Object value) {
+                    throw new IllegalStateException("The type " + clazz.getName() + " cannot be written as declared");
+                }
+
+                @Override
+                public Object read(final DataInputStream in) {
+                    throw new IllegalStateException("The type " + clazz.getName() + " cannot be read as declared");
+                }
+            };
+        }
+        return objectCodec(clazz);
+    }
+
+    private static Codec objectCodec(final Class<?> clazz) {
+        final Constructor<?> constructor;
+        try {
+            constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalArgumentException("The type " + clazz.getName() + " requires a constructor without parameters, which may be private", e);
+        }
+
+        final List<Field> fields = new ArrayList<>();
+        final List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.add(0, current);
+        }
+        for (final Class<?> declaring : hierarchy) {
+            Arrays.stream(declaring.getDeclaredFields())
+                    .filter(field -> !Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers()))
+                    .filter(field -> !field.isSynthetic())
+                    .sorted(Comparator.comparing(Field::getName))
+                    .forEach(field -> {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    });
+        }
+
+        return new Codec() {
+            @Override
+            public void write(final DataOutputStream out, final Object value) throws IOException {
+                try {
+                    for (final Field field : fields) {
+                        if (field.getType().isPrimitive()) {
+                            codecOf(field.getType()).write(out, field.get(value));
+                        } else {
+                            writeReference(out, codecOf(field.getGenericType()), field.getType(), field.get(value));
+                        }
+                    }
+                } catch (final IllegalAccessException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+            }
+
+            @Override
+            public Object read(final DataInputStream in) throws IOException {
+                try {
+                    final Object value = constructor.newInstance();
+                    for (final Field field : fields) {
+                        if (field.getType().isPrimitive()) {
+                            field.set(value, codecOf(field.getType()).read(in));
+                        } else {
+                            field.set(value, readReference(in, codecOf(field.getGenericType()), field.getType()));
+                        }
+                    }
+                    return value;
+                } catch (final ReflectiveOperationException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+            }
+        };
+    }
+
+    private static Codec collectionCodec(final Class<?> raw, final Type element) {
+        final Supplier<Collection<Object>> factory = collectionFactoryOf(raw);
+        final Class<?> elementClass = rawOf(element);
+        return new Codec() {
+            @Override
+            public void write(final DataOutputStream out, final Object value) throws IOException {
+                final Collection<?> collection = (Collection<?>) value;
+                writeVarInt(out, collection.size());
+                for (final Object each : collection) {
+                    writeReference(out, codecOf(element), elementClass, each);
+                }
+            }
+
+            @Override
+            public Object read(final DataInputStream in) throws IOException {
+                final int size = readVarInt(in);
+                final Collection<Object> collection = factory.get();
+                for (int index = 0; index < size; ++index) {
+                    collection.add(readReference(in, codecOf(element), elementClass));
+                }
+                return collection;
+            }
+        };
+    }
+
+    private static Codec mapCodec(final Class<?> raw, final Type key, final Type value) {
+        final Supplier<Map<Object, Object>> factory = mapFactoryOf(raw);
+        final Class<?> keyClass = rawOf(key);
+        final Class<?> valueClass = rawOf(value);
+        return new Codec() {
+            @Override
+            public void write(final DataOutputStream out, final Object written) throws IOException {
+                final Map<?, ?> map = (Map<?, ?>) written;
+                writeVarInt(out, map.size());
+                for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeReference(out, codecOf(key), keyClass, entry.getKey());
+                    writeReference(out, codecOf(value), valueClass, entry.getValue());
+                }
+            }
+
+            @Override
+            public Object read(final DataInputStream in) throws IOException {
+                final int size = readVarInt(in);
+                final Map<Object, Object> map = factory.get();
+                for (int index = 0; index < size; ++index) {
+                    map.put(readReference(in, codecOf(key), keyClass), readReference(in, codecOf(value), valueClass));
+                }
+                return map;
+            }
+        };
+    }
+
+    private static Codec arrayCodec(final Class<?> componentClass, final Type component) {
+        if (componentClass == byte.class) {
+            return new Codec() {
+                @Override
+                public void write(final DataOutputStream out, final Object value) throws IOException {
+                    final byte[] bytes = (byte[]) value;
+                    writeVarInt(out, bytes.length);
+                    out.write(bytes);
+                }
+
+                @Override
+                public Object read(final DataInputStream in) throws IOException {
+                    final byte[] bytes = new byte[readVarInt(in)];
+                    in.readFully(bytes);
+                    return bytes;
+                }
+            };
+        }
+        return new Codec() {
+            @Override
+            public void write(final DataOutputStream out, final Object value) throws IOException {
+                final int length = Array.getLength(value);
+                writeVarInt(out, length);
+                for (int index = 0; index < length; ++index) {
+                    if (componentClass.isPrimitive()) {
+                        codecOf(componentClass).write(out, Array.get(value, index));
+                    } else {
+                        writeReference(out, codecOf(component), componentClass, Array.get(value, index));
+                    }
+                }
+            }
+
+            @Override
+            public Object read(final DataInputStream in) throws IOException {
+                final int length = readVarInt(in);
+                final Object array = Array.newInstance(componentClass, length);
+                for (int index = 0; index < length; ++index) {
+                    if (componentClass.isPrimitive()) {
+                        Array.set(array, index, codecOf(componentClass).read(in));
+                    } else {
+                        Array.set(array, index, readReference(in, codecOf(component), componentClass));
+                    }
+                }
+                return array;
+            }
+        };
+    }
+
+    private static Codec scalarCodec(final Class<?> clazz) {
+        if (clazz == int.class || clazz == Integer.class) {
+            return codec((out, value) -> writeVarLong(out, (Integer) value), in -> (int) readVarLong(in));
+        }
+        if (clazz == long.class || clazz == Long.class) {
+            return codec((out, value) -> writeVarLong(out, (Long) value), BinarySerialization::readVarLong);
+        }
+        if (clazz == short.class || clazz == Short.class) {
+            return codec((out, value) -> writeVarLong(out, (Short) value), in -> (short) readVarLong(in));
+        }
+        if (clazz == byte.class || clazz == Byte.class) {
+            return codec((out, value) -> out.writeByte((Byte) value), DataInputStream::readByte);
+        }
+        if (clazz == char.class || clazz == Character.class) {
+            return codec((out, value) -> out.writeChar((Character) value), DataInputStream::readChar);
+        }
+        if (clazz == boolean.class || clazz == Boolean.class) {
+            return codec((out, value) -> out.writeBoolean((Boolean) value), DataInputStream::readBoolean);
+        }
+        if (clazz == float.class || clazz == Float.class) {
+            return codec((out, value) -> out.writeFloat((Float) value), DataInputStream::readFloat);
+        }
+        if (clazz == double.class || clazz == Double.class) {
+            return codec((out, value) -> out.writeDouble((Double) value), DataInputStream::readDouble);
+        }
+        if (clazz == String.class) {
+            return codec((out, value) -> writeString(out, (String) value), BinarySerialization::readString);
+        }
+        if (clazz == UUID.class) {
+            return codec((out, value) -> {
+                out.writeLong(((UUID) value).getMostSignificantBits());
+                out.writeLong(((UUID) value).getLeastSignificantBits());
+            }, in -> new UUID(in.readLong(), in.readLong()));
+        }
+        if (clazz == BigInteger.class) {
+            return codec((out, value) -> writeBytes(out, ((BigInteger) value).toByteArray()),
+                    in -> new BigInteger(readBytes(in)));
+        }
+        if (clazz == BigDecimal.class) {
+            return codec((out, value) -> {
+                writeVarLong(out, ((BigDecimal) value).scale());
+                writeBytes(out, ((BigDecimal) value).unscaledValue().toByteArray());
+            }, in -> {
+                final int scale = (int) readVarLong(in);
+                return new BigDecimal(new BigInteger(readBytes(in)), scale);
+            });
+        }
+        if (clazz == Date.class) {
+            return codec((out, value) -> writeVarLong(out, ((Date) value).getTime()), in -> new Date(readVarLong(in)));
+        }
+        if (clazz == Instant.class) {
+            return codec((out, value) -> {
+                writeVarLong(out, ((Instant) value).getEpochSecond());
+                writeVarLong(out, ((Instant) value).getNano());
+            }, in -> Instant.ofEpochSecond(readVarLong(in), readVarLong(in)));
+        }
+        if (clazz == LocalDate.class) {
+            return codec((out, value) -> writeVarLong(out, ((LocalDate) value).toEpochDay()),
+                    in -> LocalDate.ofEpochDay(readVarLong(in)));
+        }
+        if (clazz == LocalTime.class) {
+            return codec((out, value) -> writeVarLong(out, ((LocalTime) value).toNanoOfDay()),
+                    in -> LocalTime.ofNanoOfDay(readVarLong(in)));
+        }
+        if (clazz == LocalDateTime.class) {
+            return codec((out, value) -> {
+                writeVarLong(out, ((LocalDateTime) value).toLocalDate().toEpochDay());
+                writeVarLong(out, ((LocalDateTime) value).toLocalTime().toNanoOfDay());
+            }, in -> LocalDateTime.of(LocalDate.ofEpochDay(readVarLong(in)), LocalTime.ofNanoOfDay(readVarLong(in))));
+        }
+        return null;
+    }
+
+    private static void writeReference(final DataOutputStream out, final Codec declared,
+                                       final Class<?> declaredType, final Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (isDeclared(declaredType, value)) {
+            out.writeByte(DECLARED);
+            declared.write(out, value);
+        } else {
+            out.writeByte(NAMED);
+            final Class<?> type = namedTypeOf(value);
+            writeString(out, type.getName());
+            codecOf(type).write(out, value);
+        }
+    }
+
+    private static Object readReference(final DataInputStream in, final Codec declared,
+                                        final Class<?> declaredType) throws IOException {
+        switch (in.readByte()) {
+            case NULL:
+                return null;
+            case DECLARED:
+                return declared.read(in);
+            case NAMED:
+                return codecOf(namedTypeOf(readString(in), declaredType)).read(in);
+            default:
+                throw new IOException("Corrupt serialized value of " + declaredType.getName());
+        }
+    }
+
+    /**
+     * Answer the type of the {@code name}, which is loaded but not initialized, such that a name that is not of
+     * a {@code declaredType} is rejected before any code of its class runs or any codec of it is derived.
+     */
+    private static Class<?> namedTypeOf(final String name, final Class<?> declaredType) throws IOException {
+        final Class<?> type;
+        try {
+            type = Class.forName(name, false, classLoaderOf(declaredType));
+        } catch (final ClassNotFoundException e) {
+            throw new IOException("Unknown serialized type " + name, e);
+        }
+        if (!declaredType.isAssignableFrom(type)) {
+            throw new IOException("Serialized type " + name + " is not a " + declaredType.getName());
+        }
+        return type;
+    }
+
+    /**
+     * Answer the type by which the {@code value} is named, which for enum constants with bodies is the enum
+     * itself, and for the standard collections and maps is their nearest interface, so that they are read
+     * back into the default implementations rather than, for example, an unmodifiable view.
+     */
+    private static Class<?> namedTypeOf(final Object value) {
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).getDeclaringClass();
+        }
+        if (value.getClass().getName().startsWith("java.util.")) {
+            if (value instanceof SortedMap) return SortedMap.class;
+            if (value instanceof Map) return Map.class;
+            if (value instanceof SortedSet) return SortedSet.class;
+            if (value instanceof Set) return Set.class;
+            if (value instanceof List) return List.class;
+            if (value instanceof Optional) return Optional.class;
+        }
+        return value.getClass();
+    }
+
+    /**
+     * Answer whether the {@code value} is written by the codec of its {@code declaredType}, which is so for
+     * its exact type, and for enum constants, collections, maps and optionals of a declared type they share.
+     */
+    private static boolean isDeclared(final Class<?> declaredType, final Object value) {
+        if (value.getClass() == declaredType) {
+            return true;
+        }
+        if (!declaredType.isInstance(value)) {
+            return false;
+        }
+        return declaredType.isEnum() || Collection.class.isAssignableFrom(declaredType)
+                || Map.class.isAssignableFrom(declaredType) || declaredType == Optional.class;
+    }
+
+    private static ClassLoader classLoaderOf(final Class<?> declaredType) {
+        final ClassLoader loader = declaredType.getClassLoader();
+        return loader != null ? loader : Thread.currentThread().getContextClassLoader();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Collection<Object>> collectionFactoryOf(final Class<?> raw) {
+        if (raw.isAssignableFrom(ArrayList.class)) {
+            return ArrayList::new;
+        }
+        if (raw.isAssignableFrom(LinkedHashSet.class)) {
+            return LinkedHashSet::new;
+        }
+        if (raw.isAssignableFrom(TreeSet.class)) {
+            return TreeSet::new;
+        }
+        return () -> (Collection<Object>) instantiate(raw);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Map<Object, Object>> mapFactoryOf(final Class<?> raw) {
+        if (raw.isAssignableFrom(LinkedHashMap.class)) {
+            return LinkedHashMap::new;
+        }
+        if (raw.isAssignableFrom(TreeMap.class)) {
+            return TreeMap::new;
+        }
+        if (raw.isAssignableFrom(HashMap.class)) {
+            return HashMap::new;
+        }
+        return () -> (Map<Object, Object>) instantiate(raw);
+    }
+
+    private static Object instantiate(final Class<?> raw) {
+        try {
+            return raw.getDeclaredConstructor().newInstance();
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot instantiate " + raw.getName() + " without a default constructor", e);
+        }
+    }
+
+    private static Class<?> rawOf(final Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            return Array.newInstance(rawOf(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        if (type instanceof WildcardType) {
+            return rawOf(((WildcardType) type).getUpperBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    private static ParameterizedType optionalOf(final Type element) {
+        return new ParameterizedType() {
+            @Override
+            public Type[] getActualTypeArguments() {
+                return new Type[] { element };
+            }
+
+            @Override
+            public Type getRawType() {
+                return Optional.class;
+            }
+
+            @Override
+            public Type getOwnerType() {
+                return null;
+            }
+        };
+    }
+
+    private static void writeVarInt(final DataOutputStream out, final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+
+    private static int readVarInt(final DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final byte next = in.readByte();
+            value |= (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt variable length integer");
+    }
+
+    /**
+     * Write the {@code value} zigzag encoded, such that small negative values are as short as small positive ones.
+     */
+    private static void writeVarLong(final DataOutputStream out, final long value) throws IOException {
+        long remaining = (value << 1) ^ (value >> 63);
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    private static long readVarLong(final DataInputStream in) throws IOException {
+        long encoded = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            final byte next = in.readByte();
+            encoded |= (long) (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                return (encoded >>> 1) ^ -(encoded & 1);
+            }
+        }
+        throw new IOException("Corrupt variable length long");
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static Codec codec(final Writer writer, final Reader reader) {
+        return new Codec() {
+            @Override
+            public void write(final DataOutputStream out, final Object value) throws IOException {
+                writer.write(out, value);
+            }
+
+            @Override
+            public Object read(final DataInputStream in) throws IOException {
+                return reader.read(in);
+            }
+        };
+    }
+
+    private interface Writer {
+        void write(final DataOutputStream out, final Object value) throws IOException;
+    }
+
+    private interface Reader {
+        Object read(final DataInputStream in) throws IOException;
+    }
+
+    private static class LazyCodec implements Codec {
+        private volatile Codec resolved;
+
+        @Override
+        public void write(final DataOutputStream out, final Object value) throws IOException {
+            resolved.write(out, value);
+        }
+
+        @Override
+        public Object read(final DataInputStream in) throws IOException {
+            return resolved.read(in);
+        }
+    }
+}
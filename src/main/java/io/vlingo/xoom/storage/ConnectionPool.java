@@ -0,0 +1,196 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+package io.vlingo.xoom.storage;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+import io.vlingo.actors.Stage;
+import io.vlingo.actors.World;
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.common.jdbc.Configuration;
+
+/**
+ * Pools the JDBC {@link Configuration}s, each of which owns a single connection, from which the
+ * {@link StoreActorBuilder}s build store actors and their dispatcher controls. A JDBC store
+ * actor holds its connection for its lifetime, so the pool bounds and reuses the connections of a
+ * database across the stores built for it, rather than lending a connection per statement.
+ * Each actor is lent its own connection, which it releases when it is stopped, and the
+ * pools of a {@link World} are discarded along with it.
+ */
+public class ConnectionPool {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final Deque<Idle> idle;
+    private final ConnectionPoolSettings settings;
+    private final Configuration template;
+    private int size;
+
+    /**
+     * Answer the pool of the database of the {@code parameters} within the {@code stage}'s world,
+     * registering a new one on first use.
+     * @param stage the Stage within whose World the pool is shared
+     * @param parameters the DatabaseParameters of the database
+     * @return ConnectionPool
+     */
+    public static ConnectionPool of(final Stage stage, final DatabaseParameters parameters) {
+        final World world = stage.world();
+        final String name = String.format("%s:%s:%s%s", ConnectionPool.class.getName(), parameters.model, parameters.url, parameters.name);
+        synchronized (world) {
+            final ConnectionPool existing = world.resolveDynamic(name, ConnectionPool.class);
+            if(existing != null) {
+                return existing;
+            }
+            final ConnectionPool pool = new ConnectionPool(parameters.mapToConfiguration(), parameters.connectionPool);
+            world.registerDynamic(name, pool);
+            return pool;
+        }
+    }
+
+    public ConnectionPool(final Configuration template, final ConnectionPoolSettings settings) {
+        this.idle = new ArrayDeque<>();
+        this.settings = settings;
+        this.template = template;
+        this.size = 0;
+        while(size < settings.minimumSize) {
+            idle.push(new Idle(open()));
+            ++size;
+        }
+    }
+
+    /**
+     * Answer a {@link Configuration} with a valid connection of its own, reusing an idle one when
+     * possible, which must be released once no longer used.
+     * @return Configuration
+     */
+    public synchronized Configuration acquire() {
+        evictIdle();
+
+        while(!idle.isEmpty()) {
+            final Configuration configuration = idle.pop().configuration;
+            if(isValid(configuration)) {
+                return configuration;
+            }
+            close(configuration);
+            --size;
+        }
+
+        if(size >= settings.maximumSize) {
+            throw new StorageException(Result.Failure, "The connection pool is exhausted at " + settings.maximumSize + " connections");
+        }
+
+        final Configuration configuration = open();
+        ++size;
+        return configuration;
+    }
+
+    /**
+     * Return the {@code configuration} to the pool, such as when the store built with it is stopped.
+     * @param configuration the {@link Configuration} to return
+     */
+    public synchronized void release(final Configuration configuration) {
+        if(isClosed(configuration)) {
+            --size;
+        } else {
+            idle.push(new Idle(configuration));
+        }
+        evictIdle();
+    }
+
+    /**
+     * Answer the {@link Configuration} from which new connections are opened, which is
+     * never lent and so must not be used to build stores.
+     * @return Configuration
+     */
+    public Configuration template() {
+        return template;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Answer the number of connections acquired and not yet released.
+     * @return int
+     */
+    public synchronized int leased() {
+        return size - idle.size();
+    }
+
+    private void evictIdle() {
+        final long expiredBefore = System.currentTimeMillis() - settings.idleTimeout;
+        final Iterator<Idle> oldest = idle.descendingIterator();
+        while(size > settings.minimumSize && oldest.hasNext()) {
+            final Idle candidate = oldest.next();
+            if(candidate.since > expiredBefore) {
+                break;
+            }
+            oldest.remove();
+            close(candidate.configuration);
+            --size;
+        }
+    }
+
+    private boolean isValid(final Configuration configuration) {
+        try {
+            final Connection connection = configuration.connection;
+            if(connection.isClosed()) {
+                return false;
+            }
+            if(settings.validationQuery == null) {
+                return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            }
+            try (final Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(VALIDATION_TIMEOUT_SECONDS);
+                statement.execute(settings.validationQuery);
+                return true;
+            }
+        } catch (final Exception e) {
+            return false;
+        }
+    }
+
+    private boolean isClosed(final Configuration configuration) {
+        try {
+            return configuration.connection.isClosed();
+        } catch (final Exception e) {
+            return true;
+        }
+    }
+
+    private Configuration open() {
+        try {
+            return Configuration.cloneOf(template);
+        } catch (final Exception e) {
+            throw new StorageException(Result.Error, e.getMessage());
+        }
+    }
+
+    private void close(final Configuration configuration) {
+        try {
+            configuration.connection.close();
+        } catch (final Exception e) {
+            // the connection is discarded regardless
+        }
+    }
+
+    private static class Idle {
+        final Configuration configuration;
+        final long since;
+
+        Idle(final Configuration configuration) {
+            this.configuration = configuration;
+            this.since = System.currentTimeMillis();
+        }
+    }
+}
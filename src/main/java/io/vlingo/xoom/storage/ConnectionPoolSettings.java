@@ -0,0 +1,39 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+package io.vlingo.xoom.storage;
+
+public class ConnectionPoolSettings {
+
+    public static final int DEFAULT_MINIMUM_SIZE = 1;
+    public static final int DEFAULT_MAXIMUM_SIZE = 10;
+    public static final long DEFAULT_IDLE_TIMEOUT = 600_000;
+
+    public final int minimumSize;
+    public final int maximumSize;
+    public final long idleTimeout;
+    public final String validationQuery;
+
+    public ConnectionPoolSettings(final int minimumSize,
+                                  final int maximumSize,
+                                  final long idleTimeout,
+                                  final String validationQuery) {
+        if(minimumSize < 0 || maximumSize < 1 || minimumSize > maximumSize) {
+            throw new IllegalArgumentException("The connection pool size must be within 0 <= minimum <= maximum and 1 <= maximum");
+        }
+        if(idleTimeout <= 0) {
+            throw new IllegalArgumentException("The connection pool idle timeout must be greater than zero");
+        }
+        this.minimumSize = minimumSize;
+        this.maximumSize = maximumSize;
+        this.idleTimeout = idleTimeout;
+        this.validationQuery = validationQuery;
+    }
+
+    public static ConnectionPoolSettings defaults() {
+        return new ConnectionPoolSettings(DEFAULT_MINIMUM_SIZE, DEFAULT_MAXIMUM_SIZE, DEFAULT_IDLE_TIMEOUT, null);
+    }
+}
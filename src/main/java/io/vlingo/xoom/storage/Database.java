@@ -9,7 +9,6 @@ package io.vlingo.xoom.storage;
 
 import java.util.function.Function;
 
-import io.vlingo.symbio.store.DataFormat;
 import io.vlingo.symbio.store.Result;
 import io.vlingo.symbio.store.StorageException;
 import io.vlingo.symbio.store.common.jdbc.Configuration;
@@ -25,7 +24,7 @@ public enum Database {
     POSTGRES(parameters ->
     {
         try {
-            return PostgresConfigurationProvider.configuration(DataFormat.Text,
+            return PostgresConfigurationProvider.configuration(parameters.format,
                     parameters.url, parameters.name, parameters.username,
                     parameters.password, parameters.originator, parameters.autoCreate);
         } catch (final Exception e) {
@@ -36,7 +35,7 @@ public enum Database {
     HSQLDB(parameters ->
     {
         try {
-            return HSQLDBConfigurationProvider.configuration(DataFormat.Text,
+            return HSQLDBConfigurationProvider.configuration(parameters.format,
                     parameters.url, parameters.name, parameters.username,
                     parameters.password, parameters.originator, true);
         } catch (final Exception e) {
@@ -47,7 +46,7 @@ public enum Database {
     MYSQL(parameters ->
     {
         try {
-            return MySQLConfigurationProvider.configuration(DataFormat.Text,
+            return MySQLConfigurationProvider.configuration(parameters.format,
                     parameters.url, parameters.name, parameters.username,
                     parameters.password, parameters.originator, true);
         } catch (final Exception e) {
@@ -58,7 +57,7 @@ public enum Database {
     YUGA_BYTE(parameters ->
     {
         try {
-            return YugaByteConfigurationProvider.configuration(DataFormat.Text,
+            return YugaByteConfigurationProvider.configuration(parameters.format,
                     parameters.url, parameters.name, parameters.username,
                     parameters.password, parameters.originator, true);
         } catch (final Exception e) {
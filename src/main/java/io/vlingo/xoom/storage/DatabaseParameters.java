@@ -7,10 +7,12 @@
 package io.vlingo.xoom.storage;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 import java.util.stream.Collectors;
 
+import io.vlingo.symbio.store.DataFormat;
 import io.vlingo.symbio.store.common.jdbc.Configuration;
 import io.vlingo.xoom.ApplicationProperty;
 
@@ -22,7 +24,12 @@ public class DatabaseParameters {
     private static final String COMBINATION_PATTERN = "%s.%s";
     private static final List<String> PROPERTIES_KEYS =
             Arrays.asList("database", "database.name", "database.driver", "database.url",
-                    "database.username", "database.password", "database.originator");
+                    "database.username", "database.password", "database.originator",
+                    "database.pool.minimum.size", "database.pool.maximum.size",
+                    "database.pool.idle.timeout", "database.pool.validation.query",
+                    "database.partitions", "database.writer", "database.writer.batch.size",
+                    "database.writer.linger.time", "database.replica.urls", "database.replica.policy",
+                    "database.format");
 
     public final Model model;
     public final String database;
@@ -34,6 +41,12 @@ public class DatabaseParameters {
     public final String originator;
     public final List<String> keys;
     public final boolean autoCreate;
+    public final ConnectionPoolSettings connectionPool;
+    public final int partitions;
+    public final WriterSettings writer;
+    public final List<String> replicaUrls;
+    public final ReplicaPolicy replicaPolicy;
+    public final DataFormat format;
 
     public DatabaseParameters(final Model model, final Properties properties) {
         this(model, properties, true);
@@ -52,12 +65,87 @@ public class DatabaseParameters {
         this.password = valueFromIndex(5, properties);
         this.originator = valueFromIndex(6, properties);
         this.autoCreate = autoCreate;
+        this.connectionPool = new ConnectionPoolSettings(
+                intValueFromIndex(7, properties, ConnectionPoolSettings.DEFAULT_MINIMUM_SIZE),
+                intValueFromIndex(8, properties, ConnectionPoolSettings.DEFAULT_MAXIMUM_SIZE),
+                longValueFromIndex(9, properties, ConnectionPoolSettings.DEFAULT_IDLE_TIMEOUT),
+                valueFromIndex(10, properties));
+        this.partitions = intValueFromIndex(11, properties, 1);
+        if(partitions < 1) {
+            throw new IllegalArgumentException("The database partitions must be at least 1");
+        }
+        if(partitions >= connectionPool.maximumSize) {
+            // each partition holds a pooled connection, and so does their dispatcher control
+            throw new IllegalArgumentException("The database partitions must be fewer than the connection pool maximum size");
+        }
+        this.writer = new WriterSettings(valueFromIndex(12, properties),
+                intValueFromIndex(13, properties, WriterSettings.DEFAULT_BATCH_SIZE),
+                longValueFromIndex(14, properties, WriterSettings.DEFAULT_LINGER_TIME));
+        this.replicaUrls = replicaUrlsFromIndex(15, properties);
+        this.replicaPolicy = ReplicaPolicy.from(valueFromIndex(16, properties));
+        this.format = formatFromIndex(17, properties);
+    }
+
+    private DatabaseParameters(final DatabaseParameters primary, final String replicaUrl) {
+        this.model = primary.model;
+        this.keys = primary.keys;
+        this.database = primary.database;
+        this.name = primary.name;
+        this.driver = primary.driver;
+        this.url = replicaUrl;
+        this.username = primary.username;
+        this.password = primary.password;
+        this.originator = primary.originator;
+        this.autoCreate = false;
+        this.connectionPool = primary.connectionPool;
+        this.partitions = 1;
+        this.writer = WriterSettings.defaults();
+        this.replicaUrls = Collections.emptyList();
+        this.replicaPolicy = primary.replicaPolicy;
+        this.format = primary.format;
     }
 
     private String valueFromIndex(final Integer index, final Properties properties) {
         return ApplicationProperty.readValue(keys.get(index), properties);
     }
 
+    private int intValueFromIndex(final Integer index, final Properties properties, final int defaultValue) {
+        return (int) longValueFromIndex(index, properties, defaultValue);
+    }
+
+    private long longValueFromIndex(final Integer index, final Properties properties, final long defaultValue) {
+        final String value = valueFromIndex(index, properties);
+        if(value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("The database property " + keys.get(index) + " must be a number");
+        }
+    }
+
+    private List<String> replicaUrlsFromIndex(final Integer index, final Properties properties) {
+        final List<String> replicaUrls = ApplicationProperty.readMultipleValues(keys.get(index), ",", properties)
+                .stream().map(String::trim).filter(url -> !url.isEmpty()).collect(Collectors.toList());
+        if(!replicaUrls.isEmpty() && !model.isQueryModel()) {
+            // the command model reads what it has just written, which a lagging replica may not hold yet
+            throw new IllegalArgumentException("The database property " + keys.get(index) + " is only supported by the query model");
+        }
+        return replicaUrls;
+    }
+
+    private DataFormat formatFromIndex(final Integer index, final Properties properties) {
+        final String value = valueFromIndex(index, properties);
+        if(value == null || value.equalsIgnoreCase(DataFormat.Text.name())) {
+            return DataFormat.Text;
+        }
+        if(value.equalsIgnoreCase(DataFormat.Binary.name())) {
+            return DataFormat.Binary;
+        }
+        throw new IllegalArgumentException("The database property " + keys.get(index) + " must be either text or binary");
+    }
+
     private void validate() {
         if(database == null) {
             throw new DatabaseParameterNotFoundException(model);
@@ -90,6 +178,22 @@ public class DatabaseParameters {
         }).collect(Collectors.toList());
     }
 
+    public boolean isInMemory() {
+        validate();
+        return database.equalsIgnoreCase(Database.IN_MEMORY.name());
+    }
+
+    /**
+     * Answer the parameters of each read replica, which are those of this primary but for
+     * its url, and are never used to create the database.
+     * @return {@code List<DatabaseParameters>}
+     */
+    public List<DatabaseParameters> replicas() {
+        return replicaUrls.stream()
+                .map(replicaUrl -> new DatabaseParameters(this, replicaUrl))
+                .collect(Collectors.toList());
+    }
+
     public Configuration mapToConfiguration() {
         validate();
         return Database.from(database).mapper.apply(this);
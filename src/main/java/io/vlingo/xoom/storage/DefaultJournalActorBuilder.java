@@ -22,6 +22,7 @@ import io.vlingo.symbio.store.dispatch.control.DispatcherControlActor;
 import io.vlingo.symbio.store.journal.Journal;
 import io.vlingo.symbio.store.journal.jdbc.JDBCDispatcherControlDelegate;
 import io.vlingo.symbio.store.journal.jdbc.JDBCJournalActor;
+import io.vlingo.symbio.store.journal.jdbc.JDBCJournalBatchWriter;
 import io.vlingo.symbio.store.journal.jdbc.JDBCJournalInstantWriter;
 import io.vlingo.symbio.store.journal.jdbc.JDBCJournalWriter;
 import io.vlingo.xoom.annotation.persistence.Persistence.StorageType;
@@ -54,6 +55,75 @@ public class DefaultJournalActorBuilder implements StoreActorBuilder {
         }
     }
 
+    @Override
+    @SuppressWarnings({ "rawtypes" })
+    public <T> T build(final Stage stage,
+                       final List<Dispatcher> dispatchers,
+                       final ConnectionPool connectionPool) {
+        return build(stage, dispatchers, connectionPool, WriterSettings.defaults());
+    }
+
+    @Override
+    @SuppressWarnings({ "rawtypes" })
+    public <T> T build(final Stage stage,
+                       final List<Dispatcher> dispatchers,
+                       final ConnectionPool connectionPool,
+                       final DatabaseParameters parameters) {
+        return build(stage, dispatchers, connectionPool, parameters.writer);
+    }
+
+    /**
+     * Answer the journal built with a connection of its own and another for its dispatcher control,
+     * each of which is released to the {@code connectionPool} when its actor is stopped.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private <T> T build(final Stage stage,
+                        final List<Dispatcher> dispatchers,
+                        final ConnectionPool connectionPool,
+                        final WriterSettings writer) {
+        final Configuration dispatcherControlConfiguration = connectionPool.acquire();
+
+        final DispatcherControl dispatcherControl;
+        try {
+            final JDBCDispatcherControlDelegate dispatcherControlDelegate =
+                    new JDBCDispatcherControlDelegate(dispatcherControlConfiguration, stage.world().defaultLogger());
+
+            dispatcherControl = stage.actorFor(DispatcherControl.class,
+                    Definition.has(PooledDispatcherControlActor.class,
+                            Definition.parameters(connectionPool, dispatcherControlConfiguration, dispatchers,
+                                    dispatcherControlDelegate, Journal.DefaultCheckConfirmationExpirationInterval,
+                                    Journal.DefaultConfirmationExpiration)));
+        } catch (final Exception e) {
+            connectionPool.release(dispatcherControlConfiguration);
+            throw new StorageException(Result.Error, e.getMessage());
+        }
+
+        Configuration configuration = null;
+        try {
+            configuration = connectionPool.acquire();
+
+            if(writer.batched) {
+                final JDBCJournalWriter journalWriter =
+                        new JDBCJournalBatchWriter(configuration, typed(dispatchers), dispatcherControl, writer.batchSize);
+
+                return (T) stage.world().actorFor(Journal.class, PooledJournalActor.class,
+                        connectionPool, configuration, journalWriter, writer.lingerTime);
+            }
+
+            final JDBCJournalWriter journalWriter =
+                    new JDBCJournalInstantWriter(configuration, typed(dispatchers), dispatcherControl);
+
+            return (T) stage.world().actorFor(Journal.class, PooledJournalActor.class,
+                    connectionPool, configuration, journalWriter);
+        } catch (final Exception e) {
+            dispatcherControl.stop();
+            if(configuration != null) {
+                connectionPool.release(configuration);
+            }
+            throw new StorageException(Result.Error, e.getMessage());
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private List<Dispatcher<Dispatchable<Entry<String>, State.TextState>>> typed(final List<?> dispatchers) {
         return (List<Dispatcher<Dispatchable<Entry<String>, State.TextState>>>) dispatchers;
@@ -10,10 +10,15 @@ import static io.vlingo.symbio.store.state.StateStore.DefaultCheckConfirmationEx
 import static io.vlingo.symbio.store.state.StateStore.DefaultConfirmationExpiration;
 import static io.vlingo.xoom.annotation.persistence.Persistence.StorageType.STATE_STORE;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import io.vlingo.actors.Definition;
+import io.vlingo.actors.Protocols;
 import io.vlingo.actors.Stage;
+import io.vlingo.actors.Stoppable;
 import io.vlingo.symbio.Entry;
 import io.vlingo.symbio.State;
 import io.vlingo.symbio.store.common.jdbc.Configuration;
@@ -24,6 +29,7 @@ import io.vlingo.symbio.store.dispatch.DispatcherControl.DispatcherControlDelega
 import io.vlingo.symbio.store.dispatch.control.DispatcherControlActor;
 import io.vlingo.symbio.store.state.StateStore;
 import io.vlingo.symbio.store.state.StateStore.StorageDelegate;
+import io.vlingo.symbio.store.state.jdbc.JDBCEntriesBatchWriter;
 import io.vlingo.symbio.store.state.jdbc.JDBCEntriesInstantWriter;
 import io.vlingo.symbio.store.state.jdbc.JDBCEntriesWriter;
 import io.vlingo.symbio.store.state.jdbc.JDBCStateStoreActor;
@@ -32,18 +38,17 @@ import io.vlingo.xoom.annotation.persistence.Persistence.StorageType;
 
 public class DefaultStateStoreActorBuilder implements StoreActorBuilder {
 
+    private static final Class<?>[] StoreProtocols = { StateStore.class, Stoppable.class };
+
     @Override
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public <T> T build(final Stage stage,
                         final List<Dispatcher> dispatchers,
                         final Configuration configuration) {
-        final StorageDelegate delegate =
-                DatabaseType.retrieveFromConfiguration(configuration)
-                        .buildStorageDelegate(stage, STATE_STORE, configuration);
+        final StorageDelegate delegate = delegateOf(stage, configuration);
 
-        final DispatcherControl dispatcherControl =
-                stage.actorFor(DispatcherControl.class,
-                        Definition.has(DispatcherControlActor.class,
+        final DispatcherControl dispatcherControl = stage.actorFor(DispatcherControl.class,
+                Definition.has(DispatcherControlActor.class,
                         new DispatcherControl.DispatcherControlInstantiator(dispatchers,
                                 (DispatcherControlDelegate) delegate, DefaultCheckConfirmationExpirationInterval,
                                 DefaultConfirmationExpiration)));
@@ -55,6 +60,130 @@ public class DefaultStateStoreActorBuilder implements StoreActorBuilder {
         return (T) stage.actorFor(StateStore.class, JDBCStateStoreActor.class, delegate, entriesWriter);
     }
 
+    @Override
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public <T> T build(final Stage stage,
+                       final List<Dispatcher> dispatchers,
+                       final ConnectionPool connectionPool,
+                       final DatabaseParameters parameters) {
+        // a single dispatcher control, so that unconfirmed dispatches are not redispatched once per partition
+        final DispatcherControl dispatcherControl = dispatcherControlOf(stage, dispatchers, connectionPool);
+
+        final List<Protocols> partitions = new ArrayList<>(parameters.partitions);
+        final List<Protocols> replicas = new ArrayList<>(parameters.replicaUrls.size());
+        try {
+            while(partitions.size() < parameters.partitions) {
+                partitions.add(storeOf(stage, connectionPool, dispatcherControl, dispatchers, parameters.writer));
+            }
+            for(final DatabaseParameters replica : parameters.replicas()) {
+                replicas.add(replicaOf(stage, ConnectionPool.of(stage, replica)));
+            }
+        } catch (final RuntimeException e) {
+            // stop those already built, so that each releases its connection
+            replicas.forEach(store -> store.<Stoppable>get(1).stop());
+            partitions.forEach(store -> store.<Stoppable>get(1).stop());
+            dispatcherControl.stop();
+            throw e;
+        }
+
+        final StateStore primary = partitions.size() == 1
+                ? partitions.get(0).<StateStore>get(0)
+                : new PartitionedStateStore(storesOf(partitions));
+
+        if(replicas.isEmpty()) {
+            return (T) primary;
+        }
+
+        return (T) new ReplicatedStateStore(primary, storesOf(replicas), parameters.replicaPolicy);
+    }
+
+    /**
+     * Answer a store that is only ever read, and so neither dispatches nor controls dispatching, as both a
+     * {@link StateStore} and a {@link Stoppable}.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private Protocols replicaOf(final Stage stage, final ConnectionPool connectionPool) {
+        final Configuration configuration = connectionPool.acquire();
+        try {
+            final StorageDelegate delegate = delegateOf(stage, configuration);
+
+            final JDBCEntriesWriter entriesWriter =
+                    new JDBCEntriesInstantWriter((JDBCStorageDelegate) delegate, Collections.emptyList(), null);
+
+            return stage.actorFor(StoreProtocols, Definition.has(PooledStateStoreActor.class,
+                    Definition.parameters(connectionPool, configuration, delegate, entriesWriter)));
+        } catch (final RuntimeException e) {
+            connectionPool.release(configuration);
+            throw e;
+        }
+    }
+
+    private StorageDelegate delegateOf(final Stage stage, final Configuration configuration) {
+        return DatabaseType.retrieveFromConfiguration(configuration)
+                .buildStorageDelegate(stage, STATE_STORE, configuration);
+    }
+
+    /**
+     * Answer the dispatcher control, with a connection of its own that is released when it is stopped.
+     */
+    @SuppressWarnings("rawtypes")
+    private DispatcherControl dispatcherControlOf(final Stage stage,
+                                                  final List<Dispatcher> dispatchers,
+                                                  final ConnectionPool connectionPool) {
+        final Configuration configuration = connectionPool.acquire();
+        try {
+            final StorageDelegate delegate = delegateOf(stage, configuration);
+
+            return stage.actorFor(DispatcherControl.class,
+                    Definition.has(PooledDispatcherControlActor.class,
+                            Definition.parameters(connectionPool, configuration, dispatchers, delegate,
+                                    DefaultCheckConfirmationExpirationInterval, DefaultConfirmationExpiration)));
+        } catch (final RuntimeException e) {
+            connectionPool.release(configuration);
+            throw e;
+        }
+    }
+
+    /**
+     * Answer the store, with a connection of its own that is released when it is stopped, as both a
+     * {@link StateStore} and a {@link Stoppable}.
+     */
+    @SuppressWarnings("rawtypes")
+    private Protocols storeOf(final Stage stage,
+                               final ConnectionPool connectionPool,
+                               final DispatcherControl dispatcherControl,
+                               final List<Dispatcher> dispatchers,
+                               final WriterSettings writer) {
+        final Configuration configuration = connectionPool.acquire();
+        try {
+            final StorageDelegate delegate = delegateOf(stage, configuration);
+
+            if(writer.batched) {
+                final JDBCEntriesWriter entriesWriter =
+                        new JDBCEntriesBatchWriter((JDBCStorageDelegate) delegate,
+                                typed(dispatchers), dispatcherControl, writer.batchSize);
+
+                return stage.actorFor(StoreProtocols, Definition.has(PooledStateStoreActor.class,
+                        Definition.parameters(connectionPool, configuration, delegate, entriesWriter,
+                                writer.lingerTime)));
+            }
+
+            final JDBCEntriesWriter entriesWriter =
+                    new JDBCEntriesInstantWriter((JDBCStorageDelegate) delegate,
+                           typed(dispatchers), dispatcherControl);
+
+            return stage.actorFor(StoreProtocols, Definition.has(PooledStateStoreActor.class,
+                    Definition.parameters(connectionPool, configuration, delegate, entriesWriter)));
+        } catch (final RuntimeException e) {
+            connectionPool.release(configuration);
+            throw e;
+        }
+    }
+
+    private List<StateStore> storesOf(final List<Protocols> stores) {
+        return stores.stream().map(store -> store.<StateStore>get(0)).collect(Collectors.toList());
+    }
+
     @SuppressWarnings("unchecked")
     private List<Dispatcher<Dispatchable<? extends Entry<?>,? extends State<?>>>> typed(List<?> dispatchers) {
         return (List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>>) dispatchers;
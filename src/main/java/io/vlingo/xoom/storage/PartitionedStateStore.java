@@ -0,0 +1,79 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+package io.vlingo.xoom.storage;
+
+import java.util.Collection;
+import java.util.List;
+
+import io.vlingo.common.Completes;
+import io.vlingo.reactivestreams.Stream;
+import io.vlingo.symbio.Entry;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.Source;
+import io.vlingo.symbio.store.QueryExpression;
+import io.vlingo.symbio.store.state.StateReader.TypedStateBundle;
+import io.vlingo.symbio.store.state.StateStore;
+import io.vlingo.symbio.store.state.StateStoreEntryReader;
+
+/**
+ * Routes the reads and writes of each id to one of several {@link StateStore} actors by the hash of
+ * the id, such that the states of a model are read and written through several mailboxes and
+ * connections in parallel, while those of any one id remain ordered. All partitions store to the same
+ * database, so reads and streams that are not of a single id are served by the first partition. The
+ * router is not an actor itself, so it adds no mailbox hop.
+ */
+public class PartitionedStateStore implements StateStore {
+
+    private final StateStore[] partitions;
+
+    public PartitionedStateStore(final List<StateStore> partitions) {
+        if(partitions.isEmpty()) {
+            throw new IllegalArgumentException("A partitioned state store requires at least one partition");
+        }
+        this.partitions = partitions.toArray(new StateStore[0]);
+    }
+
+    public int partitionCount() {
+        return partitions.length;
+    }
+
+    public StateStore partitionOf(final String id) {
+        final int hash = id.hashCode();
+        return partitions[Math.floorMod(hash ^ (hash >>> 16), partitions.length)];
+    }
+
+    @Override
+    public void read(final String id, final Class<?> type, final ReadResultInterest interest, final Object object) {
+        partitionOf(id).read(id, type, interest, object);
+    }
+
+    @Override
+    public void readAll(final Collection<TypedStateBundle> bundles, final ReadResultInterest interest, final Object object) {
+        partitions[0].readAll(bundles, interest, object);
+    }
+
+    @Override
+    public Completes<Stream> streamAllOf(final Class<?> stateType) {
+        return partitions[0].streamAllOf(stateType);
+    }
+
+    @Override
+    public Completes<Stream> streamSomeUsing(final QueryExpression query) {
+        return partitions[0].streamSomeUsing(query);
+    }
+
+    @Override
+    public <S, C> void write(final String id, final S state, final int stateVersion, final List<Source<C>> sources,
+                             final Metadata metadata, final WriteResultInterest interest, final Object object) {
+        partitionOf(id).write(id, state, stateVersion, sources, metadata, interest, object);
+    }
+
+    @Override
+    public <ET extends Entry<?>> Completes<StateStoreEntryReader<ET>> entryReader(final String name) {
+        return partitions[0].entryReader(name);
+    }
+}
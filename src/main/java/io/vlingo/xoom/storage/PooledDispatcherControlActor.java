@@ -0,0 +1,42 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+package io.vlingo.xoom.storage;
+
+import java.util.List;
+
+import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.dispatch.Dispatcher;
+import io.vlingo.symbio.store.dispatch.DispatcherControl.DispatcherControlDelegate;
+import io.vlingo.symbio.store.dispatch.control.DispatcherControlActor;
+
+/**
+ * A {@link DispatcherControlActor} that releases the connection of its delegate to the
+ * {@link ConnectionPool} when stopped.
+ */
+public class PooledDispatcherControlActor extends DispatcherControlActor {
+
+    private final ConnectionPool connectionPool;
+    private final Configuration configuration;
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public PooledDispatcherControlActor(final ConnectionPool connectionPool,
+                                        final Configuration configuration,
+                                        final List<Dispatcher> dispatchers,
+                                        final DispatcherControlDelegate delegate,
+                                        final long checkConfirmationExpirationInterval,
+                                        final long confirmationExpiration) {
+        super(dispatchers, delegate, checkConfirmationExpirationInterval, confirmationExpiration);
+        this.connectionPool = connectionPool;
+        this.configuration = configuration;
+    }
+
+    @Override
+    protected void afterStop() {
+        super.afterStop();
+        connectionPool.release(configuration);
+    }
+}
@@ -0,0 +1,43 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+package io.vlingo.xoom.storage;
+
+import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.journal.jdbc.JDBCJournalActor;
+import io.vlingo.symbio.store.journal.jdbc.JDBCJournalWriter;
+
+/**
+ * A {@link JDBCJournalActor} that releases its connection to the {@link ConnectionPool} when stopped.
+ */
+public class PooledJournalActor extends JDBCJournalActor {
+
+    private final ConnectionPool connectionPool;
+    private final Configuration configuration;
+
+    public PooledJournalActor(final ConnectionPool connectionPool,
+                              final Configuration configuration,
+                              final JDBCJournalWriter journalWriter) throws Exception {
+        super(configuration, journalWriter);
+        this.connectionPool = connectionPool;
+        this.configuration = configuration;
+    }
+
+    public PooledJournalActor(final ConnectionPool connectionPool,
+                              final Configuration configuration,
+                              final JDBCJournalWriter journalWriter,
+                              final long lingerTime) throws Exception {
+        super(configuration, journalWriter, lingerTime);
+        this.connectionPool = connectionPool;
+        this.configuration = configuration;
+    }
+
+    @Override
+    protected void afterStop() {
+        super.afterStop();
+        connectionPool.release(configuration);
+    }
+}
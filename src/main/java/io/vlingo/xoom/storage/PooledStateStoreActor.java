@@ -0,0 +1,46 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+package io.vlingo.xoom.storage;
+
+import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.state.StateStore.StorageDelegate;
+import io.vlingo.symbio.store.state.jdbc.JDBCEntriesWriter;
+import io.vlingo.symbio.store.state.jdbc.JDBCStateStoreActor;
+
+/**
+ * A {@link JDBCStateStoreActor} that releases its connection to the {@link ConnectionPool} when stopped.
+ */
+public class PooledStateStoreActor extends JDBCStateStoreActor {
+
+    private final ConnectionPool connectionPool;
+    private final Configuration configuration;
+
+    public PooledStateStoreActor(final ConnectionPool connectionPool,
+                                 final Configuration configuration,
+                                 final StorageDelegate delegate,
+                                 final JDBCEntriesWriter entriesWriter) throws Exception {
+        super(delegate, entriesWriter);
+        this.connectionPool = connectionPool;
+        this.configuration = configuration;
+    }
+
+    public PooledStateStoreActor(final ConnectionPool connectionPool,
+                                 final Configuration configuration,
+                                 final StorageDelegate delegate,
+                                 final JDBCEntriesWriter entriesWriter,
+                                 final long lingerTime) throws Exception {
+        super(delegate, entriesWriter, lingerTime);
+        this.connectionPool = connectionPool;
+        this.configuration = configuration;
+    }
+
+    @Override
+    protected void afterStop() {
+        super.afterStop();
+        connectionPool.release(configuration);
+    }
+}
@@ -0,0 +1,34 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+package io.vlingo.xoom.storage;
+
+public enum ReplicaPolicy {
+
+    ROUND_ROBIN("round-robin"),
+
+    LEAST_OUTSTANDING("least-outstanding");
+
+    public final String key;
+
+    ReplicaPolicy(final String key) {
+        this.key = key;
+    }
+
+    public static ReplicaPolicy from(final String key) {
+        if(key == null) {
+            return ROUND_ROBIN;
+        }
+
+        for(final ReplicaPolicy policy : values()) {
+            if(policy.key.equalsIgnoreCase(key.trim())) {
+                return policy;
+            }
+        }
+
+        throw new IllegalArgumentException("The informed replica policy is not supported: " + key);
+    }
+}
@@ -0,0 +1,152 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+package io.vlingo.xoom.storage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import io.vlingo.common.Completes;
+import io.vlingo.common.Outcome;
+import io.vlingo.reactivestreams.Stream;
+import io.vlingo.symbio.Entry;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.Source;
+import io.vlingo.symbio.store.QueryExpression;
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.state.StateReader.TypedStateBundle;
+import io.vlingo.symbio.store.state.StateStore;
+import io.vlingo.symbio.store.state.StateStoreEntryReader;
+
+/**
+ * Splits reads from writes, such that states are written to the {@code primary} {@link StateStore}
+ * and read from one of the {@code replicas}, as chosen by the {@link ReplicaPolicy}. Entries are
+ * read from the primary, because an entry reader keeps its position across reads. Replicas lag
+ * behind the primary, so a state read right after its write may answer a previous version.
+ */
+public class ReplicatedStateStore implements StateStore {
+
+    private final StateStore primary;
+    private final StateStore[] replicas;
+    private final ReplicaPolicy policy;
+    private final AtomicInteger next;
+    private final AtomicIntegerArray outstanding;
+
+    public ReplicatedStateStore(final StateStore primary,
+                                final List<StateStore> replicas,
+                                final ReplicaPolicy policy) {
+        if(replicas.isEmpty()) {
+            throw new IllegalArgumentException("A replicated state store requires at least one replica");
+        }
+        this.primary = primary;
+        this.replicas = replicas.toArray(new StateStore[0]);
+        this.policy = policy;
+        this.next = new AtomicInteger(0);
+        this.outstanding = new AtomicIntegerArray(replicas.size());
+    }
+
+    @Override
+    public void read(final String id, final Class<?> type, final ReadResultInterest interest, final Object object) {
+        if(policy == ReplicaPolicy.LEAST_OUTSTANDING) {
+            final int index = leastOutstanding();
+            final OutstandingRead read = new OutstandingRead(index, interest);
+            outstanding.incrementAndGet(index);
+            try {
+                replicas[index].read(id, type, read, object);
+            } catch (final RuntimeException e) {
+                // never sent, so never answered
+                read.settle();
+                throw e;
+            }
+        } else {
+            replicas[roundRobin()].read(id, type, interest, object);
+        }
+    }
+
+    @Override
+    public void readAll(final Collection<TypedStateBundle> bundles, final ReadResultInterest interest, final Object object) {
+        replicas[nextIndex()].readAll(bundles, interest, object);
+    }
+
+    @Override
+    public Completes<Stream> streamAllOf(final Class<?> stateType) {
+        return replicas[nextIndex()].streamAllOf(stateType);
+    }
+
+    @Override
+    public Completes<Stream> streamSomeUsing(final QueryExpression query) {
+        return replicas[nextIndex()].streamSomeUsing(query);
+    }
+
+    @Override
+    public <S, C> void write(final String id, final S state, final int stateVersion, final List<Source<C>> sources,
+                             final Metadata metadata, final WriteResultInterest interest, final Object object) {
+        primary.write(id, state, stateVersion, sources, metadata, interest, object);
+    }
+
+    @Override
+    public <ET extends Entry<?>> Completes<StateStoreEntryReader<ET>> entryReader(final String name) {
+        return primary.entryReader(name);
+    }
+
+    /**
+     * Answer the index of the replica for reads that are not counted as outstanding, which
+     * under the least outstanding policy is still the least loaded by single state reads.
+     */
+    private int nextIndex() {
+        return policy == ReplicaPolicy.LEAST_OUTSTANDING ? leastOutstanding() : roundRobin();
+    }
+
+    private int roundRobin() {
+        return Math.floorMod(next.getAndIncrement(), replicas.length);
+    }
+
+    private int leastOutstanding() {
+        // start from the next replica in turn, so that ties are spread rather than all taken by the first
+        final int start = roundRobin();
+        int least = start;
+        for(int offset = 1; offset < replicas.length; ++offset) {
+            final int index = (start + offset) % replicas.length;
+            if(outstanding.get(index) < outstanding.get(least)) {
+                least = index;
+            }
+        }
+        return least;
+    }
+
+    /**
+     * Counts a read as outstanding against its replica until it is answered, whether it succeeded
+     * or failed, or until it fails to be sent at all; whichever comes first settles it, and only once.
+     */
+    private class OutstandingRead implements ReadResultInterest {
+        private final int index;
+        private final ReadResultInterest interest;
+        private final AtomicBoolean settled;
+
+        OutstandingRead(final int index, final ReadResultInterest interest) {
+            this.index = index;
+            this.interest = interest;
+            this.settled = new AtomicBoolean(false);
+        }
+
+        @Override
+        public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state,
+                                       final int stateVersion, final Metadata metadata, final Object object) {
+            settle();
+            interest.readResultedIn(outcome, id, state, stateVersion, metadata, object);
+        }
+
+        void settle() {
+            if(settled.compareAndSet(false, true)) {
+                outstanding.decrementAndGet(index);
+            }
+        }
+    }
+}
@@ -13,6 +13,7 @@ import java.util.Properties;
 import java.util.function.Predicate;
 
 import io.vlingo.actors.Stage;
+import io.vlingo.symbio.store.DataFormat;
 import io.vlingo.symbio.store.common.jdbc.Configuration;
 import io.vlingo.symbio.store.dispatch.Dispatcher;
 import io.vlingo.xoom.annotation.persistence.Persistence.StorageType;
@@ -41,23 +42,58 @@ public interface StoreActorBuilder {
                       final StorageType storageType,
                       final Properties properties,
                       final boolean autoDatabaseCreation) {
-        final Configuration configuration =
-                new DatabaseParameters(model, properties, autoDatabaseCreation)
-                        .mapToConfiguration();
+        final DatabaseParameters parameters =
+                new DatabaseParameters(model, properties, autoDatabaseCreation);
+
+        if(storageType.isJournal() && parameters.format == DataFormat.Binary) {
+            // the journal writers are typed to text entries
+            throw new IllegalArgumentException("The binary database format is only supported by state stores");
+        }
+
+        final ConnectionPool connectionPool =
+                parameters.isInMemory() ? null : ConnectionPool.of(stage, parameters);
 
         final DatabaseType databaseType =
-                DatabaseType.retrieveFromConfiguration(configuration);
+                DatabaseType.retrieveFromConfiguration(connectionPool == null ? null : connectionPool.template());
 
         final Predicate<StoreActorBuilder> filter =
                 resolver -> resolver.support(storageType, databaseType);
 
         return BUILDERS.stream().filter(filter).findFirst().get()
-                .build(stage, dispatcher, configuration);
+                .build(stage, dispatcher, connectionPool, parameters);
     }
 
     @SuppressWarnings("rawtypes")
     <T> T build(final Stage stage, final List<Dispatcher> dispatchers, final Configuration configuration);
 
+    /**
+     * Answer the store built with connections acquired from the {@code connectionPool},
+     * which is {@code null} for in-memory stores. Builders of JDBC stores must override,
+     * releasing each connection when the actor holding it is stopped.
+     */
+    @SuppressWarnings("rawtypes")
+    default <T> T build(final Stage stage, final List<Dispatcher> dispatchers, final ConnectionPool connectionPool) {
+        if(connectionPool == null) {
+            return build(stage, dispatchers, (Configuration) null);
+        }
+        final Configuration configuration = connectionPool.acquire();
+        try {
+            return build(stage, dispatchers, configuration);
+        } catch (final RuntimeException e) {
+            connectionPool.release(configuration);
+            throw e;
+        }
+    }
+
+    /**
+     * Answer the store built as tuned by the {@code parameters}, such as its partitions and writer,
+     * which builders that support no tuning ignore.
+     */
+    @SuppressWarnings("rawtypes")
+    default <T> T build(final Stage stage, final List<Dispatcher> dispatchers, final ConnectionPool connectionPool, final DatabaseParameters parameters) {
+        return build(stage, dispatchers, connectionPool);
+    }
+
     boolean support(final StorageType storageType, final DatabaseType databaseType);
 
 }
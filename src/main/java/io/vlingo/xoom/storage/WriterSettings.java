@@ -0,0 +1,45 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+package io.vlingo.xoom.storage;
+
+/**
+ * Selects how JDBC stores write, either each append or state at once (instant), or coalesced into
+ * batches of at most {@code batchSize} that are flushed when full or after {@code lingerTime}
+ * milliseconds (batched).
+ */
+public class WriterSettings {
+
+    public static final String INSTANT = "instant";
+    public static final String BATCHED = "batched";
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final long DEFAULT_LINGER_TIME = 10;
+
+    public final boolean batched;
+    public final int batchSize;
+    public final long lingerTime;
+
+    public WriterSettings(final String writer,
+                          final int batchSize,
+                          final long lingerTime) {
+        if(writer != null && !writer.equalsIgnoreCase(INSTANT) && !writer.equalsIgnoreCase(BATCHED)) {
+            throw new IllegalArgumentException("The database writer must be either " + INSTANT + " or " + BATCHED);
+        }
+        if(batchSize < 1) {
+            throw new IllegalArgumentException("The database writer batch size must be greater than zero");
+        }
+        if(lingerTime <= 0) {
+            throw new IllegalArgumentException("The database writer linger time must be greater than zero");
+        }
+        this.batched = BATCHED.equalsIgnoreCase(writer);
+        this.batchSize = batchSize;
+        this.lingerTime = lingerTime;
+    }
+
+    public static WriterSettings defaults() {
+        return new WriterSettings(INSTANT, DEFAULT_BATCH_SIZE, DEFAULT_LINGER_TIME);
+    }
+}
@@ -24,6 +24,13 @@ public final class ${stateName} extends StateObject {
     ${assignment}
     </#list>
   }
+  <#if binaryFormat>
+
+  // instantiates the state for BinarySerialization, which then sets its fields
+  private ${stateName}() {
+    this(${defaultInvocationParameters});
+  }
+  </#if>
 
   <#list methods as method>
   ${method}
@@ -5,6 +5,9 @@ database.url=${databaseParameter.url}
 database.username=
 database.password=
 database.originator=
+<#if binaryFormat>
+database.format=binary
+</#if>
 
 <#if queryDatabaseParameter?has_content>
 query.database=${queryDatabaseParameter.name}
@@ -4,10 +4,17 @@ package ${packageName};
 import ${import.qualifiedClassName};
 </#list>
 
+<#if binaryFormat>
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.State.BinaryState;
+import io.vlingo.symbio.StateAdapter;
+import io.vlingo.xoom.storage.BinarySerialization;
+<#else>
 import io.vlingo.common.serialization.JsonSerialization;
 import io.vlingo.symbio.Metadata;
 import io.vlingo.symbio.State.TextState;
 import io.vlingo.symbio.StateAdapter;
+</#if>
 
 /**
  * See
@@ -15,6 +22,31 @@ import io.vlingo.symbio.StateAdapter;
  *   StateAdapter and StateAdapterProvider
  * </a>
  */
+<#if binaryFormat>
+public final class ${adapterName} implements StateAdapter<${sourceName},BinaryState> {
+
+  @Override
+  public int typeVersion() {
+    return 1;
+  }
+
+  @Override
+  public ${sourceName} fromRawState(final BinaryState raw) {
+    return BinarySerialization.deserialized(raw.data, raw.typed());
+  }
+
+  @Override
+  public <ST> ST fromRawState(final BinaryState raw, final Class<ST> stateType) {
+    return BinarySerialization.deserialized(raw.data, stateType);
+  }
+
+  @Override
+  public BinaryState toRawState(final String id, final ${sourceName} state, final int stateVersion, final Metadata metadata) {
+    final byte[] serialization = BinarySerialization.serialized(state);
+    return new BinaryState(id, ${sourceName}.class, typeVersion(), serialization, stateVersion, metadata);
+  }
+}
+<#else>
 public final class ${adapterName} implements StateAdapter<${sourceName},TextState> {
 
   @Override
@@ -38,3 +70,4 @@ public final class ${adapterName} implements StateAdapter<${sourceName},TextStat
     return new TextState(id, ${sourceName}.class, typeVersion(), serialization, stateVersion, metadata);
   }
 }
+</#if>
@@ -26,6 +26,11 @@ public class ${stateName} : StateObject {
     ${assignment}
     </#list>
   }
+  <#if binaryFormat>
+
+  // instantiates the state for BinarySerialization, which then sets its fields
+  private constructor() : this(${defaultInvocationParameters})
+  </#if>
 
   <#list methods as method>
   ${method}
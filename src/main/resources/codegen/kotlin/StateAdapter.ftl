@@ -4,10 +4,17 @@ package ${packageName}
 import ${import.qualifiedClassName}
 </#list>
 
+<#if binaryFormat>
+import io.vlingo.symbio.Metadata
+import io.vlingo.symbio.State.BinaryState
+import io.vlingo.symbio.StateAdapter
+import io.vlingo.xoom.storage.BinarySerialization
+<#else>
 import io.vlingo.common.serialization.JsonSerialization
 import io.vlingo.symbio.Metadata
 import io.vlingo.symbio.State.TextState
 import io.vlingo.symbio.StateAdapter
+</#if>
 
 /**
  * See
@@ -15,6 +22,27 @@ import io.vlingo.symbio.StateAdapter
  *   StateAdapter and StateAdapterProvider
  * </a>
  */
+<#if binaryFormat>
+public class ${adapterName} : StateAdapter<${sourceName},BinaryState> {
+
+  public override fun typeVersion(): Int {
+    return 1
+  }
+
+  public override fun fromRawState(raw: BinaryState): ${sourceName} {
+    return BinarySerialization.deserialized(raw.data, raw.typed())
+  }
+
+  public override fun <ST> fromRawState(raw: BinaryState, stateType: Class<ST>): ST {
+    return BinarySerialization.deserialized(raw.data, stateType)
+  }
+
+  public override fun toRawState(id: String, state: ${sourceName}, stateVersion: Int, metadata: Metadata): BinaryState {
+    val serialization = BinarySerialization.serialized(state)
+    return BinaryState(id, ${sourceName}::class.java, typeVersion(), serialization, stateVersion, metadata)
+  }
+}
+<#else>
 public class ${adapterName} : StateAdapter<${sourceName},TextState> {
 
   public override fun typeVersion(): Int {
@@ -34,3 +62,4 @@ public class ${adapterName} : StateAdapter<${sourceName},TextState> {
     return TextState(id, ${sourceName}::class.java, typeVersion(), serialization, stateVersion, metadata)
   }
 }
+</#if>
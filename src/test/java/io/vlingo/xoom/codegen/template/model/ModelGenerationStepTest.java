@@ -44,10 +44,29 @@ public class ModelGenerationStepTest {
         Assert.assertTrue(context.contents().get(1).contains("final AuthorState stateArg = state.withName(name);"));
         Assert.assertTrue(context.contents().get(1).contains("return apply(stateArg, new AuthorRegistered(stateArg), () -> state)"));
         Assert.assertTrue(context.contents().get(2).contains("class AuthorState"));
+        Assert.assertFalse(context.contents().get(2).contains("private AuthorState()"));
         Assert.assertTrue(context.contents().get(3).contains("class AuthorRegistered extends IdentifiedDomainEvent"));
         Assert.assertTrue(context.contents().get(4).contains("class AuthorRanked extends IdentifiedDomainEvent"));
     }
 
+    @Test
+    public void testThatStatefulModelIsGeneratedForBinaryFormat() {
+        final CodeGenerationParameters parameters =
+                CodeGenerationParameters.from(CodeGenerationParameter.of(PACKAGE, "io.vlingo.xoomapp"),
+                        CodeGenerationParameter.of(Label.STORAGE_TYPE, STATE_STORE),
+                        CodeGenerationParameter.of(Label.DATA_FORMAT, "binary"),
+                        authorAggregate());
+
+        final CodeGenerationContext context =
+                CodeGenerationContext.with(parameters);
+
+        new ModelGenerationStep().process(context);
+
+        Assert.assertEquals("AuthorState", context.contents().get(2).retrieveClassName());
+        Assert.assertTrue(context.contents().get(2).contains("private AuthorState() {"));
+        Assert.assertTrue(context.contents().get(2).contains("this(0, null, 0);"));
+    }
+
     @Test
     public void testThatSourcedModelIsGenerated() {
         final CodeGenerationParameters parameters =
@@ -72,6 +72,36 @@ public class StorageGenerationStepTest {
         Assert.assertFalse(context.contents().get(19).contains("StateAdapterProvider"));
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatJournalGenerationRejectsBinaryFormat() {
+        final CodeGenerationContext context =
+                CodeGenerationContext.empty().with(DATA_FORMAT, "binary");
+
+        loadProperties(context, JOURNAL, HSQLDB, NONE);
+        loadContents(context);
+
+        new StorageGenerationStep().process(context);
+    }
+
+    @Test
+    public void testStateStoreGenerationWithBinaryFormat() {
+        final CodeGenerationContext context =
+                CodeGenerationContext.empty().with(DATA_FORMAT, "binary");
+
+        loadProperties(context, STATE_STORE, HSQLDB, NONE);
+        loadContents(context);
+
+        new StorageGenerationStep().process(context);
+
+        Assert.assertEquals(20, context.contents().size());
+        Assert.assertTrue(context.contents().get(11).contains("class BookStateAdapter implements StateAdapter<BookState,BinaryState>"));
+        Assert.assertTrue(context.contents().get(11).contains("BinarySerialization.deserialized(raw.data, raw.typed())"));
+        Assert.assertFalse(context.contents().get(11).contains("JsonSerialization"));
+        Assert.assertTrue(context.contents().get(12).contains("class AuthorStateAdapter implements StateAdapter<AuthorState,BinaryState>"));
+        Assert.assertTrue(context.contents().get(17).contains("database.format=binary"));
+        Assert.assertFalse(context.contents().get(17).contains("query.database.format=binary"));
+    }
+
     @Test
     public void testStateStoreGenerationWithoutProjections() {
         final CodeGenerationContext context =
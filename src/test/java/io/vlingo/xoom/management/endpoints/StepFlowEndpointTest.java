@@ -0,0 +1,171 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.management.endpoints;
+
+import io.vlingo.actors.World;
+import io.vlingo.http.Response;
+import io.vlingo.xoom.stepflow.FlowActor;
+import io.vlingo.xoom.stepflow.Kernel;
+import io.vlingo.xoom.stepflow.OrderFlow;
+import io.vlingo.xoom.stepflow.State;
+import io.vlingo.xoom.stepflow.StepFlow;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.function.Predicate;
+
+import static io.vlingo.http.Response.Status.NotFound;
+import static io.vlingo.http.Response.Status.NotModified;
+import static io.vlingo.http.Response.Status.Ok;
+
+public class StepFlowEndpointTest {
+
+    private StepFlowEndpoint endpoint;
+    private World world;
+
+    @Test
+    public void testThatGraphIsServedWithItsETagUntilItChanges() {
+        final StepFlow flow = flowOf();
+        endpoint.register("orders", flow);
+
+        final Response first = awaitGraph("orders", response -> response.status == Ok);
+        final String etag = etagOf(first);
+        Assert.assertTrue(etag, etag.startsWith("\"1-"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("Created", "Paid", "Shipped", "Delivered", "Cancelled")),
+                endpoint.map("orders").get("nodes"));
+
+        final Response unchanged = endpoint.graph("orders", etag);
+        Assert.assertEquals(NotModified, unchanged.status);
+        Assert.assertEquals(etag, etagOf(unchanged));
+
+        // the same body is answered from the cache rather than serialized anew
+        Assert.assertEquals(first.entity.content(), endpoint.graph("orders", null).entity.content());
+
+        registerStatesAgain(flow);
+
+        final Response changed = awaitGraph("orders", response -> !etagOf(response).equals(etag));
+        Assert.assertEquals(Ok, changed.status);
+        Assert.assertTrue(etagOf(changed), etagOf(changed).startsWith("\"2-"));
+        Assert.assertEquals(Ok, endpoint.graph("orders", etag).status);
+    }
+
+    @Test
+    public void testThatUnknownFlowIsNotFound() {
+        Assert.assertEquals(NotFound, endpoint.graph("orders", null).status);
+        Assert.assertTrue(endpoint.map("orders").isEmpty());
+        Assert.assertTrue(endpoint.metrics("orders").isEmpty());
+    }
+
+    @Test
+    public void testThatUnregisteredFlowIsForgottenAndUnsubscribed() {
+        final StepFlow flow = flowOf();
+        endpoint.register("orders", flow);
+        awaitGraph("orders", response -> response.status == Ok);
+        awaitMetrics("orders");
+
+        endpoint.unregister("orders");
+
+        Assert.assertEquals(NotFound, endpoint.graph("orders", null).status);
+        Assert.assertTrue(endpoint.metrics("orders").isEmpty());
+
+        // a new version of the graph is no longer pushed
+        registerStatesAgain(flow);
+
+        Assert.assertEquals(NotFound, endpoint.graph("orders", null).status);
+    }
+
+    @Test
+    public void testThatReregisteredFlowReplacesThePreviousOne() {
+        final StepFlow previous = flowOf();
+        endpoint.register("orders", previous);
+        awaitGraph("orders", response -> response.status == Ok);
+
+        registerStatesAgain(previous);
+        awaitGraph("orders", response -> etagOf(response).startsWith("\"2-"));
+
+        endpoint.register("orders", flowOf());
+
+        // the graph of the replacing flow, although it is of a lower version than that of the previous one
+        final String etag = etagOf(awaitGraph("orders", response -> etagOf(response).startsWith("\"1-")));
+        awaitMetrics("orders");
+
+        // the previous flow is unsubscribed from, so a new version of its graph is no longer pushed
+        registerStatesAgain(previous);
+
+        Assert.assertEquals(NotModified, endpoint.graph("orders", etag).status);
+    }
+
+    @Before
+    public void setUp() {
+        world = World.startWithDefaults("step-flow-endpoint-test");
+        endpoint = new StepFlowEndpoint();
+    }
+
+    @After
+    public void tearDown() {
+        world.terminate();
+    }
+
+    private StepFlow flowOf() {
+        final StepFlow flow = world.actorFor(StepFlow.class, OrderFlowActor.class);
+        flow.startUp().await();
+        return flow;
+    }
+
+    /**
+     * Register the states of the {@code flow} with its kernel once more, which pushes the next version of its graph
+     * to its subscribers before this answers.
+     */
+    @SuppressWarnings("rawtypes")
+    private void registerStatesAgain(StepFlow flow) {
+        final Kernel kernel = flow.getKernel().await();
+        kernel.registerStates(OrderFlow.states().toArray(new State[0]));
+        kernel.getGraph().await();
+    }
+
+    private Response awaitGraph(String flowName, Predicate<Response> condition) {
+        final long deadline = System.currentTimeMillis() + 5_000;
+        Response response = endpoint.graph(flowName, null);
+        while (!condition.test(response) && System.currentTimeMillis() < deadline) {
+            pause();
+            response = endpoint.graph(flowName, null);
+        }
+        Assert.assertTrue("No expected graph of " + flowName, condition.test(response));
+        return response;
+    }
+
+    private void awaitMetrics(String flowName) {
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (endpoint.metrics(flowName).isEmpty() && System.currentTimeMillis() < deadline) {
+            pause();
+        }
+        Assert.assertFalse("No metrics of " + flowName, endpoint.metrics(flowName).isEmpty());
+    }
+
+    private static String etagOf(Response response) {
+        return response.status == NotFound ? "" : response.headerOf("ETag").value;
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class OrderFlowActor extends FlowActor {
+        public OrderFlowActor() {
+            super(OrderFlow.states());
+        }
+    }
+}
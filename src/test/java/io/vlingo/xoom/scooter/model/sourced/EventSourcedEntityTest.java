@@ -12,8 +12,16 @@ import io.vlingo.symbio.Source;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 
@@ -59,6 +67,22 @@ public class EventSourcedEntityTest {
     assertEquals(new ProductPriceChanged(995), product.applied().sourceAt(3));
   }
 
+  @Test
+  public void testAppliedFrozenWhenAnswered() throws Exception {
+    final Product product = new Product("dice", "fuz", "dice-fuz-1", "Fuzzy dice.", 999);
+
+    final List<Source<DomainEvent>> frozen = product.applied().sources();
+    assertEquals(3, frozen.size());
+
+    product.changeName("dice-fuzzy-1");
+    product.changePrice(995);
+
+    assertEquals(3, frozen.size());
+    assertEquals(5, product.applied().size());
+    assertEquals(new ProductNameChanged("dice-fuzzy-1"), product.applied().sourceAt(3));
+    assertEquals(new ProductPriceChanged(995), product.applied().sourceAt(4));
+  }
+
   @Test
   public void testReconstitution() throws Exception {
     final List<Source<DomainEvent>> sources = new ArrayList<>();
@@ -84,6 +108,231 @@ public class EventSourcedEntityTest {
     assertEquals(new ProductDefined("dice-fuz-1", "Fuzzy dice.", 999), product.applied().sourceAt(2));
   }
 
+  @Test
+  public void testSnapshotTakenPerPolicy() {
+    final Tally tally = new Tally();
+    tally.increment();
+    assertEquals(null, tally.applied().state);
+    tally.increment();
+    assertEquals(2, ((Integer) tally.applied().state).intValue());
+    tally.increment();
+    assertEquals(3, ((Integer) tally.applied().state).intValue());
+    assertEquals(3, tally.applied().size());
+  }
+
+  @Test
+  public void testRestoreFromAccumulatedSnapshot() {
+    final Tally tally = new Tally();
+    tally.increment();
+    tally.increment();
+    tally.increment();
+
+    final Tally tallyAgain = new Tally(tally.applied().state, new ArrayList<>(), tally.applied().size());
+    assertEquals(3, tallyAgain.count);
+    assertEquals(0, tallyAgain.tailApplied);
+  }
+
+  @Test
+  public void testRestoreFromSnapshotAndTail() {
+    final Tally tally = new Tally();
+    tally.increment();
+    tally.increment();
+    final Object snapshot = tally.applied().state;
+    tally.increment();
+
+    final List<Source<DomainEvent>> tail = new ArrayList<>();
+    tail.add(tally.applied().sourceAt(2));
+
+    final Tally tallyAgain = new Tally(snapshot, tail, 3);
+    assertEquals(3, tallyAgain.count);
+    assertEquals(1, tallyAgain.tailApplied);
+  }
+
+  @Test
+  public void testDispatchTableInvalidatedByRegisterConsumer() {
+    final Relay relay = new Relay();
+    relay.relay();
+    assertEquals("parent", relay.relayedBy);
+
+    // resolved through the superclass and cached before the subclass registers its own consumer
+    SourcedEntity.registerConsumer(Relay.class, Relayed.class, (entity, event) -> entity.relayedBy = "child");
+
+    relay.relay();
+    assertEquals("child", relay.relayedBy);
+    assertEquals("child", new Relay(relay.applied().sources(), relay.applied().size()).relayedBy);
+  }
+
+  @Test
+  public void testConcurrentRegisterConsumer() throws Exception {
+    final List<Class<? extends DomainEvent>> sourceTypes =
+            Arrays.asList(NorthRead.class, SouthRead.class, EastRead.class, WestRead.class);
+
+    final int rounds = 200;
+    final CountDownLatch start = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(sourceTypes.size());
+
+    try {
+      final List<Future<?>> registrants = new ArrayList<>();
+
+      for (final Class<? extends DomainEvent> sourceType : sourceTypes) {
+        registrants.add(executor.submit(() -> {
+          start.await();
+          for (int round = 0; round < rounds; ++round) {
+            final int reading = round;
+            SourcedEntity.registerConsumer(Gauge.class, sourceType, (gauge, event) -> gauge.readings.put(sourceType, reading));
+
+            final Gauge gauge = new Gauge();
+            gauge.read(sourceType.newInstance());
+            assertEquals(reading, gauge.readings.get(sourceType).intValue());
+          }
+          return null;
+        }));
+      }
+
+      start.countDown();
+
+      for (final Future<?> registrant : registrants) {
+        registrant.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    final Gauge gauge = new Gauge();
+    for (final Class<? extends DomainEvent> sourceType : sourceTypes) {
+      gauge.read(sourceType.newInstance());
+      assertEquals(rounds - 1, gauge.readings.get(sourceType).intValue());
+    }
+  }
+
+  public static class Gauge extends EventSourcedEntity {
+    public final Map<Class<?>, Integer> readings = new ConcurrentHashMap<>();
+
+    public void read(final DomainEvent event) {
+      apply(event);
+    }
+
+    @Override
+    public String id() {
+      return "gauge";
+    }
+
+    @Override
+    protected String streamName() {
+      return id();
+    }
+  }
+
+  public static final class NorthRead extends DomainEvent {
+  }
+
+  public static final class SouthRead extends DomainEvent {
+  }
+
+  public static final class EastRead extends DomainEvent {
+  }
+
+  public static final class WestRead extends DomainEvent {
+  }
+
+  public static abstract class RelayParent extends EventSourcedEntity {
+    public String relayedBy;
+
+    protected RelayParent() {
+      super();
+    }
+
+    protected RelayParent(final List<Source<DomainEvent>> stream, final int streamVersion) {
+      super(stream, streamVersion);
+    }
+
+    static {
+      registerConsumer(RelayParent.class, Relayed.class, (entity, event) -> entity.relayedBy = "parent");
+    }
+  }
+
+  public static class Relay extends RelayParent {
+    public Relay() {
+      super();
+    }
+
+    public Relay(final List<Source<DomainEvent>> stream, final int streamVersion) {
+      super(stream, streamVersion);
+    }
+
+    public void relay() {
+      apply(new Relayed());
+    }
+
+    @Override
+    public String id() {
+      return "relay";
+    }
+
+    @Override
+    protected String streamName() {
+      return id();
+    }
+  }
+
+  public static final class Relayed extends DomainEvent {
+  }
+
+  public static class Tally extends EventSourcedEntity {
+    public int count;
+    public int tailApplied;
+
+    public Tally() {
+      super();
+    }
+
+    public Tally(final Object snapshot, final List<Source<DomainEvent>> tail, final int streamVersion) {
+      super(snapshot, tail, streamVersion);
+    }
+
+    public void increment() {
+      apply(new TallyIncremented());
+    }
+
+    @Override
+    public String id() {
+      return "tally";
+    }
+
+    @Override
+    protected String streamName() {
+      return id();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <SNAPSHOT> SNAPSHOT snapshot() {
+      return (SNAPSHOT) Integer.valueOf(count);
+    }
+
+    @Override
+    protected <SNAPSHOT> void restore(final SNAPSHOT snapshot) {
+      this.count = (Integer) snapshot;
+    }
+
+    @Override
+    protected SnapshotPolicy snapshotPolicy() {
+      return SnapshotPolicy.everyVersions(2);
+    }
+
+    private void whenTallyIncremented(final TallyIncremented event) {
+      ++count;
+      ++tailApplied;
+    }
+
+    static {
+      registerConsumer(Tally.class, TallyIncremented.class, Tally::whenTallyIncremented);
+    }
+  }
+
+  public static final class TallyIncremented extends DomainEvent {
+  }
+
   public static abstract class ProductGrandparent extends EventSourcedEntity {
     private String type;
 
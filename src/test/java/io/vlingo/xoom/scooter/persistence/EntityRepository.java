@@ -9,6 +9,9 @@ package io.vlingo.xoom.scooter.persistence;
 
 import io.vlingo.symbio.store.state.StateStore;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
 public class EntityRepository extends StatefulRepository {
   private final StateStore store;
 
@@ -16,12 +19,62 @@ public class EntityRepository extends StatefulRepository {
     this.store = store;
   }
 
+  public EntityRepository(final StateStore store, final StateCache cache) {
+    super(cache);
+    this.store = store;
+  }
+
+  public Entity1 cachedEntity1Of(final String id) {
+    return readThrough(store, id, Entity1.class);
+  }
+
+  public void saveCached(final Entity1 entity, final int version) {
+    writeThrough(store, entity.id, entity, version);
+  }
+
   public Entity1 entity1Of(final String id) {
     final ReadInterest interest = readInterest();
     store.read(id, Entity1.class, interest);
     return await(interest);
   }
 
+  public Entity1 entity1Of(final String id, final Duration timeout) {
+    final ReadInterest interest = readInterest();
+    store.read(id, Entity1.class, interest);
+    return await(interest, timeout);
+  }
+
+  public CompletableFuture<Entity1> entity1CompletionOf(final String id) {
+    final ReadInterest interest = readInterest();
+    store.read(id, Entity1.class, interest);
+    return completionOf(interest);
+  }
+
+  public Entity1 increment(final String id, final int maxAttempts) {
+    return retryOnConcurrencyViolation(id, maxAttempts, () -> {
+      final ReadInterest interest = readInterest();
+      store.read(id, Entity1.class, interest);
+      final Entity1 current = await(interest);
+      final Entity1 incremented = new Entity1(id, current.value + 1);
+      writeExpecting(store, id, incremented, interest.stateVersion());
+      return incremented;
+    });
+  }
+
+  public Entity1 cachedIncrement(final String id, final int maxAttempts, final Runnable betweenReadAndWrite) {
+    return retryOnConcurrencyViolation(id, maxAttempts, () -> {
+      final VersionedState<Entity1> current = readVersionedThrough(store, id, Entity1.class);
+      betweenReadAndWrite.run();
+      final Entity1 incremented = new Entity1(id, current.state.value + 1);
+      writeExpecting(store, id, incremented, current.stateVersion);
+      return incremented;
+    });
+  }
+
+  public void saveExpecting(final Entity1 entity, final int expectedVersion) {
+    writeExpecting(store, entity.id, entity, expectedVersion);
+  }
+
   public Entity2 entity2Of(final String id) {
     final ReadInterest interest = readInterest();
     store.read(id, Entity2.class, interest);
@@ -34,6 +87,13 @@ public class EntityRepository extends StatefulRepository {
     await(interest);
   }
 
+  public void saveAll(Entity1 entity1, Entity2 entity2) {
+    unitOfWork()
+      .write(store, entity1.id, entity1, 1)
+      .write(store, entity2.id, entity2, 1)
+      .commit();
+  }
+
   public void save(Entity2 entity) {
     final WriteInterest interest = writeInterest();
     store.write(entity.id, entity, 1, interest);
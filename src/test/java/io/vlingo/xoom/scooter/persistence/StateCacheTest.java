@@ -0,0 +1,198 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.scooter.persistence;
+
+import io.vlingo.actors.World;
+import io.vlingo.actors.testkit.TestWorld;
+import io.vlingo.symbio.EntryAdapterProvider;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.Source;
+import io.vlingo.symbio.StateAdapterProvider;
+import io.vlingo.symbio.store.state.StateStore;
+import io.vlingo.symbio.store.state.StateTypeStateStoreMap;
+import io.vlingo.symbio.store.state.inmemory.InMemoryStateStoreActor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class StateCacheTest {
+  private AtomicInteger writes;
+  private AtomicReference<List<?>> writtenSources;
+  private AtomicReference<Metadata> writtenMetadata;
+  private StateStore store;
+  private TestWorld testWorld;
+
+  @Test
+  public void testThatFrequentIdIsAdmittedOverEldest() {
+    final StateCache cache = new StateCache(2, Duration.ofMinutes(1));
+
+    cache.put("a", "a1", 1);
+    cache.put("b", "b1", 1);
+    for (int count = 0; count < 5; ++count) {
+      cache.get("a");
+    }
+
+    // b is now the eldest, but c has been requested no more frequently
+    cache.put("c", "c1", 1);
+    Assert.assertEquals(2, cache.size());
+    Assert.assertEquals(-1, cache.versionOf("c"));
+
+    for (int count = 0; count < 3; ++count) {
+      Assert.assertNull(cache.get("c"));
+    }
+
+    cache.put("c", "c1", 1);
+    Assert.assertEquals(2, cache.size());
+    Assert.assertEquals(1, cache.versionOf("c"));
+    Assert.assertEquals(1, cache.versionOf("a"));
+    Assert.assertEquals(-1, cache.versionOf("b"));
+  }
+
+  @Test
+  public void testThatStateExpires() throws Exception {
+    final StateCache cache = new StateCache(10, Duration.ofMillis(10));
+
+    cache.put("a", "a1", 1);
+    Assert.assertEquals("a1", cache.get("a"));
+
+    Thread.sleep(50);
+
+    Assert.assertNull(cache.get("a"));
+    Assert.assertNull(cache.getVersioned("a"));
+    Assert.assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testThatStateIsAnsweredWithItsVersion() {
+    final StateCache cache = new StateCache(10, Duration.ofMinutes(1));
+
+    cache.put("a", "a2", 2);
+    cache.put("a", "a1", 1);
+
+    final VersionedState<String> cached = cache.getVersioned("a");
+    Assert.assertEquals("a2", cached.state);
+    Assert.assertEquals(2, cached.stateVersion);
+  }
+
+  @Test
+  public void testThatWritesBehindAreCoalesced() {
+    final StateCache cache = new StateCache(10, Duration.ofMinutes(1), Duration.ofHours(1));
+
+    cache.writeBehind(store, "123", new Entity1("123", 1), 1);
+    cache.writeBehind(store, "123", new Entity1("123", 2), 2);
+    cache.writeBehind(store, "123", new Entity1("123", 3), 3);
+
+    Assert.assertEquals(3, cache.versionOf("123"));
+    Assert.assertEquals(0, writes.get());
+
+    cache.close();
+
+    Assert.assertEquals(1, writes.get());
+    Assert.assertEquals(3, new EntityRepository(store).entity1Of("123").value);
+  }
+
+  @Test
+  public void testThatCoalescedWritesBehindKeepAllSources() {
+    final StateCache cache = new StateCache(10, Duration.ofMinutes(1), Duration.ofHours(1));
+
+    final Incremented first = new Incremented(1);
+    final Incremented second = new Incremented(2);
+    cache.writeBehind(store, "123", new Entity1("123", 1), 1, Collections.singletonList(first), null);
+    cache.writeBehind(store, "123", new Entity1("123", 2), 2, Collections.singletonList(second), Metadata.withValue("2"));
+
+    cache.close();
+
+    Assert.assertEquals(1, writes.get());
+    Assert.assertEquals(Arrays.asList(first, second), writtenSources.get());
+    Assert.assertEquals("2", writtenMetadata.get().value);
+  }
+
+  @Test
+  public void testThatSupersededWriteBehindHandsOverItsSources() {
+    final StateCache cache = new StateCache(10, Duration.ofMinutes(1), Duration.ofHours(1));
+
+    final Incremented first = new Incremented(1);
+    final Incremented second = new Incremented(2);
+    cache.writeBehind(store, "123", new Entity1("123", 1), 1, Collections.singletonList(first), null);
+
+    final List<Source<Incremented>> sources = cache.supersedeWriteBehind("123", 2, Collections.singletonList(second));
+
+    Assert.assertEquals(Arrays.asList(first, second), sources);
+
+    cache.close();
+
+    Assert.assertEquals(0, writes.get());
+  }
+
+  @Test
+  public void testThatRepositoryCloseWritesPending() {
+    final StateCache cache = new StateCache(10, Duration.ofMinutes(1), Duration.ofHours(1));
+
+    try (final EntityRepository repository = new EntityRepository(store, cache)) {
+      repository.saveCached(new Entity1("123", 1), 1);
+      Assert.assertEquals(0, writes.get());
+    }
+
+    Assert.assertEquals(1, writes.get());
+    Assert.assertEquals(1, new EntityRepository(store).entity1Of("123").value);
+  }
+
+  @Before
+  public void setUp() {
+    testWorld = TestWorld.startWithDefaults("test-cache");
+    final World world = testWorld.world();
+
+    final StateAdapterProvider stateAdapterProvider = new StateAdapterProvider(world);
+    new EntryAdapterProvider(world);
+    stateAdapterProvider.registerAdapter(Entity1.class, new Entity1StateAdapter());
+
+    final StateStore actual = world.actorFor(StateStore.class, InMemoryStateStoreActor.class,
+            Arrays.asList(new MockStateStoreDispatcher(new MockStateStoreResultInterest())));
+
+    StateTypeStateStoreMap.stateTypeToStoreName(Entity1.class, Entity1.class.getSimpleName());
+
+    writes = new AtomicInteger(0);
+    writtenSources = new AtomicReference<>();
+    writtenMetadata = new AtomicReference<>();
+
+    // counts the writes that reach the store, and keeps the sources and metadata of the last
+    store = (StateStore) Proxy.newProxyInstance(StateStore.class.getClassLoader(), new Class<?>[] { StateStore.class },
+            (proxy, method, args) -> {
+              if (method.getName().equals("write")) {
+                writes.incrementAndGet();
+                if (args.length > 5) {
+                  writtenSources.set((List<?>) args[3]);
+                  writtenMetadata.set((Metadata) args[4]);
+                }
+              }
+              return method.invoke(actual, args);
+            });
+  }
+
+  @After
+  public void tearDown() {
+    testWorld.terminate();
+  }
+
+  public static class Incremented extends Source<Incremented> {
+    public final int value;
+
+    public Incremented(final int value) {
+      this.value = value;
+    }
+  }
+}
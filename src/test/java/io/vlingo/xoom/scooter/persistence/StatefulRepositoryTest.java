@@ -18,7 +18,10 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class StatefulRepositoryTest {
   private final static String StoreName1 = Entity1.class.getSimpleName();
@@ -58,6 +61,113 @@ public class StatefulRepositoryTest {
     Assert.assertEquals(entity2_1.value, entity2_2.value);
   }
 
+  @Test
+  public void testThatReadCompletesWithoutAwait() throws Exception {
+    dispatcher.afterCompleting(0);
+
+    final Entity1 entity1_1 = new Entity1("123", 123);
+
+    repository.save(entity1_1);
+
+    final Entity1 entity1_2 = repository.entity1CompletionOf("123").get(5, TimeUnit.SECONDS);
+
+    Assert.assertEquals(entity1_1, entity1_2);
+    Assert.assertEquals(entity1_1.value, entity1_2.value);
+  }
+
+  @Test
+  public void testThatUnitOfWorkWritesAwaitOnce() {
+    dispatcher.afterCompleting(0);
+
+    final Entity1 entity1_1 = new Entity1("123", 123);
+    final Entity2 entity2_1 = new Entity2("456", "789");
+
+    repository.saveAll(entity1_1, entity2_1);
+
+    final Entity1 entity1_2 = repository.entity1Of("123");
+    final Entity2 entity2_2 = repository.entity2Of("456");
+
+    Assert.assertEquals(entity1_1.value, entity1_2.value);
+    Assert.assertEquals(entity2_1.value, entity2_2.value);
+  }
+
+  @Test
+  public void testThatCachedReadsThroughAndKeepsHigherVersion() {
+    dispatcher.afterCompleting(0);
+
+    final StateCache cache = new StateCache(10, Duration.ofMinutes(1));
+    final EntityRepository cached = new EntityRepository(store, cache);
+
+    final Entity1 entity1_1 = new Entity1("123", 1);
+    cached.saveCached(entity1_1, 1);
+
+    Assert.assertSame(entity1_1, cached.cachedEntity1Of("123"));
+
+    final Entity1 entity1_2 = new Entity1("123", 2);
+    cached.saveCached(entity1_2, 2);
+    cache.put("123", entity1_1, 1);
+
+    Assert.assertSame(entity1_2, cached.cachedEntity1Of("123"));
+    Assert.assertEquals(2, cache.versionOf("123"));
+
+    cache.invalidate("123");
+
+    final Entity1 entity1_3 = cached.cachedEntity1Of("123");
+    Assert.assertNotSame(entity1_2, entity1_3);
+    Assert.assertEquals(entity1_2.value, entity1_3.value);
+  }
+
+  @Test(expected = ConcurrencyViolation.class)
+  public void testThatStaleWriteIsConcurrencyViolation() {
+    dispatcher.afterCompleting(0);
+
+    repository.saveExpecting(new Entity1("123", 1), 0);
+    repository.saveExpecting(new Entity1("123", 2), 0);
+  }
+
+  @Test
+  public void testThatIncrementWritesExpectedVersion() {
+    dispatcher.afterCompleting(0);
+
+    repository.saveExpecting(new Entity1("123", 1), 0);
+
+    final Entity1 incremented = repository.increment("123", 3);
+
+    Assert.assertEquals(2, incremented.value);
+    Assert.assertEquals(2, repository.entity1Of("123").value);
+  }
+
+  @Test
+  public void testThatWriteExpectingDetectsCompetingWriteDespiteWriteBehind() {
+    dispatcher.afterCompleting(0);
+
+    final StateCache cache = new StateCache(10, Duration.ofMinutes(1), Duration.ofHours(1));
+
+    try (final EntityRepository cached = new EntityRepository(store, cache)) {
+      cached.saveExpecting(new Entity1("123", 1), 0);
+
+      final AtomicInteger attempts = new AtomicInteger(0);
+
+      final Entity1 incremented = cached.cachedIncrement("123", 3, () -> {
+        if (attempts.incrementAndGet() == 1) {
+          // lands between the cached read of version 1 and the write of version 2
+          repository.saveExpecting(new Entity1("123", 10), 1);
+        }
+      });
+
+      Assert.assertEquals(2, attempts.get());
+      Assert.assertEquals(11, incremented.value);
+      Assert.assertEquals(3, cache.versionOf("123"));
+    }
+
+    Assert.assertEquals(11, repository.entity1Of("123").value);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testThatTimedReadOfUnknownFails() {
+    repository.entity1Of("999", Duration.ofSeconds(5));
+  }
+
   @Before
   public void setUp() {
     testWorld = TestWorld.startWithDefaults("test-store");
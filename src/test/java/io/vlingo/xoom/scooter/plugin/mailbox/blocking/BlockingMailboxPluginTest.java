@@ -0,0 +1,53 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.scooter.plugin.mailbox.blocking;
+
+import io.vlingo.xoom.scooter.plugin.mailbox.blocking.BlockingMailboxPlugin.BlockingMailboxPluginConfiguration;
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+
+public class BlockingMailboxPluginTest {
+
+  @Test
+  public void testThatPropertiesAreReadWithoutThePluginLoader() {
+    final BlockingMailboxPlugin plugin = new BlockingMailboxPlugin();
+
+    final BlockingMailboxPluginConfiguration configuration =
+            (BlockingMailboxPluginConfiguration) plugin.configuration();
+
+    assertEquals(64, configuration.deliveryBudget());
+    assertEquals(2, configuration.helperThreads());
+
+    plugin.close();
+  }
+
+  @Test
+  public void testThatGivenPropertiesAreRead() {
+    final Properties properties = new Properties();
+    properties.setProperty("plugin.blockingMailbox.deliveryBudget", "8");
+    properties.setProperty("plugin.blockingMailbox.helperThreads", "0");
+
+    final BlockingMailboxPluginConfiguration configuration =
+            (BlockingMailboxPluginConfiguration) new BlockingMailboxPlugin(properties).configuration();
+
+    assertEquals(8, configuration.deliveryBudget());
+    assertEquals(1, configuration.helperThreads());
+  }
+
+  @Test
+  public void testThatDefaultsApplyWithoutProperties() {
+    final BlockingMailboxPluginConfiguration configuration =
+            (BlockingMailboxPluginConfiguration) new BlockingMailboxPlugin(new Properties()).configuration();
+
+    assertEquals(0, configuration.deliveryBudget());
+    assertEquals(Runtime.getRuntime().availableProcessors(), configuration.helperThreads());
+  }
+}
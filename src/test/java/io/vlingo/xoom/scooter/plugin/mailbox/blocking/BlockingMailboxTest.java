@@ -0,0 +1,186 @@
+// Copyright © 2012-2018 Vaughn Vernon. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.scooter.plugin.mailbox.blocking;
+
+import io.vlingo.actors.Actor;
+import io.vlingo.actors.LocalMessage;
+import io.vlingo.actors.Mailbox;
+import io.vlingo.common.SerializableConsumer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BlockingMailboxTest {
+
+  @Test
+  public void testThatUnbudgetedSendDeliversAllPending() {
+    final BlockingMailbox mailbox = new BlockingMailbox();
+    final CountTakerActor actor = new CountTakerActor();
+
+    mailbox.suspendExceptFor("test");
+    for (int count = 0; count < 10; ++count) {
+      send(mailbox, actor, count);
+    }
+    assertEquals(10, mailbox.pendingMessages());
+
+    mailbox.resume("test");
+
+    assertEquals(0, mailbox.pendingMessages());
+    assertEquals(10, actor.counts.size());
+  }
+
+  @Test
+  public void testThatSendDeliversNoMoreThanItsBudget() {
+    final Queue<Runnable> handedOff = new ConcurrentLinkedQueue<>();
+    final BlockingMailbox mailbox = new BlockingMailbox(2, handedOff::add);
+    final CountTakerActor actor = new CountTakerActor();
+
+    mailbox.suspendExceptFor("test");
+    for (int count = 0; count < 5; ++count) {
+      send(mailbox, actor, count);
+    }
+
+    mailbox.resume("test");
+
+    assertEquals(2, actor.counts.size());
+    assertEquals(3, mailbox.pendingMessages());
+    assertEquals(1, handedOff.size());
+
+    // each hand-off delivers its own budget, then hands off again while any remain
+    handedOff.poll().run();
+    assertEquals(4, actor.counts.size());
+    assertEquals(1, handedOff.size());
+
+    handedOff.poll().run();
+    assertEquals(5, actor.counts.size());
+    assertTrue(handedOff.isEmpty());
+
+    for (int index = 0; index < 5; ++index) {
+      assertEquals(index, actor.counts.get(index).intValue());
+    }
+  }
+
+  @Test
+  public void testThatPendingMessagesAreHandedOffOnlyOnce() {
+    final Queue<Runnable> handedOff = new ConcurrentLinkedQueue<>();
+    final BlockingMailbox mailbox = new BlockingMailbox(1, handedOff::add);
+    final CountTakerActor actor = new CountTakerActor();
+
+    mailbox.suspendExceptFor("test");
+    for (int count = 0; count < 3; ++count) {
+      send(mailbox, actor, count);
+    }
+    mailbox.resume("test");
+
+    // a further send delivers its budget but does not hand off again while a hand-off is pending
+    send(mailbox, actor, 3);
+
+    assertEquals(2, actor.counts.size());
+    assertEquals(1, handedOff.size());
+  }
+
+  @Test
+  public void testThatHelperThreadsDeliverWhatSendersDoNot() throws Exception {
+    final ExecutorService helper = Executors.newFixedThreadPool(2);
+    final BlockingMailbox mailbox = new BlockingMailbox(1, helper);
+    final CountTakerActor actor = new CountTakerActor();
+
+    try {
+      mailbox.suspendExceptFor("test");
+      for (int count = 0; count < 100; ++count) {
+        send(mailbox, actor, count);
+      }
+      mailbox.resume("test");
+
+      assertTrue(actor.taken.await(10, TimeUnit.SECONDS));
+    } finally {
+      helper.shutdownNow();
+    }
+
+    assertEquals(0, mailbox.pendingMessages());
+    assertFalse(actor.threads.stream().allMatch(Thread.currentThread().getName()::equals));
+    for (int index = 0; index < 100; ++index) {
+      assertEquals(index, actor.counts.get(index).intValue());
+    }
+  }
+
+  @Test
+  public void testThatConcurrentSendersStrandNoMessage() throws Exception {
+    final int producers = 4;
+    final int messagesPerProducer = 25_000;
+
+    for (int round = 0; round < 10; ++round) {
+      final BlockingMailbox mailbox = new BlockingMailbox();
+      final CountTakerActor actor = new CountTakerActor();
+
+      final CountDownLatch start = new CountDownLatch(1);
+      final ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+      try {
+        final List<Future<?>> sent = new ArrayList<>();
+        for (int producer = 0; producer < producers; ++producer) {
+          final int base = producer * messagesPerProducer;
+          sent.add(executor.submit(() -> {
+            start.await();
+            for (int count = 0; count < messagesPerProducer; ++count) {
+              send(mailbox, actor, base + count);
+            }
+            return null;
+          }));
+        }
+
+        start.countDown();
+
+        for (final Future<?> producer : sent) {
+          producer.get(30, TimeUnit.SECONDS);
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+
+      // once every sender has returned, no message may remain undelivered
+      assertEquals(0, mailbox.pendingMessages());
+      assertEquals(producers * messagesPerProducer, actor.counts.size());
+    }
+  }
+
+  private static void send(final Mailbox mailbox, final CountTakerActor actor, final int count) {
+    final SerializableConsumer<CountTaker> consumer = (taker) -> taker.take(count);
+    mailbox.send(new LocalMessage<>(actor, CountTaker.class, consumer, "take(int)"));
+  }
+
+  public interface CountTaker {
+    void take(final int count);
+  }
+
+  public static class CountTakerActor extends Actor implements CountTaker {
+    final List<Integer> counts = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch taken = new CountDownLatch(100);
+    final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void take(final int count) {
+      counts.add(count);
+      threads.add(Thread.currentThread().getName());
+      taken.countDown();
+    }
+  }
+}
@@ -0,0 +1,181 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.scooter.plugin.mailbox.blocking;
+
+import io.vlingo.actors.Actor;
+import io.vlingo.actors.LocalMessage;
+import io.vlingo.actors.Mailbox;
+import io.vlingo.common.SerializableConsumer;
+import io.vlingo.xoom.scooter.plugin.mailbox.blocking.RingBufferMailbox.BackPressure;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RingBufferMailboxTest {
+
+  @Test
+  public void testThatCapacityIsRoundedToPowerOfTwo() {
+    final RingBufferMailbox mailbox = new RingBufferMailbox(5, BackPressure.Drop);
+    final CountTakerActor actor = new CountTakerActor();
+
+    mailbox.suspendExceptFor("test");
+
+    for (int count = 0; count < 10; ++count) {
+      send(mailbox, actor, count);
+    }
+
+    assertEquals(8, mailbox.pendingMessages());
+    assertEquals(2, mailbox.droppedMessages());
+  }
+
+  @Test
+  public void testThatDeliveryWrapsAround() {
+    final RingBufferMailbox mailbox = new RingBufferMailbox(4, BackPressure.Fail);
+    final CountTakerActor actor = new CountTakerActor();
+
+    int count = 0;
+
+    for (int round = 0; round < 100; ++round) {
+      mailbox.suspendExceptFor("test");
+      for (int batch = 0; batch < 3; ++batch) {
+        send(mailbox, actor, count++);
+      }
+      assertEquals(3, mailbox.pendingMessages());
+      mailbox.resume("test");
+      assertEquals(0, mailbox.pendingMessages());
+    }
+
+    assertEquals(count, actor.counts.size());
+    for (int index = 0; index < count; ++index) {
+      assertEquals(index, actor.counts.get(index).intValue());
+    }
+  }
+
+  @Test
+  public void testThatFullRingDropsNewest() {
+    final RingBufferMailbox mailbox = new RingBufferMailbox(4, BackPressure.Drop);
+    final CountTakerActor actor = new CountTakerActor();
+
+    mailbox.suspendExceptFor("test");
+
+    for (int count = 0; count < 6; ++count) {
+      send(mailbox, actor, count);
+    }
+
+    assertEquals(4, mailbox.pendingMessages());
+    assertEquals(2, mailbox.droppedMessages());
+
+    mailbox.resume("test");
+
+    assertEquals(0, mailbox.pendingMessages());
+    assertEquals(4, actor.counts.size());
+    assertEquals(3, actor.counts.get(3).intValue());
+  }
+
+  @Test
+  public void testThatFullRingFailsSender() {
+    final RingBufferMailbox mailbox = new RingBufferMailbox(4, BackPressure.Fail);
+    final CountTakerActor actor = new CountTakerActor();
+
+    mailbox.suspendExceptFor("test");
+
+    for (int count = 0; count < 4; ++count) {
+      send(mailbox, actor, count);
+    }
+
+    try {
+      send(mailbox, actor, 4);
+      fail("Expected the full mailbox to fail the sender.");
+    } catch (final IllegalStateException e) {
+      // expected
+    }
+
+    mailbox.resume("test");
+
+    assertEquals(4, actor.counts.size());
+    assertEquals(0, mailbox.droppedMessages());
+  }
+
+  @Test
+  public void testThatConcurrentProducersBlockWithoutLoss() throws Exception {
+    final int producers = 4;
+    final int messagesPerProducer = 10_000;
+
+    final RingBufferMailbox mailbox = new RingBufferMailbox(16, BackPressure.Block);
+    final CountTakerActor actor = new CountTakerActor();
+
+    final CountDownLatch start = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+    try {
+      final List<Future<?>> sent = new ArrayList<>();
+
+      for (int producer = 0; producer < producers; ++producer) {
+        final int base = producer * messagesPerProducer;
+        sent.add(executor.submit(() -> {
+          start.await();
+          for (int count = 0; count < messagesPerProducer; ++count) {
+            send(mailbox, actor, base + count);
+          }
+          return null;
+        }));
+      }
+
+      start.countDown();
+
+      for (final Future<?> producer : sent) {
+        producer.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(0, mailbox.pendingMessages());
+    assertEquals(0, mailbox.droppedMessages());
+    assertEquals(producers * messagesPerProducer, actor.counts.size());
+
+    // each producer's messages are delivered in the order sent
+    final int[] last = new int[producers];
+    Arrays.fill(last, -1);
+    for (final int count : actor.counts) {
+      final int producer = count / messagesPerProducer;
+      assertTrue(count > last[producer]);
+      last[producer] = count;
+    }
+  }
+
+  private static void send(final Mailbox mailbox, final CountTakerActor actor, final int count) {
+    final SerializableConsumer<CountTaker> consumer = (taker) -> taker.take(count);
+    mailbox.send(new LocalMessage<>(actor, CountTaker.class, consumer, "take(int)"));
+  }
+
+  public interface CountTaker {
+    void take(final int count);
+  }
+
+  public static class CountTakerActor extends Actor implements CountTaker {
+    final List<Integer> counts = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void take(final int count) {
+      counts.add(count);
+    }
+  }
+}
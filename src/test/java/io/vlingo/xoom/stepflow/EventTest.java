@@ -0,0 +1,60 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import io.vlingo.xoom.stepflow.OrderFlow.OrderEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EventTest {
+
+    @Test
+    public void testThatRoutedCopyNamesTheDecidedTarget() {
+        final OrderEvent event = OrderEvent.routedFrom("Created", 10);
+
+        final OrderEvent routed = (OrderEvent) event.routedTo("Paid");
+
+        Assert.assertNotSame(event, routed);
+        Assert.assertSame(OrderEvent.class, routed.getClass());
+        Assert.assertFalse(routed.isRouted());
+        Assert.assertEquals("Created", routed.getSourceName());
+        Assert.assertEquals("Paid", routed.getTargetName());
+        Assert.assertEquals("Created::Paid", routed.getEventType());
+        Assert.assertEquals(10, routed.getAmount());
+    }
+
+    @Test
+    public void testThatRoutingLeavesTheCallersEventUnmodified() {
+        final OrderEvent event = OrderEvent.routedFrom("Created", 10);
+        Assert.assertEquals("Created::", event.getEventType());
+
+        event.routedTo("Paid");
+
+        Assert.assertTrue(event.isRouted());
+        Assert.assertEquals("", event.getTargetName());
+        Assert.assertEquals("Created::", event.getEventType());
+    }
+
+    @Test
+    public void testThatRoutedCopyResolvesItsOwnTransition() {
+        final TransitionTable table = new TransitionTable();
+        OrderFlow.states().forEach(state -> {
+            for (final TransitionHandler handler : state.getTransitionHandlers()) {
+                table.register(handler);
+            }
+        });
+
+        final OrderEvent event = new OrderEvent("Created", "Paid", 10);
+        final int paid = table.idFor(event);
+
+        final Event copy = event.routedTo("Cancelled");
+
+        Assert.assertEquals(table.idOf("Created", "Cancelled"), table.idFor(copy));
+        Assert.assertEquals(paid, table.idFor(event));
+    }
+}
@@ -0,0 +1,244 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import io.vlingo.actors.Definition;
+import io.vlingo.actors.World;
+import io.vlingo.common.Completes;
+import io.vlingo.xoom.stepflow.OrderFlow.OrderEvent;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static io.vlingo.xoom.stepflow.TransitionBuilder.from;
+import static io.vlingo.xoom.stepflow.TransitionHandler.handle;
+import static io.vlingo.xoom.stepflow.TransitionHandler.transitions;
+
+@SuppressWarnings("rawtypes")
+public class FlowActorTest {
+
+    private static final long TimeoutMillis = 50;
+
+    private World world;
+
+    @Test
+    public void testThatInstanceTimesOutOfTheStateItRemainsIn() throws Exception {
+        assertTimesOut(TimingOutFlowActor.class);
+    }
+
+    @Test
+    public void testThatInstanceTimesOutWithColocatedKernel() throws Exception {
+        assertTimesOut(ColocatedTimingOutFlowActor.class);
+    }
+
+    @Test
+    public void testThatAdvancedInstanceDoesNotTimeOut() throws Exception {
+        final TimedOuts timedOuts = new TimedOuts();
+        final StepFlow flow = flowOf(TimingOutFlowActor.class, timedOuts);
+
+        flow.applyEvent("order-1", new OrderEvent("Created", "Paid", 10)).await();
+        flow.applyEvent("order-1", new OrderEvent("Paid", "Shipped")).await();
+
+        Assert.assertFalse(timedOuts.latch.await(TimeoutMillis * 4, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(timedOuts.instanceIds.isEmpty());
+    }
+
+    @Test
+    public void testThatEventIsAppliedThroughTheKernel() {
+        assertApplied(KernelOrderFlowActor.class);
+    }
+
+    @Test
+    public void testThatEventIsAppliedByColocatedKernel() {
+        assertApplied(ColocatedOrderFlowActor.class);
+    }
+
+    @Test
+    public void testThatFlowServesOtherMessagesWhileTheKernelApplies() throws Exception {
+        final StepFlow flow = world.actorFor(StepFlow.class, GatedFlowActor.class);
+        flow.startUp().await();
+
+        Gate.entered = new CountDownLatch(1);
+        Gate.opened = new CountDownLatch(1);
+        try {
+            final Completes<StateTransition> applied = flow.applyEvent(new OrderEvent("Closed", "Open"));
+
+            // the guard holds the kernel, which is a separate actor, in the middle of applying
+            Assert.assertTrue(Gate.entered.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals("Default Processor", flow.getName().await(5_000));
+            Assert.assertFalse(applied.hasOutcome());
+
+            Gate.opened.countDown();
+
+            Assert.assertEquals("Open", applied.await(5_000).getTargetName());
+        } finally {
+            Gate.opened.countDown();
+        }
+    }
+
+    @Before
+    public void setUp() {
+        world = World.startWithDefaults("flow-actor-test");
+    }
+
+    @After
+    public void tearDown() {
+        world.terminate();
+    }
+
+    private void assertTimesOut(Class<? extends TimingOutFlowActor> type) throws Exception {
+        final TimedOuts timedOuts = new TimedOuts();
+        final StepFlow flow = flowOf(type, timedOuts);
+
+        final long applied = System.currentTimeMillis();
+        flow.applyEvent("order-1", new OrderEvent("Created", "Paid", 10)).await();
+
+        Assert.assertTrue(timedOuts.latch.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(System.currentTimeMillis() - applied >= TimeoutMillis);
+        Assert.assertEquals(Collections.singletonList("order-1"), timedOuts.instanceIds);
+        Assert.assertEquals(Collections.singletonList("Cancelled"), timedOuts.targetNames);
+    }
+
+    private void assertApplied(Class<? extends FlowActor> type) {
+        final StepFlow flow = world.actorFor(StepFlow.class, type);
+        flow.startUp().await();
+
+        // each is sent before any is answered
+        final List<Completes<StateTransition>> applied = new ArrayList<>();
+        applied.add(flow.applyEvent(new OrderEvent("Created", "Paid", 10)));
+        applied.add(flow.applyEvent(new OrderEvent("Paid", "Shipped")));
+        applied.add(flow.applyEvent(new OrderEvent("Shipped", "Delivered")));
+        applied.add(flow.applyEvent(new OrderEvent("Delivered", "Created")));
+
+        Assert.assertEquals("Paid", applied.get(0).await().getTargetName());
+        Assert.assertEquals("Shipped", applied.get(1).await().getTargetName());
+        Assert.assertEquals("Delivered", applied.get(2).await().getTargetName());
+        Assert.assertNull(applied.get(3).await());
+    }
+
+    private StepFlow flowOf(Class<? extends TimingOutFlowActor> type, TimedOuts timedOuts) {
+        final StepFlow flow = world.actorFor(StepFlow.class, Definition.has(type, Definition.parameters(timedOuts)));
+        flow.startUp().await();
+        return flow;
+    }
+
+    public static class TimedOuts {
+        final List<String> instanceIds = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<String> targetNames = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    public static class TimingOutFlowActor extends FlowActor {
+        private final TimedOuts timedOuts;
+
+        public TimingOutFlowActor(TimedOuts timedOuts) {
+            super(OrderFlow.states());
+            this.timedOuts = timedOuts;
+        }
+
+        @Override
+        protected List<StateTimeout> timeouts() {
+            return Collections.singletonList(StateTimeout.of("Paid", Duration.ofMillis(TimeoutMillis), "Cancelled"));
+        }
+
+        @Override
+        protected long timeoutResolutionMillis() {
+            return 10;
+        }
+
+        @Override
+        protected void timedOut(String instanceId, TimedOut timedOut, StateTransition transition) {
+            timedOuts.instanceIds.add(instanceId);
+            timedOuts.targetNames.add(transition.getTargetName());
+            timedOuts.latch.countDown();
+        }
+    }
+
+    public static class KernelOrderFlowActor extends FlowActor {
+        public KernelOrderFlowActor() {
+            super(OrderFlow.states());
+        }
+    }
+
+    public static class ColocatedOrderFlowActor extends FlowActor {
+        public ColocatedOrderFlowActor() {
+            super(OrderFlow.states());
+        }
+
+        @Override
+        protected boolean isKernelColocated() {
+            return true;
+        }
+    }
+
+    public static class GatedFlowActor extends FlowActor {
+        public GatedFlowActor() {
+            super(Arrays.asList(State.definitionOf(Gate.class), State.definitionOf(Open.class)));
+        }
+    }
+
+    /**
+     * A state whose transition is held by its guard until opened, such that the kernel is held while applying it.
+     */
+    public static class Gate extends State<Gate> {
+        static volatile CountDownLatch entered = new CountDownLatch(0);
+        static volatile CountDownLatch opened = new CountDownLatch(0);
+
+        @Override
+        public String getName() {
+            return "Closed";
+        }
+
+        @Override
+        public TransitionHandler[] getTransitionHandlers() {
+            return transitions(handle(from(this).to(State.definitionOf(Open.class))
+                    .when(event -> {
+                        entered.countDown();
+                        try {
+                            return opened.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return false;
+                        }
+                    })
+                    .then((gate, open) -> { })));
+        }
+    }
+
+    public static class Open extends State<Open> {
+        @Override
+        public String getName() {
+            return "Open";
+        }
+
+        @Override
+        public TransitionHandler[] getTransitionHandlers() {
+            return transitions();
+        }
+    }
+
+    public static class ColocatedTimingOutFlowActor extends TimingOutFlowActor {
+        public ColocatedTimingOutFlowActor(TimedOuts timedOuts) {
+            super(timedOuts);
+        }
+
+        @Override
+        protected boolean isKernelColocated() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import io.vlingo.actors.World;
+import io.vlingo.common.Outcome;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.Source;
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.journal.EntityStream;
+import io.vlingo.symbio.store.journal.Journal;
+import io.vlingo.symbio.store.journal.Journal.AppendResultInterest;
+import io.vlingo.symbio.store.journal.inmemory.InMemoryJournalActor;
+import io.vlingo.xoom.stepflow.OrderFlow.OrderEvent;
+import io.vlingo.xoom.storage.MockDispatcher;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class FlowInstanceStoreTest {
+
+    private Journal<String> journal;
+    private World world;
+
+    @Test
+    public void testThatAppliedEventsAreAppended() {
+        final FlowInstanceStore store = storeOf(10, 100);
+
+        final FlowInstance paid = store.apply("order-1", new OrderEvent("Created", "Paid", 10)).await();
+        final FlowInstance shipped = store.apply("order-1", new OrderEvent("Paid", "Shipped")).await();
+
+        Assert.assertEquals("Paid", paid.getStateName());
+        Assert.assertEquals(1, paid.getVersion());
+        Assert.assertEquals("Shipped", shipped.getStateName());
+        Assert.assertEquals(2, shipped.getVersion());
+        Assert.assertNull(store.apply("order-1", new OrderEvent("Created", "Cancelled")).await());
+        Assert.assertEquals(2, streamOf("order-1").entries.size());
+        Assert.assertEquals("Shipped", store.instanceOf("order-1").await().getStateName());
+    }
+
+    @Test
+    public void testThatRoutedEventIsAppendedWithItsTarget() {
+        final FlowInstanceStore store = storeOf(10, 100);
+        final OrderEvent routed = OrderEvent.routedFrom("Created", 10);
+
+        final FlowInstance paid = store.apply("order-1", routed).await();
+
+        Assert.assertEquals("Paid", paid.getStateName());
+        Assert.assertTrue(routed.isRouted());
+        Assert.assertEquals("Paid", storeOf(10, 100).instanceOf("order-1").await().getStateName());
+    }
+
+    @Test
+    public void testThatInstanceIsRehydratedFromSnapshotAndTail() {
+        final FlowInstanceStore store = storeOf(10, 2);
+
+        store.apply("order-2", new OrderEvent("Created", "Paid", 10)).await();
+        store.apply("order-2", new OrderEvent("Paid", "Shipped")).await();
+        store.apply("order-2", new OrderEvent("Shipped", "Delivered")).await();
+
+        final EntityStream<String> stream = streamOf("order-2");
+        Assert.assertTrue(stream.hasSnapshot());
+        Assert.assertFalse(stream.entries.isEmpty());
+
+        final FlowInstance rehydrated = storeOf(10, 2).instanceOf("order-2").await();
+
+        Assert.assertEquals("Delivered", rehydrated.getStateName());
+        Assert.assertEquals(3, rehydrated.getVersion());
+    }
+
+    @Test
+    public void testThatLeastRecentlyUsedInstanceIsEvicted() {
+        final FlowInstanceStore store = storeOf(1, 100);
+        final FlowInstanceStore other = storeOf(10, 100);
+
+        store.apply("order-a", new OrderEvent("Created", "Paid", 10)).await();
+        store.apply("order-b", new OrderEvent("Created", "Paid", 10)).await();
+
+        // advance both instances behind the back of the first store
+        other.apply("order-a", new OrderEvent("Paid", "Shipped")).await();
+        other.apply("order-b", new OrderEvent("Paid", "Shipped")).await();
+
+        // the evicted instance is rehydrated from the journal, while the cached instance is not
+        Assert.assertEquals("Shipped", store.instanceOf("order-a").await().getStateName());
+        Assert.assertEquals("Paid", store.instanceOf("order-b").await().getStateName());
+    }
+
+    @Test(timeout = 10_000)
+    public void testThatFailedRehydrationAnswersNull() {
+        journal.append("order-3", 1, new Unrelated(), new IgnoredAppendResult(), null);
+
+        final FlowInstanceStore store = storeOf(10, 100);
+
+        Assert.assertNull(store.instanceOf("order-3").await());
+        Assert.assertNull(store.apply("order-3", new OrderEvent("Created", "Paid", 10)).await());
+    }
+
+    @Before
+    public void setUp() {
+        world = World.startWithDefaults("flow-instance-store-test");
+        final List dispatchers = Arrays.asList(new MockDispatcher());
+        journal = Journal.using(world.stage(), InMemoryJournalActor.class, dispatchers);
+    }
+
+    @After
+    public void tearDown() {
+        world.terminate();
+    }
+
+    private FlowInstanceStore storeOf(int cacheCapacity, int snapshotInterval) {
+        return FlowInstanceStore.using(world.stage(), OrderFlow.states(), journal, cacheCapacity, snapshotInterval);
+    }
+
+    private EntityStream<String> streamOf(String instanceId) {
+        return journal.streamReader("test")
+                .andThenTo(reader -> reader.streamFor(instanceId))
+                .await();
+    }
+
+    public static class Unrelated extends Source<Unrelated> {
+    }
+
+    private static class IgnoredAppendResult implements AppendResultInterest {
+        @Override
+        public <S, ST> void appendResultedIn(Outcome<StorageException, Result> outcome, String streamName,
+                                             int streamVersion, Source<S> source, Optional<ST> snapshot,
+                                             Object object) {
+        }
+
+        @Override
+        public <S, ST> void appendResultedIn(Outcome<StorageException, Result> outcome, String streamName,
+                                             int streamVersion, Source<S> source, Metadata metadata,
+                                             Optional<ST> snapshot, Object object) {
+        }
+
+        @Override
+        public <S, ST> void appendAllResultedIn(Outcome<StorageException, Result> outcome, String streamName,
+                                                int streamVersion, List<Source<S>> sources, Optional<ST> snapshot,
+                                                Object object) {
+        }
+
+        @Override
+        public <S, ST> void appendAllResultedIn(Outcome<StorageException, Result> outcome, String streamName,
+                                                int streamVersion, List<Source<S>> sources, Metadata metadata,
+                                                Optional<ST> snapshot, Object object) {
+        }
+    }
+}
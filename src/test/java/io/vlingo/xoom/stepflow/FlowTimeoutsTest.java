@@ -0,0 +1,111 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@SuppressWarnings("rawtypes")
+public class FlowTimeoutsTest {
+
+    private static final StateTransition CreatedToPaid = transition(OrderFlow.Created.class, OrderFlow.Paid.class);
+    private static final StateTransition PaidToShipped = transition(OrderFlow.Paid.class, OrderFlow.Shipped.class);
+    private static final StateTransition PaidToCancelled = transition(OrderFlow.Paid.class, OrderFlow.Cancelled.class);
+
+    @Test
+    public void testThatAdvancingToATimedStateArmsItsTimer() {
+        final FlowTimeouts timeouts = timeouts();
+        final List<TimedOut> fired = new ArrayList<>();
+
+        Assert.assertFalse(timeouts.advance("order-1", CreatedToPaid, null, 0));
+        Assert.assertTrue(timeouts.isArmed("order-1"));
+
+        timeouts.tick(40, fired::add);
+        Assert.assertTrue(fired.isEmpty());
+
+        timeouts.tick(50, fired::add);
+        Assert.assertEquals(1, fired.size());
+        Assert.assertEquals("order-1", fired.get(0).getInstanceId());
+        Assert.assertEquals("Paid", fired.get(0).getSourceName());
+        Assert.assertEquals("Cancelled", fired.get(0).getTargetName());
+        Assert.assertFalse(timeouts.isArmed("order-1"));
+    }
+
+    @Test
+    public void testThatAdvancingOutOfATimedStateCancelsItsTimer() {
+        final FlowTimeouts timeouts = timeouts();
+        final List<TimedOut> fired = new ArrayList<>();
+
+        timeouts.advance("order-1", CreatedToPaid, null, 0);
+        timeouts.advance("order-1", PaidToShipped, null, 20);
+
+        Assert.assertFalse(timeouts.isArmed("order-1"));
+        timeouts.tick(200, fired::add);
+        Assert.assertTrue(fired.isEmpty());
+    }
+
+    @Test
+    public void testThatFiredTimeoutIsActedUpon() {
+        final FlowTimeouts timeouts = timeouts();
+        final List<TimedOut> fired = new ArrayList<>();
+
+        timeouts.advance("order-1", CreatedToPaid, null, 0);
+        timeouts.tick(50, fired::add);
+
+        Assert.assertTrue(timeouts.advance("order-1", PaidToCancelled, fired.get(0), 60));
+    }
+
+    @Test
+    public void testThatFiredTimeoutIsDiscardedOnceTheInstanceHasAdvanced() {
+        final FlowTimeouts timeouts = timeouts();
+        final List<TimedOut> fired = new ArrayList<>();
+
+        timeouts.advance("order-1", CreatedToPaid, null, 0);
+        timeouts.tick(50, fired::add);
+
+        // the instance advances while the transition of its timeout is being resolved
+        timeouts.advance("order-1", PaidToShipped, null, 55);
+
+        Assert.assertFalse(timeouts.advance("order-1", PaidToCancelled, fired.get(0), 60));
+    }
+
+    @Test
+    public void testThatTimeoutWithoutTransitionIsNotActedUpon() {
+        final FlowTimeouts timeouts = timeouts();
+        final List<TimedOut> fired = new ArrayList<>();
+
+        timeouts.advance("order-1", CreatedToPaid, null, 0);
+        timeouts.tick(50, fired::add);
+
+        Assert.assertFalse(timeouts.advance("order-1", null, fired.get(0), 60));
+        Assert.assertFalse(timeouts.advance("order-1", PaidToCancelled, fired.get(0), 70));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testThatSecondTimeoutOfAStateIsRejected() {
+        new FlowTimeouts(Arrays.asList(
+                StateTimeout.of("Paid", Duration.ofMillis(50), "Cancelled"),
+                StateTimeout.of("Paid", Duration.ofMillis(80), "Shipped")), 8, 10, 0);
+    }
+
+    private static FlowTimeouts timeouts() {
+        return new FlowTimeouts(Collections.singletonList(StateTimeout.of("Paid", Duration.ofMillis(50), "Cancelled")),
+                8, 10, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static StateTransition transition(Class<? extends State> from, Class<? extends State> to) {
+        return new StateTransition(State.definitionOf(from), State.definitionOf(to));
+    }
+}
@@ -0,0 +1,202 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import io.vlingo.actors.World;
+import io.vlingo.common.Completes;
+import io.vlingo.xoom.stepflow.OrderFlow.OrderEvent;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static io.vlingo.xoom.stepflow.TransitionBuilder.from;
+import static io.vlingo.xoom.stepflow.TransitionHandler.handle;
+import static io.vlingo.xoom.stepflow.TransitionHandler.transitions;
+
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class KernelActorTest {
+
+    private Kernel kernel;
+    private World world;
+
+    @Test
+    public void testThatRegisteredTransitionIsAnswered() {
+        final StateTransition transition = kernel.applyEvent(new OrderEvent("Paid", "Shipped")).await();
+
+        Assert.assertSame(StateTransition.class, transition.getClass());
+        Assert.assertSame(kernel.getTransitionMap().await().get("Paid::Shipped").getStateTransition(), transition);
+    }
+
+    @Test
+    public void testThatAppliedRejectedAndUnknownEventsAreCounted() {
+        kernel.applyEvent(new OrderEvent("Created", "Paid", 10)).await();
+        kernel.applyEvent(new OrderEvent("Created", "Paid", 0)).await();
+        kernel.applyEvent(new OrderEvent("Paid", "Created")).await();
+        kernel.applyEvent(OrderEvent.routedFrom("Created", 0)).await();
+
+        final KernelMetrics metrics = kernel.getMetrics().await();
+
+        Assert.assertEquals(1, metrics.getTransition("Created::Paid").getApplied());
+        Assert.assertEquals(1, metrics.getTransition("Created::Paid").getRejected());
+        Assert.assertEquals(1, metrics.getTransition("Created::Cancelled").getApplied());
+        Assert.assertEquals(1, metrics.getUnknown());
+        Assert.assertEquals(0, metrics.getRejected());
+    }
+
+    @Test
+    public void testThatAppliedTransitionIsTimed() {
+        final String order = kernel.applyEventTo(new OrderEvent("Created", "Paid", 10), "order").await();
+
+        final TransitionMetrics metrics = kernel.getMetrics().await().getTransition("Created::Paid");
+
+        Assert.assertEquals("order", order);
+        Assert.assertEquals(1, metrics.getApplied());
+        Assert.assertEquals(1, metrics.getAggregateConsumerLatency().getCount());
+        Assert.assertEquals(1, metrics.getActionLatency().getCount());
+        Assert.assertEquals(0, metrics.getRejected());
+    }
+
+    @Test
+    public void testThatTransitionWithoutActionIsCountedAsRejected() {
+        kernel.registerStates(new Broken());
+
+        final Object aggregate = kernel.applyEventTo(new OrderEvent("Broken", "Delivered"), "order").await();
+
+        final TransitionMetrics metrics = kernel.getMetrics().await().getTransition("Broken::Delivered");
+
+        Assert.assertNull(aggregate);
+        Assert.assertEquals(1, metrics.getApplied());
+        Assert.assertEquals(1, metrics.getRejected());
+        Assert.assertEquals(0, metrics.getActionLatency().getCount());
+    }
+
+    @Test
+    public void testThatColocatedFlowRecordsIntoItsKernelMetrics() {
+        final StepFlow flow = world.actorFor(StepFlow.class, ColocatedOrderFlowActor.class);
+        flow.startUp().await();
+
+        final String order = flow.applyEventTo(new OrderEvent("Created", "Paid", 10), "order").await();
+        flow.applyEvent(new OrderEvent("Paid", "Created")).await();
+
+        final KernelMetrics metrics = flow.getKernel().await().getMetrics().await();
+
+        Assert.assertEquals("order", order);
+        Assert.assertEquals(1, metrics.getTransition("Created::Paid").getApplied());
+        Assert.assertEquals(1, metrics.getTransition("Created::Paid").getActionLatency().getCount());
+        Assert.assertEquals(1, metrics.getUnknown());
+    }
+
+    @Test
+    public void testThatBatchIsAppliedByTheKernelWithPartialRejections() {
+        assertBatchApplied(kernel::applyEvents);
+
+        final KernelMetrics metrics = kernel.getMetrics().await();
+
+        Assert.assertEquals(1, metrics.getTransition("Created::Paid").getApplied());
+        Assert.assertEquals(1, metrics.getTransition("Created::Paid").getRejected());
+        Assert.assertEquals(1, metrics.getTransition("Paid::Shipped").getApplied());
+        Assert.assertEquals(1, metrics.getTransition("Created::Cancelled").getApplied());
+        Assert.assertEquals(1, metrics.getUnknown());
+    }
+
+    @Test
+    public void testThatBatchIsAppliedThroughTheKernelOfAFlow() {
+        final StepFlow flow = world.actorFor(StepFlow.class, OrderFlowActor.class);
+        flow.startUp().await();
+
+        assertBatchApplied(flow::applyEvents);
+    }
+
+    @Test
+    public void testThatBatchIsAppliedByAColocatedKernel() {
+        final StepFlow flow = world.actorFor(StepFlow.class, ColocatedOrderFlowActor.class);
+        flow.startUp().await();
+
+        assertBatchApplied(flow::applyEvents);
+    }
+
+    @Test
+    public void testThatEmptyBatchIsApplied() {
+        final AppliedEvents applied = kernel.applyEvents(Collections.emptyList()).await();
+
+        Assert.assertEquals(0, applied.size());
+        Assert.assertFalse(applied.hasRejections());
+    }
+
+    @Before
+    public void setUp() {
+        world = World.startWithDefaults("kernel-actor-test");
+        kernel = world.actorFor(Kernel.class, KernelActor.class);
+        kernel.registerStates(OrderFlow.states().toArray(new State[0]));
+    }
+
+    @After
+    public void tearDown() {
+        world.terminate();
+    }
+
+    /**
+     * Apply a batch, answered as a whole by a single reply, of which each event that does not resolve to a transition
+     * is rejected without failing the others.
+     */
+    private static void assertBatchApplied(Function<List<Event>, Completes<AppliedEvents>> applyEvents) {
+        final List<Event> events = Arrays.asList(
+                new OrderEvent("Created", "Paid", 10),
+                new OrderEvent("Created", "Paid", 0),
+                new OrderEvent("Paid", "Shipped"),
+                new OrderEvent("Shipped", "Created"),
+                OrderEvent.routedFrom("Created", 0));
+
+        final AppliedEvents applied = applyEvents.apply(events).await();
+
+        Assert.assertEquals(events.size(), applied.size());
+        Assert.assertEquals(events, applied.getEvents());
+        Assert.assertEquals("Paid", applied.getTransition(0).getTargetName());
+        Assert.assertNull(applied.getTransition(1));
+        Assert.assertEquals("Shipped", applied.getTransition(2).getTargetName());
+        Assert.assertNull(applied.getTransition(3));
+        Assert.assertEquals("Cancelled", applied.getTransition(4).getTargetName());
+        Assert.assertTrue(applied.hasRejections());
+        Assert.assertEquals(Arrays.asList(events.get(1), events.get(3)), applied.getRejectedEvents());
+    }
+
+    public static class OrderFlowActor extends FlowActor {
+        public OrderFlowActor() {
+            super(OrderFlow.states());
+        }
+    }
+
+    public static class ColocatedOrderFlowActor extends FlowActor {
+        public ColocatedOrderFlowActor() {
+            super(OrderFlow.states());
+        }
+
+        @Override
+        protected boolean isKernelColocated() {
+            return true;
+        }
+    }
+
+    public static class Broken extends State<Broken> {
+        @Override
+        public String getName() {
+            return "Broken";
+        }
+
+        @Override
+        public TransitionHandler[] getTransitionHandlers() {
+            return transitions(handle(from(this).to(State.definitionOf(OrderFlow.Delivered.class)).then(null)));
+        }
+    }
+}
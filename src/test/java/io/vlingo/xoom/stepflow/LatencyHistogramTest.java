@@ -0,0 +1,64 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testThatEmptyHistogramAnswersZero() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMean());
+        Assert.assertEquals(0, histogram.getMax());
+        Assert.assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testThatCountMeanAndMaxAreExact() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(100);
+        histogram.record(200);
+        histogram.record(-5);
+
+        Assert.assertEquals(3, histogram.getCount());
+        Assert.assertEquals(100, histogram.getMean());
+        Assert.assertEquals(200, histogram.getMax());
+    }
+
+    @Test
+    public void testThatPercentilesAreWithinBucketPrecision() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        assertWithinPrecision(500_000, histogram.getValueAtPercentile(50));
+        assertWithinPrecision(990_000, histogram.getValueAtPercentile(99));
+        Assert.assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+        assertWithinPrecision(1_000, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void testThatEveryValueFallsWithinItsBucket() {
+        for (final long value : new long[] { 0, 1, 7, 8, 9, 15, 16, 1_000, 123_456_789, Long.MAX_VALUE }) {
+            final int index = LatencyHistogram.indexOf(value);
+            Assert.assertTrue(value + " above its bucket", value <= LatencyHistogram.highestOf(index));
+            Assert.assertTrue(value + " below its bucket", index == 0 || value > LatencyHistogram.highestOf(index - 1));
+        }
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        Assert.assertTrue(actual + " is not within 12.5% of " + expected,
+                Math.abs(actual - expected) <= expected / 8);
+    }
+}
@@ -0,0 +1,134 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static io.vlingo.xoom.stepflow.TransitionBuilder.from;
+import static io.vlingo.xoom.stepflow.TransitionHandler.handle;
+import static io.vlingo.xoom.stepflow.TransitionHandler.transitions;
+
+/**
+ * The states and {@link Event} of an order that is paid, shipped and delivered, or otherwise cancelled before it is
+ * shipped, shared by the stepflow tests. Payment is guarded by a positive amount, so a routed {@link OrderEvent} from
+ * {@link Created} is paid when it carries an amount and cancelled otherwise.
+ */
+@SuppressWarnings("rawtypes")
+public final class OrderFlow {
+
+    public static List<State> states() {
+        return Arrays.asList(State.definitionOf(Created.class), State.definitionOf(Paid.class),
+                State.definitionOf(Shipped.class), State.definitionOf(Delivered.class),
+                State.definitionOf(Cancelled.class));
+    }
+
+    private OrderFlow() {
+    }
+
+    public static class OrderEvent extends Event {
+        private int amount;
+
+        public OrderEvent() {
+        }
+
+        public OrderEvent(String source) {
+            super(source);
+        }
+
+        public OrderEvent(String source, String target) {
+            super(source, target);
+        }
+
+        public OrderEvent(String source, String target, int amount) {
+            super(source, target);
+            this.amount = amount;
+        }
+
+        public static OrderEvent routedFrom(String source, int amount) {
+            final OrderEvent event = new OrderEvent(source);
+            event.amount = amount;
+            return event;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+    }
+
+    public static class Created extends State<Created> {
+        @Override
+        public String getName() {
+            return "Created";
+        }
+
+        @Override
+        public TransitionHandler[] getTransitionHandlers() {
+            return transitions(
+                    handle(from(this).to(State.definitionOf(Paid.class))
+                            .when(event -> ((OrderEvent) event).getAmount() > 0)
+                            .then((created, paid) -> { })),
+                    handle(from(this).to(State.definitionOf(Cancelled.class))
+                            .then((created, cancelled) -> { })));
+        }
+    }
+
+    public static class Paid extends State<Paid> {
+        @Override
+        public String getName() {
+            return "Paid";
+        }
+
+        @Override
+        public TransitionHandler[] getTransitionHandlers() {
+            return transitions(
+                    handle(from(this).to(State.definitionOf(Shipped.class))
+                            .then((paid, shipped) -> { })),
+                    handle(from(this).to(State.definitionOf(Cancelled.class))
+                            .then((paid, cancelled) -> { })));
+        }
+    }
+
+    public static class Shipped extends State<Shipped> {
+        @Override
+        public String getName() {
+            return "Shipped";
+        }
+
+        @Override
+        public TransitionHandler[] getTransitionHandlers() {
+            return transitions(
+                    handle(from(this).to(State.definitionOf(Delivered.class))
+                            .then((shipped, delivered) -> { })));
+        }
+    }
+
+    public static class Delivered extends State<Delivered> {
+        @Override
+        public String getName() {
+            return "Delivered";
+        }
+
+        @Override
+        public TransitionHandler[] getTransitionHandlers() {
+            return transitions();
+        }
+    }
+
+    public static class Cancelled extends State<Cancelled> {
+        @Override
+        public String getName() {
+            return "Cancelled";
+        }
+
+        @Override
+        public TransitionHandler[] getTransitionHandlers() {
+            return transitions();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import io.vlingo.actors.Actor;
+import io.vlingo.actors.World;
+import io.vlingo.xoom.stepflow.OrderFlow.OrderEvent;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class ShardedStepFlowTest {
+
+    private World world;
+
+    @Test
+    public void testThatAnInstanceIsAlwaysAppliedByTheSameShard() {
+        final ShardedStepFlow flow = ShardedStepFlow.startWith(world.stage(), OrderFlowActor.class, "orders", 4);
+
+        Assert.assertEquals(4, flow.getShards().size());
+        Assert.assertEquals(4, new HashSet<>(flow.getShards()).size());
+        for (int instance = 0; instance < 100; instance++) {
+            final String instanceId = "order-" + instance;
+            Assert.assertSame(flow.shardOf(instanceId), flow.shardOf(instanceId));
+        }
+    }
+
+    @Test
+    public void testThatInstancesAreSpreadAcrossAllShards() {
+        final ShardedStepFlow flow = ShardedStepFlow.startWith(world.stage(), OrderFlowActor.class, "orders", 4);
+
+        final Set<StepFlow> used = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int instance = 0; instance < 1_000; instance++) {
+            used.add(flow.shardOf("order-" + instance));
+        }
+
+        Assert.assertEquals(4, used.size());
+    }
+
+    @Test
+    public void testThatEventIsAppliedByTheShardOfItsInstance() {
+        final ShardedStepFlow flow = ShardedStepFlow.startWith(world.stage(), OrderFlowActor.class, "orders", 4);
+
+        final StateTransition<?, ?, ?> transition =
+                flow.applyEvent("order-1", new OrderEvent("Created", "Paid", 10)).await();
+
+        Assert.assertEquals("Paid", transition.getTargetName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatNoShardsAreRejected() {
+        ShardedStepFlow.startWith(world.stage(), OrderFlowActor.class, "orders", 0);
+    }
+
+    @Test
+    public void testThatKernelsAreStoppedWithTheirShards() throws Exception {
+        final ShardedStepFlow flow = ShardedStepFlow.startWith(world.stage(), OrderFlowActor.class, "orders", 3);
+        final List<Kernel> kernels = flow.getShards().stream()
+                .map(shard -> shard.getKernel().await())
+                .collect(Collectors.toList());
+
+        final Set<Actor> stopped = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        world.deadLetters().registerListener(deadLetter -> stopped.add(deadLetter.actor));
+
+        flow.stop();
+
+        // a message to a stopped kernel is a dead letter
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (stopped.size() < kernels.size() && System.currentTimeMillis() < deadline) {
+            kernels.forEach(kernel -> kernel.setName("stopped"));
+            Thread.sleep(10);
+        }
+
+        Assert.assertTrue(flow.getShards().stream().allMatch(StepFlow::isStopped));
+        Assert.assertEquals(kernels.size(), stopped.size());
+    }
+
+    @Before
+    public void setUp() {
+        world = World.startWithDefaults("sharded-step-flow-test");
+    }
+
+    @After
+    public void tearDown() {
+        world.terminate();
+    }
+
+    public static class OrderFlowActor extends FlowActor {
+        public OrderFlowActor() {
+            super(OrderFlow.states());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.UUID;
+
+public class StateTest {
+
+    @Test
+    public void testThatConstructionDoesNotDrawAVersion() throws Exception {
+        final Idle state = new Idle();
+
+        Assert.assertNull(versionOf(state));
+    }
+
+    @Test
+    public void testThatVersionIsDrawnOnceUponFirstRequest() throws Exception {
+        final Idle state = new Idle();
+
+        final UUID version = state.getVersion();
+
+        Assert.assertNotNull(version);
+        Assert.assertEquals(4, version.version());
+        Assert.assertSame(version, versionOf(state));
+        Assert.assertSame(version, state.getVersion());
+        Assert.assertNotEquals(version, new Idle().getVersion());
+    }
+
+    @Test
+    public void testThatDefinitionIsShared() {
+        Assert.assertSame(State.definitionOf(Idle.class), State.definitionOf(Idle.class));
+    }
+
+    private static Object versionOf(final State<?> state) throws Exception {
+        final Field version = State.class.getDeclaredField("version");
+        version.setAccessible(true);
+        return version.get(state);
+    }
+
+    public static class Idle extends State<Idle> {
+        @Override
+        public String getName() {
+            return "Idle";
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public TransitionHandler[] getTransitionHandlers() {
+            return new TransitionHandler[0];
+        }
+    }
+}
@@ -0,0 +1,145 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TimingWheelTest {
+
+    @Test
+    public void testThatTimerExpiresOnceItsDelayHasElapsed() {
+        final TimingWheel<String> wheel = new TimingWheel<>(8, 10, 0);
+        final List<String> expired = new ArrayList<>();
+
+        wheel.schedule(0, 30, "a");
+
+        wheel.advance(29, expired::add);
+        Assert.assertTrue(expired.isEmpty());
+
+        wheel.advance(30, expired::add);
+        Assert.assertEquals(Collections.singletonList("a"), expired);
+    }
+
+    @Test
+    public void testThatTimerScheduledWithinATickNeverExpiresEarly() {
+        final TimingWheel<String> wheel = new TimingWheel<>(8, 10, 0);
+        final List<String> expired = new ArrayList<>();
+
+        // scheduled most of the way through tick 0, so a whole tick from then is within tick 1
+        wheel.schedule(9, 10, "a");
+
+        wheel.advance(10, expired::add);
+        Assert.assertTrue(expired.isEmpty());
+
+        wheel.advance(19, expired::add);
+        Assert.assertTrue(expired.isEmpty());
+
+        wheel.advance(20, expired::add);
+        Assert.assertEquals(Collections.singletonList("a"), expired);
+    }
+
+    @Test
+    public void testThatTimersWrapAroundTheWheel() {
+        final TimingWheel<Integer> wheel = new TimingWheel<>(4, 10, 0);
+        final List<Integer> expired = new ArrayList<>();
+
+        for (int tick = 1; tick <= 12; tick++) {
+            wheel.schedule(tick * 10 - 10, 10, tick);
+            wheel.advance(tick * 10, expired::add);
+            Assert.assertEquals(Integer.valueOf(tick), expired.get(expired.size() - 1));
+        }
+
+        Assert.assertEquals(12, expired.size());
+    }
+
+    @Test
+    public void testThatTimersBeyondOneRevolutionWaitForTheirRound() {
+        final TimingWheel<String> wheel = new TimingWheel<>(4, 10, 0);
+        final List<String> expired = new ArrayList<>();
+
+        // all three share slot 1 of the wheel, but in rounds 0, 1 and 2
+        wheel.schedule(0, 10, "first");
+        wheel.schedule(0, 50, "second");
+        wheel.schedule(0, 90, "third");
+
+        for (long now = 10; now <= 90; now += 10) {
+            wheel.advance(now, expired::add);
+            if (now == 10) {
+                Assert.assertEquals(Collections.singletonList("first"), expired);
+            } else if (now == 40) {
+                Assert.assertEquals(Collections.singletonList("first"), expired);
+            } else if (now == 50) {
+                Assert.assertEquals(Arrays.asList("first", "second"), expired);
+            }
+        }
+
+        Assert.assertEquals(Arrays.asList("first", "second", "third"), expired);
+    }
+
+    @Test
+    public void testThatAdvancingBeyondARevolutionExpiresOnlyTheDue() {
+        final TimingWheel<String> wheel = new TimingWheel<>(4, 10, 0);
+        final List<String> expired = new ArrayList<>();
+
+        wheel.schedule(0, 20, "due");
+        wheel.schedule(0, 150, "later");
+
+        wheel.advance(100, expired::add);
+        Assert.assertEquals(Collections.singletonList("due"), expired);
+
+        wheel.advance(150, expired::add);
+        Assert.assertEquals(Arrays.asList("due", "later"), expired);
+    }
+
+    @Test
+    public void testThatCancelledTimerNeverExpires() {
+        final TimingWheel<String> wheel = new TimingWheel<>(8, 10, 0);
+        final List<String> expired = new ArrayList<>();
+
+        final TimingWheel.Timer<String> cancelled = wheel.schedule(0, 20, "cancelled");
+        final TimingWheel.Timer<String> kept = wheel.schedule(0, 20, "kept");
+
+        Assert.assertTrue(cancelled.isPending());
+        cancelled.cancel();
+        cancelled.cancel();
+        Assert.assertFalse(cancelled.isPending());
+
+        wheel.advance(20, expired::add);
+
+        Assert.assertEquals(Collections.singletonList("kept"), expired);
+        Assert.assertFalse(kept.isPending());
+        kept.cancel();
+    }
+
+    @Test
+    public void testThatExpiredConsumerMayScheduleAgain() {
+        final TimingWheel<String> wheel = new TimingWheel<>(8, 10, 0);
+        final List<String> expired = new ArrayList<>();
+
+        wheel.schedule(0, 10, "first");
+        wheel.advance(10, value -> {
+            expired.add(value);
+            wheel.schedule(10, 10, "second");
+        });
+        Assert.assertEquals(Collections.singletonList("first"), expired);
+
+        wheel.advance(20, expired::add);
+        Assert.assertEquals(Arrays.asList("first", "second"), expired);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatNonPositiveTickIsRejected() {
+        new TimingWheel<String>(8, 0, 0);
+    }
+}
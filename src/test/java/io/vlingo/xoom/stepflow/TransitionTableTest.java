@@ -0,0 +1,197 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.stepflow;
+
+import io.vlingo.xoom.stepflow.OrderFlow.OrderEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static io.vlingo.xoom.stepflow.TransitionBuilder.from;
+import static io.vlingo.xoom.stepflow.TransitionHandler.handle;
+import static io.vlingo.xoom.stepflow.TransitionHandler.transitions;
+
+@SuppressWarnings("rawtypes")
+public class TransitionTableTest {
+
+    @Test
+    public void testThatEachRegisteredTransitionIsResolvedByItsId() {
+        final TransitionTable table = new TransitionTable();
+        final Map<String, Integer> ids = registerAll(table, OrderFlow.states());
+
+        Assert.assertEquals(ids.size(), table.size());
+        ids.forEach((address, id) -> {
+            final String[] names = address.split("::");
+            Assert.assertEquals(address, id.intValue(), table.idOf(names[0], names[1]));
+            Assert.assertEquals(address, table.handlerAt(id).getAddress());
+        });
+    }
+
+    @Test
+    public void testThatEventResolvesToTheHandlerOfItsTransition() {
+        final TransitionTable table = new TransitionTable();
+        final Map<String, Integer> ids = registerAll(table, OrderFlow.states());
+
+        final OrderEvent event = new OrderEvent("Paid", "Shipped");
+
+        Assert.assertEquals(ids.get("Paid::Shipped").intValue(), table.idFor(event));
+        Assert.assertSame(table.handlerAt(ids.get("Paid::Shipped")), table.handlerFor(event));
+    }
+
+    @Test
+    public void testThatUnknownTransitionIsUnknown() {
+        final TransitionTable table = new TransitionTable();
+        registerAll(table, OrderFlow.states());
+
+        Assert.assertEquals(TransitionTable.Unknown, table.idOf("Delivered", "Created"));
+        Assert.assertEquals(TransitionTable.Unknown, table.idOf("Returned", "Created"));
+        Assert.assertEquals(TransitionTable.Unknown, table.idFor(new OrderEvent("Shipped", "Paid")));
+        Assert.assertNull(table.handlerFor(new OrderEvent("Shipped", "Paid")));
+    }
+
+    @Test
+    public void testThatResolutionFollowsRenamedTarget() {
+        final TransitionTable table = new TransitionTable();
+        final Map<String, Integer> ids = registerAll(table, OrderFlow.states());
+
+        final OrderEvent event = new OrderEvent("Paid", "Shipped");
+        Assert.assertEquals(ids.get("Paid::Shipped").intValue(), table.idFor(event));
+
+        event.setTargetName("Cancelled");
+
+        Assert.assertEquals(ids.get("Paid::Cancelled").intValue(), table.idFor(event));
+        Assert.assertEquals("Paid::Cancelled", event.getEventType());
+    }
+
+    @Test
+    public void testThatEventResolvesAnewInAnotherTable() {
+        final List<State> states = OrderFlow.states();
+        final List<State> reversed = new ArrayList<>(states);
+        Collections.reverse(reversed);
+
+        final TransitionTable table = new TransitionTable();
+        final TransitionTable other = new TransitionTable();
+        final Map<String, Integer> ids = registerAll(table, states);
+        final Map<String, Integer> otherIds = registerAll(other, reversed);
+        Assert.assertNotEquals(ids.get("Shipped::Delivered"), otherIds.get("Shipped::Delivered"));
+
+        final OrderEvent event = new OrderEvent("Shipped", "Delivered");
+
+        // the id resolved in one table is never answered for the other
+        Assert.assertEquals(ids.get("Shipped::Delivered").intValue(), table.idFor(event));
+        Assert.assertEquals(otherIds.get("Shipped::Delivered").intValue(), other.idFor(event));
+        Assert.assertEquals(ids.get("Shipped::Delivered").intValue(), table.idFor(event));
+    }
+
+    @Test
+    public void testThatAddressedEventIsRejectedByTheGuardOfItsTransition() {
+        final TransitionTable table = new TransitionTable();
+        final Map<String, Integer> ids = registerAll(table, OrderFlow.states());
+
+        Assert.assertEquals(ids.get("Created::Paid").intValue(), table.idFor(new OrderEvent("Created", "Paid", 10)));
+        Assert.assertEquals(TransitionTable.Rejected, table.idFor(new OrderEvent("Created", "Paid", 0)));
+        Assert.assertNull(table.handlerFor(new OrderEvent("Created", "Paid", 0)));
+    }
+
+    @Test
+    public void testThatGuardsOfOneTransitionAreAllRequired() {
+        final TransitionTable table = new TransitionTable();
+        registerAll(table, Collections.singletonList(State.definitionOf(Review.class)));
+
+        Assert.assertEquals(TransitionTable.Rejected, table.idFor(new OrderEvent("Review", "Paid", 1_000)));
+        Assert.assertEquals(TransitionTable.Rejected, table.idFor(new OrderEvent("Review", "Paid", 0)));
+        Assert.assertNotEquals(TransitionTable.Rejected, table.idFor(new OrderEvent("Review", "Paid", 10)));
+    }
+
+    @Test
+    public void testThatRoutedEventTakesTheFirstAcceptingGuardedTransition() {
+        final TransitionTable table = new TransitionTable();
+        final Map<String, Integer> ids = registerAll(table, Collections.singletonList(State.definitionOf(Review.class)));
+
+        // the unguarded transition is registered first, but decided last
+        Assert.assertEquals(ids.get("Review::Paid").intValue(), table.idFor(OrderEvent.routedFrom("Review", 10)));
+        Assert.assertEquals(ids.get("Review::Shipped").intValue(), table.idFor(OrderEvent.routedFrom("Review", 0)));
+        Assert.assertEquals(ids.get("Review::Cancelled").intValue(), table.idFor(OrderEvent.routedFrom("Review", 1_000)));
+    }
+
+    @Test
+    public void testThatRoutedEventIsRejectedWhenNoGuardAccepts() {
+        final TransitionTable table = new TransitionTable();
+        registerAll(table, Collections.singletonList(State.definitionOf(Audit.class)));
+
+        Assert.assertEquals(TransitionTable.Rejected, table.idFor(OrderEvent.routedFrom("Audit", 0)));
+        Assert.assertEquals(TransitionTable.Unknown, table.idFor(OrderEvent.routedFrom("Returned", 10)));
+    }
+
+    @Test
+    public void testThatRoutedEventIsNotModifiedByItsResolution() {
+        final TransitionTable table = new TransitionTable();
+        final Map<String, Integer> ids = registerAll(table, OrderFlow.states());
+
+        final OrderEvent event = OrderEvent.routedFrom("Created", 10);
+
+        Assert.assertEquals(ids.get("Created::Paid").intValue(), table.idFor(event));
+        Assert.assertTrue(event.isRouted());
+        Assert.assertEquals("", event.getTargetName());
+    }
+
+    private static Map<String, Integer> registerAll(TransitionTable table, List<State> states) {
+        final Map<String, Integer> ids = new HashMap<>();
+        states.forEach(state -> Stream.of(state.getTransitionHandlers())
+                .forEach(handler -> ids.put(handler.getAddress(), table.register(handler))));
+        return ids;
+    }
+
+    /**
+     * Registers an unguarded transition before two guarded ones, one of which is guarded twice.
+     */
+    public static class Review extends State<Review> {
+        @Override
+        public String getName() {
+            return "Review";
+        }
+
+        @Override
+        public TransitionHandler[] getTransitionHandlers() {
+            return transitions(
+                    handle(from(this).to(State.definitionOf(OrderFlow.Cancelled.class))
+                            .then((review, cancelled) -> { })),
+                    handle(from(this).to(State.definitionOf(OrderFlow.Paid.class))
+                            .when(event -> ((OrderEvent) event).getAmount() > 0)
+                            .when(event -> ((OrderEvent) event).getAmount() < 100)
+                            .then((review, paid) -> { })),
+                    handle(from(this).to(State.definitionOf(OrderFlow.Shipped.class))
+                            .when(event -> ((OrderEvent) event).getAmount() == 0)
+                            .then((review, shipped) -> { })));
+        }
+    }
+
+    /**
+     * Has only a guarded transition.
+     */
+    public static class Audit extends State<Audit> {
+        @Override
+        public String getName() {
+            return "Audit";
+        }
+
+        @Override
+        public TransitionHandler[] getTransitionHandlers() {
+            return transitions(
+                    handle(from(this).to(State.definitionOf(OrderFlow.Paid.class))
+                            .when(event -> ((OrderEvent) event).getAmount() > 0)
+                            .then((audit, paid) -> { })));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.storage;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public class BinarySerializationTest {
+
+    @Test
+    public void testThatStateRoundTrips() {
+        final Map<String, BookState> editions = new LinkedHashMap<>();
+        editions.put("second", new BookState("2", "Second", 2, null, Collections.emptyMap()));
+
+        final BookState state = new BookState("1", "Domain-Driven Design", 1, Arrays.asList("ddd", null), editions);
+        final BookState deserialized =
+                BinarySerialization.deserialized(BinarySerialization.serialized(state), BookState.class);
+
+        Assert.assertEquals(state.id, deserialized.id);
+        Assert.assertEquals(state.title, deserialized.title);
+        Assert.assertEquals(state.copies, deserialized.copies);
+        Assert.assertEquals(Genre.Technical, deserialized.genre);
+        Assert.assertEquals(state.tags, deserialized.tags);
+        Assert.assertEquals(state.price, deserialized.price);
+        Assert.assertEquals(state.published, deserialized.published);
+        Assert.assertEquals(state.isbn, deserialized.isbn);
+        Assert.assertEquals(state.sourced, deserialized.sourced);
+        Assert.assertEquals("cached", deserialized.cached);
+
+        final BookState edition = deserialized.editions.get("second");
+        Assert.assertEquals("Second", edition.title);
+        Assert.assertEquals(Genre.Fiction, edition.genre);
+        Assert.assertNull(edition.tags);
+        Assert.assertTrue(edition.editions.isEmpty());
+    }
+
+    @Test
+    public void testThatNamedValuesRoundTrip() {
+        final Holder holder = new Holder(42, Arrays.asList(1L, -1L));
+        final Holder deserialized =
+                BinarySerialization.deserialized(BinarySerialization.serialized(holder), Holder.class);
+
+        Assert.assertEquals(42, deserialized.any);
+        Assert.assertEquals(Arrays.asList(1L, -1L), deserialized.values);
+    }
+
+    @Test
+    public void testThatNamedTypeNotOfDeclaredTypeIsRejectedUninitialized() {
+        final byte[] bytes = BinarySerialization.serialized(new Shelf(new Amount(3)));
+        Assert.assertEquals(3, ((Amount) BinarySerialization.deserialized(bytes, Shelf.class).measure).value);
+
+        try {
+            BinarySerialization.deserialized(renamed(bytes, "$Amount", "$Poison"), Shelf.class);
+            Assert.fail("A Poison is not a Measure");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("is not a"));
+        }
+        Assert.assertFalse(poisoned);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatTypeWithoutParameterlessConstructorIsRejected() {
+        BinarySerialization.serialized(new Unconstructable(1));
+    }
+
+    @Test
+    public void testThatSerializationIsCompact() {
+        final BookState state = new BookState("1", "DDD", 1, null, Collections.emptyMap());
+        final int length = BinarySerialization.serialized(state).length;
+        Assert.assertTrue("Unexpected length " + length, length < 64);
+    }
+
+    private static boolean poisoned;
+
+    private static byte[] renamed(final byte[] bytes, final String name, final String other) {
+        final String text = new String(bytes, StandardCharsets.ISO_8859_1);
+        Assert.assertTrue(text.contains(name));
+        return text.replace(name, other).getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    public enum Genre { Fiction, Technical }
+
+    public static abstract class Sourced {
+        protected final long sourced = 1_600_000_000_000L;
+    }
+
+    public static final class BookState extends Sourced {
+        public final String id;
+        public final String title;
+        public final int copies;
+        public final Genre genre;
+        public final List<String> tags;
+        public final BigDecimal price;
+        public final LocalDateTime published;
+        public final Optional<UUID> isbn;
+        public final Map<String, BookState> editions;
+        public transient String cached = "cached";
+
+        public BookState(final String id, final String title, final int copies,
+                         final List<String> tags, final Map<String, BookState> editions) {
+            this.id = id;
+            this.title = title;
+            this.copies = copies;
+            this.genre = copies % 2 == 0 ? Genre.Fiction : Genre.Technical;
+            this.tags = tags == null ? null : Collections.unmodifiableList(tags);
+            this.price = new BigDecimal("-12.35");
+            this.published = LocalDateTime.of(2003, 8, 30, 12, 0);
+            this.isbn = Optional.of(new UUID(copies, -copies));
+            this.editions = editions;
+        }
+
+        private BookState() {
+            this(null, null, 0, null, null);
+        }
+    }
+
+    public static final class Holder {
+        public final Object any;
+        public final List<? extends Number> values;
+
+        public Holder(final Object any, final List<? extends Number> values) {
+            this.any = any;
+            this.values = values;
+        }
+
+        private Holder() {
+            this(null, null);
+        }
+    }
+
+    public interface Measure { }
+
+    public static final class Amount implements Measure {
+        public final int value;
+
+        public Amount(final int value) {
+            this.value = value;
+        }
+
+        private Amount() {
+            this(0);
+        }
+    }
+
+    public static final class Poison {
+        static {
+            poisoned = true;
+        }
+
+        private Poison() { }
+    }
+
+    public static final class Shelf {
+        public final Measure measure;
+
+        public Shelf(final Measure measure) {
+            this.measure = measure;
+        }
+
+        private Shelf() {
+            this(null);
+        }
+    }
+
+    public static final class Unconstructable {
+        public final int value;
+
+        public Unconstructable(final int value) {
+            this.value = value;
+        }
+    }
+}
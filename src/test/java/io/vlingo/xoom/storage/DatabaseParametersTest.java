@@ -7,10 +7,14 @@
 
 package io.vlingo.xoom.storage;
 
+import io.vlingo.symbio.store.DataFormat;
 import io.vlingo.xoom.actors.Settings;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.Properties;
+
 public class DatabaseParametersTest {
 
     @Test
@@ -40,4 +44,90 @@ public class DatabaseParametersTest {
         Assert.assertTrue(parameters.autoCreate);
     }
 
+    @Test
+    public void testConnectionPoolParametersLoad() {
+        final DatabaseParameters domain = new DatabaseParameters(Model.DOMAIN, Settings.properties());
+        Assert.assertEquals(ConnectionPoolSettings.DEFAULT_MINIMUM_SIZE, domain.connectionPool.minimumSize);
+        Assert.assertEquals(ConnectionPoolSettings.DEFAULT_MAXIMUM_SIZE, domain.connectionPool.maximumSize);
+        Assert.assertEquals(ConnectionPoolSettings.DEFAULT_IDLE_TIMEOUT, domain.connectionPool.idleTimeout);
+        Assert.assertNull(domain.connectionPool.validationQuery);
+
+        final DatabaseParameters query = new DatabaseParameters(Model.QUERY, tunedQueryProperties());
+        Assert.assertEquals(2, query.connectionPool.minimumSize);
+        Assert.assertEquals(20, query.connectionPool.maximumSize);
+        Assert.assertEquals(30000, query.connectionPool.idleTimeout);
+        Assert.assertEquals("SELECT 1", query.connectionPool.validationQuery);
+    }
+
+    @Test
+    public void testPartitionsParameterLoad() {
+        Assert.assertEquals(1, new DatabaseParameters(Model.COMMAND, Settings.properties()).partitions);
+        Assert.assertEquals(4, new DatabaseParameters(Model.QUERY, tunedQueryProperties()).partitions);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatPartitionsBeyondThePoolMaximumAreRejected() {
+        final Properties properties = new Properties();
+        properties.put("database.pool.maximum.size", "4");
+        properties.put("database.partitions", "4");
+        new DatabaseParameters(Model.COMMAND, properties);
+    }
+
+    @Test
+    public void testWriterParametersLoad() {
+        final WriterSettings command = new DatabaseParameters(Model.COMMAND, Settings.properties()).writer;
+        Assert.assertFalse(command.batched);
+
+        final WriterSettings query = new DatabaseParameters(Model.QUERY, tunedQueryProperties()).writer;
+        Assert.assertTrue(query.batched);
+        Assert.assertEquals(250, query.batchSize);
+        Assert.assertEquals(WriterSettings.DEFAULT_LINGER_TIME, query.lingerTime);
+    }
+
+    @Test
+    public void testReplicaParametersLoad() {
+        final DatabaseParameters command = new DatabaseParameters(Model.COMMAND, Settings.properties());
+        Assert.assertTrue(command.replicaUrls.isEmpty());
+        Assert.assertEquals(ReplicaPolicy.ROUND_ROBIN, command.replicaPolicy);
+
+        final DatabaseParameters query = new DatabaseParameters(Model.QUERY, tunedQueryProperties());
+        Assert.assertEquals(ReplicaPolicy.LEAST_OUTSTANDING, query.replicaPolicy);
+
+        final List<DatabaseParameters> replicas = query.replicas();
+        Assert.assertEquals(2, replicas.size());
+        Assert.assertEquals("jdbc:mysql://localhost:2216/", replicas.get(0).url);
+        Assert.assertEquals("jdbc:mysql://localhost:2217/", replicas.get(1).url);
+        Assert.assertEquals(query.name, replicas.get(1).name);
+        Assert.assertFalse(replicas.get(0).autoCreate);
+        Assert.assertTrue(replicas.get(0).replicaUrls.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatCommandModelReplicasAreRejected() {
+        final Properties properties = new Properties();
+        properties.put("database.replica.urls", "jdbc:mysql://localhost:2216/");
+        new DatabaseParameters(Model.COMMAND, properties);
+    }
+
+    @Test
+    public void testFormatParameterLoad() {
+        Assert.assertEquals(DataFormat.Text, new DatabaseParameters(Model.COMMAND, Settings.properties()).format);
+        Assert.assertEquals(DataFormat.Binary, new DatabaseParameters(Model.QUERY, tunedQueryProperties()).format);
+    }
+
+    private Properties tunedQueryProperties() {
+        final Properties properties = new Properties();
+        properties.putAll(Settings.properties());
+        properties.put("query.database.pool.minimum.size", "2");
+        properties.put("query.database.pool.maximum.size", "20");
+        properties.put("query.database.pool.idle.timeout", "30000");
+        properties.put("query.database.pool.validation.query", "SELECT 1");
+        properties.put("query.database.partitions", "4");
+        properties.put("query.database.writer", "batched");
+        properties.put("query.database.writer.batch.size", "250");
+        properties.put("query.database.replica.urls", "jdbc:mysql://localhost:2216/, jdbc:mysql://localhost:2217/");
+        properties.put("query.database.replica.policy", "least-outstanding");
+        properties.put("query.database.format", "binary");
+        return properties;
+    }
 }
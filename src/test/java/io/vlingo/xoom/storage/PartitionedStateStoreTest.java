@@ -0,0 +1,230 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+package io.vlingo.xoom.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.actors.World;
+import io.vlingo.actors.testkit.AccessSafely;
+import io.vlingo.common.Completes;
+import io.vlingo.common.Outcome;
+import io.vlingo.reactivestreams.Stream;
+import io.vlingo.symbio.Entry;
+import io.vlingo.symbio.EntryAdapterProvider;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.Source;
+import io.vlingo.symbio.StateAdapterProvider;
+import io.vlingo.symbio.store.QueryExpression;
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.state.StateReader.TypedStateBundle;
+import io.vlingo.symbio.store.state.StateStore;
+import io.vlingo.symbio.store.state.StateStoreEntryReader;
+import io.vlingo.symbio.store.state.StateTypeStateStoreMap;
+import io.vlingo.symbio.store.state.inmemory.InMemoryStateStoreActor;
+
+public class PartitionedStateStoreTest {
+
+    private static final int Partitions = 4;
+
+    private List<RecordingStore> partitions;
+    private PartitionedStateStore store;
+    private World world;
+
+    @Test
+    public void testThatReadsAndWritesOfAnIdGoToOnePartition() {
+        final List<String> ids = new ArrayList<>();
+        for (int index = 0; index < 32; ++index) {
+            ids.add("account-" + index);
+        }
+
+        final Results results = new Results();
+        final AccessSafely access = results.afterCompleting(ids.size() * 2);
+
+        for (final String id : ids) {
+            store.write(id, new Account(id, id.length()), 1, results);
+        }
+        for (final String id : ids) {
+            store.read(id, Account.class, results);
+        }
+
+        for (final String id : ids) {
+            // a read routed elsewhere than its write would not find the state
+            final Account account = access.readFrom("state", id);
+            Assert.assertNotNull(id, account);
+            Assert.assertEquals(id.length(), account.balance);
+
+            final RecordingStore partition = (RecordingStore) store.partitionOf(id);
+            for (final RecordingStore other : partitions) {
+                Assert.assertEquals(other == partition, other.writes.contains(id));
+                Assert.assertEquals(other == partition, other.reads.contains(id));
+            }
+        }
+
+        final Set<RecordingStore> used = new HashSet<>();
+        ids.forEach(id -> used.add((RecordingStore) store.partitionOf(id)));
+        Assert.assertTrue(used.size() > 1);
+    }
+
+    @Test
+    public void testThatReadsNotOfOneIdGoToFirstPartition() {
+        store.readAll(Collections.emptyList(), new Results(), null);
+        store.streamAllOf(Account.class);
+        store.streamSomeUsing(QueryExpression.using(Account.class, ""));
+        store.entryReader("accounts");
+
+        final List<String> expected = Arrays.asList("readAll", "streamAllOf", "streamSomeUsing", "entryReader");
+        Assert.assertEquals(expected, partitions.get(0).others);
+        for (final RecordingStore other : partitions.subList(1, Partitions)) {
+            Assert.assertTrue(other.others.isEmpty());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatNoPartitionsAreRejected() {
+        new PartitionedStateStore(Collections.emptyList());
+    }
+
+    @Before
+    @SuppressWarnings("rawtypes")
+    public void setUp() {
+        world = World.startWithDefaults("test-partitioned-store");
+
+        new StateAdapterProvider(world);
+        new EntryAdapterProvider(world);
+
+        StateTypeStateStoreMap.stateTypeToStoreName(Account.class, Account.class.getSimpleName());
+
+        partitions = new ArrayList<>(Partitions);
+        while (partitions.size() < Partitions) {
+            final StateStore partition = world.actorFor(StateStore.class, InMemoryStateStoreActor.class,
+                    Collections.singletonList(new MockDispatcher()));
+            partitions.add(new RecordingStore(partition));
+        }
+
+        store = new PartitionedStateStore(new ArrayList<>(partitions));
+        Assert.assertEquals(Partitions, store.partitionCount());
+    }
+
+    @After
+    public void tearDown() {
+        world.terminate();
+    }
+
+    public static class Account {
+        public final String id;
+        public final int balance;
+
+        public Account(final String id, final int balance) {
+            this.id = id;
+            this.balance = balance;
+        }
+    }
+
+    /**
+     * Records the ids read and written through it, and the other reads, before passing them on.
+     */
+    private static class RecordingStore implements StateStore {
+        final Set<String> reads = ConcurrentHashMap.newKeySet();
+        final Set<String> writes = ConcurrentHashMap.newKeySet();
+        final List<String> others = Collections.synchronizedList(new ArrayList<>());
+
+        private final StateStore delegate;
+
+        RecordingStore(final StateStore delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void read(final String id, final Class<?> type, final ReadResultInterest interest, final Object object) {
+            reads.add(id);
+            delegate.read(id, type, interest, object);
+        }
+
+        @Override
+        public void readAll(final Collection<TypedStateBundle> bundles, final ReadResultInterest interest, final Object object) {
+            others.add("readAll");
+            delegate.readAll(bundles, interest, object);
+        }
+
+        @Override
+        public Completes<Stream> streamAllOf(final Class<?> stateType) {
+            others.add("streamAllOf");
+            return delegate.streamAllOf(stateType);
+        }
+
+        @Override
+        public Completes<Stream> streamSomeUsing(final QueryExpression query) {
+            others.add("streamSomeUsing");
+            return delegate.streamSomeUsing(query);
+        }
+
+        @Override
+        public <S, C> void write(final String id, final S state, final int stateVersion, final List<Source<C>> sources,
+                                 final Metadata metadata, final WriteResultInterest interest, final Object object) {
+            writes.add(id);
+            delegate.write(id, state, stateVersion, sources, metadata, interest, object);
+        }
+
+        @Override
+        public <ET extends Entry<?>> Completes<StateStoreEntryReader<ET>> entryReader(final String name) {
+            others.add("entryReader");
+            return delegate.entryReader(name);
+        }
+    }
+
+    private static class Results implements StateStore.ReadResultInterest, StateStore.WriteResultInterest {
+        private final Map<String, Account> states = new ConcurrentHashMap<>();
+        private AccessSafely access = AccessSafely.afterCompleting(0);
+
+        AccessSafely afterCompleting(final int times) {
+            access = AccessSafely.afterCompleting(times)
+                    .writingWith("read", (Account state) -> states.put(state.id, state))
+                    .writingWith("written", (String id) -> { })
+                    .writingWith("failed", (String id) -> { })
+                    .readingWith("state", (String id) -> states.get(id));
+            return access;
+        }
+
+        @Override
+        public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state,
+                                       final int stateVersion, final Metadata metadata, final Object object) {
+            outcome.andThen(result -> {
+                access.writeUsing("read", (Account) state);
+                return result;
+            }).otherwise(cause -> {
+                access.writeUsing("failed", id);
+                return cause.result;
+            });
+        }
+
+        @Override
+        public <S, C> void writeResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state,
+                                           final int stateVersion, final List<Source<C>> sources, final Object object) {
+            outcome.andThen(result -> {
+                access.writeUsing("written", id);
+                return result;
+            }).otherwise(cause -> {
+                access.writeUsing("failed", id);
+                return cause.result;
+            });
+        }
+    }
+}
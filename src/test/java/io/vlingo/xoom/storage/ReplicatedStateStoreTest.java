@@ -0,0 +1,239 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+package io.vlingo.xoom.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.vlingo.common.Completes;
+import io.vlingo.common.Failure;
+import io.vlingo.common.Outcome;
+import io.vlingo.common.Success;
+import io.vlingo.reactivestreams.Stream;
+import io.vlingo.symbio.Entry;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.Source;
+import io.vlingo.symbio.store.QueryExpression;
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.state.StateReader.TypedStateBundle;
+import io.vlingo.symbio.store.state.StateStore;
+import io.vlingo.symbio.store.state.StateStoreEntryReader;
+
+public class ReplicatedStateStoreTest {
+
+    @Test
+    public void testThatRoundRobinTakesReplicasInTurn() {
+        final List<StubStore> replicas = stores(3);
+        final StateStore store = new ReplicatedStateStore(new StubStore(), new ArrayList<>(replicas), ReplicaPolicy.ROUND_ROBIN);
+
+        final Answers answers = new Answers();
+        for (final String id : Arrays.asList("a", "b", "c", "d", "e", "f")) {
+            store.read(id, Object.class, answers);
+        }
+
+        Assert.assertEquals(Arrays.asList("a", "d"), replicas.get(0).reads);
+        Assert.assertEquals(Arrays.asList("b", "e"), replicas.get(1).reads);
+        Assert.assertEquals(Arrays.asList("c", "f"), replicas.get(2).reads);
+    }
+
+    @Test
+    public void testThatLeastOutstandingPrefersAnsweredReplica() {
+        final List<StubStore> replicas = stores(2);
+        final StateStore store = new ReplicatedStateStore(new StubStore(), new ArrayList<>(replicas), ReplicaPolicy.LEAST_OUTSTANDING);
+
+        final Answers answers = new Answers();
+        for (final String id : Arrays.asList("1", "2", "3", "4")) {
+            store.read(id, Object.class, answers);
+        }
+        Assert.assertEquals(Arrays.asList("1", "3"), replicas.get(0).reads);
+        Assert.assertEquals(Arrays.asList("2", "4"), replicas.get(1).reads);
+
+        replicas.get(0).answer();
+
+        // round robin would take the second replica for one of these
+        store.read("5", Object.class, answers);
+        store.read("6", Object.class, answers);
+
+        Assert.assertEquals(Arrays.asList("1", "3", "5", "6"), replicas.get(0).reads);
+        Assert.assertEquals(Arrays.asList("2", "4"), replicas.get(1).reads);
+        Assert.assertEquals(Arrays.asList(Result.Success, Result.Success), answers.results);
+    }
+
+    @Test
+    public void testThatLeastOutstandingSettlesFailedReads() {
+        final List<StubStore> replicas = stores(2);
+        final StateStore store = new ReplicatedStateStore(new StubStore(), new ArrayList<>(replicas), ReplicaPolicy.LEAST_OUTSTANDING);
+
+        final Answers answers = new Answers();
+        for (final String id : Arrays.asList("1", "2", "3")) {
+            store.read(id, Object.class, answers);
+        }
+        Assert.assertEquals(Arrays.asList("1", "3"), replicas.get(0).reads);
+
+        replicas.get(0).fail();
+        Assert.assertEquals(Arrays.asList(Result.Error, Result.Error), answers.results);
+
+        // the turn is the second replica's, which still has a read outstanding
+        store.read("4", Object.class, answers);
+
+        Assert.assertEquals(Arrays.asList("1", "3", "4"), replicas.get(0).reads);
+    }
+
+    @Test
+    public void testThatLeastOutstandingSettlesUnsentReads() {
+        final List<StubStore> replicas = stores(2);
+        final StateStore store = new ReplicatedStateStore(new StubStore(), new ArrayList<>(replicas), ReplicaPolicy.LEAST_OUTSTANDING);
+
+        final Answers answers = new Answers();
+        store.read("1", Object.class, answers);
+        store.read("2", Object.class, answers);
+
+        replicas.get(0).throwing = true;
+        try {
+            store.read("3", Object.class, answers);
+            Assert.fail("The read should not have been sent");
+        } catch (final IllegalStateException e) {
+            // expected
+        }
+        replicas.get(0).throwing = false;
+
+        replicas.get(0).answer();
+
+        // the turn is the second replica's, which still has a read outstanding
+        store.read("4", Object.class, answers);
+
+        Assert.assertEquals(Arrays.asList("1", "4"), replicas.get(0).reads);
+        Assert.assertEquals(Collections.singletonList("2"), replicas.get(1).reads);
+    }
+
+    @Test
+    public void testThatWritesAndEntryReadersGoToPrimary() {
+        final StubStore primary = new StubStore();
+        final List<StubStore> replicas = stores(2);
+        final StateStore store = new ReplicatedStateStore(primary, new ArrayList<>(replicas), ReplicaPolicy.ROUND_ROBIN);
+
+        store.write("1", new Object(), 1, NoWriteResult);
+        store.write("2", new Object(), 1, NoWriteResult);
+        store.entryReader("entries");
+
+        Assert.assertEquals(Arrays.asList("1", "2"), primary.writes);
+        Assert.assertEquals(Collections.singletonList("entryReader"), primary.others);
+
+        store.readAll(Collections.emptyList(), new Answers(), null);
+        store.streamAllOf(Object.class);
+
+        Assert.assertEquals(Collections.singletonList("entryReader"), primary.others);
+        for (final StubStore replica : replicas) {
+            Assert.assertTrue(replica.writes.isEmpty());
+            Assert.assertFalse(replica.others.contains("entryReader"));
+        }
+        Assert.assertEquals(Collections.singletonList("readAll"), replicas.get(0).others);
+        Assert.assertEquals(Collections.singletonList("streamAllOf"), replicas.get(1).others);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatNoReplicasAreRejected() {
+        new ReplicatedStateStore(new StubStore(), Collections.emptyList(), ReplicaPolicy.ROUND_ROBIN);
+    }
+
+    private static List<StubStore> stores(final int count) {
+        final List<StubStore> stores = new ArrayList<>(count);
+        while (stores.size() < count) {
+            stores.add(new StubStore());
+        }
+        return stores;
+    }
+
+    private static final StateStore.WriteResultInterest NoWriteResult = new StateStore.WriteResultInterest() {
+        @Override
+        public <S, C> void writeResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state,
+                                           final int stateVersion, final List<Source<C>> sources, final Object object) {
+        }
+    };
+
+    private static class Answers implements StateStore.ReadResultInterest {
+        final List<Result> results = new ArrayList<>();
+
+        @Override
+        public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state,
+                                       final int stateVersion, final Metadata metadata, final Object object) {
+            results.add(outcome.resolve(cause -> cause.result, result -> result));
+        }
+    }
+
+    /**
+     * Records what it is asked, and holds the interest of each read until it is answered or failed.
+     */
+    private static class StubStore implements StateStore {
+        final List<String> reads = new ArrayList<>();
+        final List<String> writes = new ArrayList<>();
+        final List<String> others = new ArrayList<>();
+        boolean throwing;
+
+        private final List<Object[]> pending = new ArrayList<>();
+
+        void answer() {
+            settle(Success.of(Result.Success));
+        }
+
+        void fail() {
+            settle(Failure.of(new StorageException(Result.Error, "Replica unavailable")));
+        }
+
+        private void settle(final Outcome<StorageException, Result> outcome) {
+            for (final Object[] read : pending) {
+                ((ReadResultInterest) read[1]).readResultedIn(outcome, (String) read[0], null, 0, null, null);
+            }
+            pending.clear();
+        }
+
+        @Override
+        public void read(final String id, final Class<?> type, final ReadResultInterest interest, final Object object) {
+            if (throwing) {
+                throw new IllegalStateException("Replica stopped");
+            }
+            reads.add(id);
+            pending.add(new Object[] { id, interest });
+        }
+
+        @Override
+        public void readAll(final Collection<TypedStateBundle> bundles, final ReadResultInterest interest, final Object object) {
+            others.add("readAll");
+        }
+
+        @Override
+        public Completes<Stream> streamAllOf(final Class<?> stateType) {
+            others.add("streamAllOf");
+            return Completes.withSuccess(null);
+        }
+
+        @Override
+        public Completes<Stream> streamSomeUsing(final QueryExpression query) {
+            others.add("streamSomeUsing");
+            return Completes.withSuccess(null);
+        }
+
+        @Override
+        public <S, C> void write(final String id, final S state, final int stateVersion, final List<Source<C>> sources,
+                                 final Metadata metadata, final WriteResultInterest interest, final Object object) {
+            writes.add(id);
+        }
+
+        @Override
+        public <ET extends Entry<?>> Completes<StateStoreEntryReader<ET>> entryReader(final String name) {
+            others.add("entryReader");
+            return Completes.withSuccess(null);
+        }
+    }
+}
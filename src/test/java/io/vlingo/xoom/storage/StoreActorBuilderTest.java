@@ -8,6 +8,8 @@
 package io.vlingo.xoom.storage;
 
 import io.vlingo.actors.World;
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.StorageException;
 import io.vlingo.symbio.store.journal.Journal;
 import io.vlingo.symbio.store.state.StateStore;
 import org.junit.After;
@@ -42,6 +44,14 @@ public class StoreActorBuilderTest {
         Assert.assertNotNull(journal);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatBinaryJournalIsRejected() {
+        final Properties properties = inMemoryDatabaseProperties();
+        properties.put("database.format", "binary");
+
+        StoreActorBuilder.from(world.stage(), Model.COMMAND, new MockDispatcher<>(), JOURNAL, properties, false);
+    }
+
     @Test
     public void testThatInMemoryStateStoreActorIsBuilt() {
         final StateStore stateStore =
@@ -61,6 +71,50 @@ public class StoreActorBuilderTest {
         Assert.assertNotNull(stateStore);
     }
 
+    @Test
+    public void testThatMoreStoresThanThePoolMaximumAreBuiltAsOthersStop() throws Exception {
+        final Properties properties = defaultDatabaseProperties(Model.QUERY);
+        properties.put("query.database.pool.maximum.size", "2");
+
+        final DatabaseParameters parameters = new DatabaseParameters(Model.QUERY, properties, false);
+
+        // each store holds two connections, its own and that of its dispatcher control
+        for (int count = 0; count <= parameters.connectionPool.maximumSize; ++count) {
+            final World storeWorld = World.startWithDefaults("pooled-store-build-tests-" + count);
+
+            final StateStore stateStore =
+                    StoreActorBuilder.from(storeWorld.stage(), Model.QUERY,
+                            new MockDispatcher<>(), STATE_STORE, properties, false);
+
+            Assert.assertNotNull(stateStore);
+
+            final ConnectionPool connectionPool = ConnectionPool.of(storeWorld.stage(), parameters);
+            Assert.assertEquals(2, connectionPool.leased());
+
+            storeWorld.terminate();
+
+            for (int attempt = 0; connectionPool.leased() > 0 && attempt < 100; ++attempt) {
+                Thread.sleep(10);
+            }
+            Assert.assertEquals(0, connectionPool.leased());
+        }
+    }
+
+    @Test
+    public void testThatStoresBeyondThePoolMaximumAreRejected() {
+        final Properties properties = defaultDatabaseProperties(Model.QUERY);
+        properties.put("query.database.pool.maximum.size", "2");
+
+        StoreActorBuilder.from(world.stage(), Model.QUERY, new MockDispatcher<>(), STATE_STORE, properties, false);
+
+        try {
+            StoreActorBuilder.from(world.stage(), Model.QUERY, new MockDispatcher<>(), STATE_STORE, properties, false);
+            Assert.fail("Expected the connection pool to be exhausted.");
+        } catch (final StorageException e) {
+            Assert.assertEquals(Result.Failure, e.result);
+        }
+    }
+
     private Properties defaultDatabaseProperties(final Model model) {
         final String prefix = Model.QUERY.equals(model) ? "query." : "";
         final Properties properties = new Properties();